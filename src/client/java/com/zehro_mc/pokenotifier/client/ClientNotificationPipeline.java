@@ -0,0 +1,408 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.client;
+
+import com.zehro_mc.pokenotifier.ConfigClient;
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.client.compat.XaeroIntegration;
+import com.zehro_mc.pokenotifier.networking.CatchProgressPayload;
+import com.zehro_mc.pokenotifier.networking.NotificationBatchPayload;
+import com.zehro_mc.pokenotifier.networking.StatusUpdatePayload;
+import com.zehro_mc.pokenotifier.networking.WaypointPayload;
+import com.zehro_mc.pokenotifier.util.RarityUtil;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.sound.PositionedSoundInstance;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns spawn alerts, status updates and progress payloads into ready-to-show notifications.
+ * Chat and toast text is built on a worker thread; the finished notifications are handed to the client
+ * thread through a bounded queue and applied a few at a time each client tick, so a burst of alerts
+ * during a swarm is spread over several ticks instead of stalling a single frame.
+ * If the queue fills up, further spawn alerts are skipped and summarized in one chat line;
+ * status updates and progress are never skipped, since they keep the waypoint list correct.
+ * The waypoint part of an alert (and any Xaero waypoint it auto-creates) is only built when the alert is applied,
+ * because it depends on the Catch 'em All generation, which progress updates change on the client thread.
+ * Everything is tagged with the session it was received in; work left over from before a disconnect is dropped.
+ */
+public class ClientNotificationPipeline {
+
+    private static final int HANDOFF_CAPACITY = 256;
+    private static final int MAX_APPLIED_PER_TICK = 16;
+    private static final long TICK_BUDGET_NANOS = 2_000_000L;
+    // A repeated alert for the same Pokémon within this window only moves its waypoint.
+    private static final long DUPLICATE_ALERT_WINDOW_MS = 10_000L;
+
+    /**
+     * A notification that is ready to be applied on the client thread.
+     */
+    private interface Prepared {
+        int session();
+
+        void apply(MinecraftClient client);
+    }
+
+    /**
+     * A spawn alert. The chat line is split around its location part, which is built in {@link #apply}.
+     */
+    private record PreparedWaypoint(int session, WaypointPayload payload, Text toastTitle, MutableText chatHead, Text chatTail, boolean playSound) implements Prepared {
+        @Override
+        public void apply(MinecraftClient client) {
+            if (toastTitle != null) {
+                NotificationHUD.show(toastTitle, Text.empty(), payload.spriteIdentifier());
+            }
+            if (chatHead != null && client.player != null) {
+                client.player.sendMessage(chatHead.append(createLocationPart(payload)).append(chatTail), false);
+            }
+            if (playSound && client.player != null) {
+                client.getSoundManager().play(PositionedSoundInstance.master(SoundEvents.ENTITY_PLAYER_LEVELUP, 1.0F, 0.5F));
+            }
+            PokeNotifierClient.ACTIVE_WAYPOINTS.put(payload.uuid(), payload.pos());
+        }
+    }
+
+    private record PreparedStatusUpdate(int session, StatusUpdatePayload payload, Text despawnMessage, Text captureMessage) implements Prepared {
+        @Override
+        public void apply(MinecraftClient client) {
+            if (PokeNotifierClient.ACTIVE_WAYPOINTS.remove(payload.uuid()) != null) {
+                PokeNotifierClient.LOGGER.info("Waypoint removed for: " + payload.name());
+
+                // Force remove waypoint from tracker and map for ALL update types
+                try {
+                    com.zehro_mc.pokenotifier.client.compat.WaypointTracker.unregisterWaypoint(payload.uuid());
+
+                    // Also try to remove by name as fallback
+                    String cleanName = payload.name().replaceAll("[^a-zA-Z0-9 ]", "").trim();
+                    if (cleanName.length() > 15) cleanName = cleanName.substring(0, 15);
+                    XaeroIntegration.removeWaypoint(cleanName);
+
+                    // Force remove from WaypointManager as well
+                    com.zehro_mc.pokenotifier.client.data.WaypointManager.removeWaypointByPokemon(payload.uuid().toString());
+                } catch (Exception e) {
+                    PokeNotifierClient.LOGGER.warn("Failed to force remove waypoint for {}: {}", payload.name(), e.getMessage());
+                }
+
+                if (despawnMessage != null && client.player != null) {
+                    client.player.sendMessage(despawnMessage, false);
+                }
+            } else if (captureMessage != null && client.player != null) {
+                // Capture feed entry for a Pokémon this client never had a waypoint for.
+                client.player.sendMessage(captureMessage, false);
+            }
+        }
+    }
+
+    private record PreparedProgress(int session, CatchProgressPayload payload) implements Prepared {
+        @Override
+        public void apply(MinecraftClient client) {
+            String previousGeneration = PokeNotifierClient.currentCatchEmAllGeneration;
+            PokeNotifierClient.currentCatchEmAllGeneration = payload.generationName();
+            PokeNotifierClient.catchCaughtCount = payload.caughtCount();
+            PokeNotifierClient.catchTotalCount = payload.totalCount();
+            PokeNotifierClient.customHuntListSize = payload.customHuntListSize();
+
+            // If a generation was just activated, send a reminder message to the player.
+            String generation = PokeNotifierClient.currentCatchEmAllGeneration;
+            if ("none".equals(previousGeneration) && !"none".equals(generation) && client.player != null) {
+                String genName = generation.substring(0, 1).toUpperCase() + generation.substring(1);
+                client.player.sendMessage(Text.literal("Catch 'em All mode is active for: ").append(Text.literal(genName).formatted(Formatting.GOLD)).formatted(Formatting.YELLOW), false);
+            }
+        }
+    }
+
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Poke Notifier Notification Worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final BlockingQueue<Prepared> READY = new ArrayBlockingQueue<>(HANDOFF_CAPACITY);
+    private static final AtomicInteger SKIPPED_ALERTS = new AtomicInteger();
+    // Bumped on disconnect; anything tagged with an older session is dropped instead of applied.
+    private static final AtomicInteger SESSION = new AtomicInteger();
+
+    // Only touched on the worker thread.
+    private static final Map<UUID, Long> RECENT_ALERTS = new HashMap<>();
+    private static final Set<UUID> SKIPPED_POKEMON = new HashSet<>();
+
+    public static void submit(WaypointPayload payload) {
+        int session = SESSION.get();
+        WORKER.execute(() -> prepareWaypoint(session, payload));
+    }
+
+    public static void submit(StatusUpdatePayload payload) {
+        int session = SESSION.get();
+        WORKER.execute(() -> prepareStatusUpdate(session, payload));
+    }
+
+    public static void submit(CatchProgressPayload payload) {
+        int session = SESSION.get();
+        WORKER.execute(() -> handOff(new PreparedProgress(session, payload)));
+    }
+
+    /**
+     * Unpacks a batch in the order the server queued each kind: progress first, then new spawns,
+     * then status updates, so a Pokémon that appeared and vanished in the same tick ends up removed.
+     * Such a Pokémon gets no alert at all, since it is already gone by the time it could be shown.
+     */
+    public static void submit(NotificationBatchPayload batch) {
+        int session = SESSION.get();
+        WORKER.execute(() -> {
+            batch.progress().ifPresent(progress -> handOff(new PreparedProgress(session, progress)));
+            Set<UUID> goneThisTick = new HashSet<>();
+            for (StatusUpdatePayload statusUpdate : batch.statusUpdates()) {
+                goneThisTick.add(statusUpdate.uuid());
+            }
+            for (WaypointPayload waypoint : batch.waypoints()) {
+                if (!goneThisTick.contains(waypoint.uuid())) {
+                    prepareWaypoint(session, waypoint);
+                }
+            }
+            for (StatusUpdatePayload statusUpdate : batch.statusUpdates()) {
+                prepareStatusUpdate(session, statusUpdate);
+            }
+        });
+    }
+
+    /**
+     * Applies prepared notifications until the per-tick item or time budget runs out.
+     * Called at the end of every client tick.
+     */
+    public static void tick(MinecraftClient client) {
+        long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+        int applied = 0;
+        Prepared prepared;
+        int session = SESSION.get();
+        while (applied < MAX_APPLIED_PER_TICK && System.nanoTime() < deadline && (prepared = READY.poll()) != null) {
+            if (prepared.session() != session) continue; // Left over from before a disconnect.
+            prepared.apply(client);
+            applied++;
+        }
+
+        if (READY.isEmpty() && SKIPPED_ALERTS.get() > 0) {
+            int skipped = SKIPPED_ALERTS.getAndSet(0);
+            if (ConfigManager.getClientConfig().alert_chat_enabled && client.player != null) {
+                client.player.sendMessage(createPrefix(Formatting.YELLOW)
+                        .append(Text.literal(skipped + " more rare Pokémon appeared, but too many alerts arrived at once to show them all.").formatted(Formatting.GRAY)), false);
+            }
+        }
+    }
+
+    /**
+     * Drops everything still queued. Called on disconnect.
+     * Worker tasks already submitted, and a hand-off blocked on a full queue, are discarded through the session check.
+     */
+    public static void clear() {
+        SESSION.incrementAndGet();
+        READY.clear();
+        SKIPPED_ALERTS.set(0);
+        WORKER.execute(() -> {
+            RECENT_ALERTS.clear();
+            SKIPPED_POKEMON.clear();
+        });
+    }
+
+    private static void prepareWaypoint(int session, WaypointPayload payload) {
+        ConfigClient config = ConfigManager.getClientConfig();
+        if (session != SESSION.get() || !config.searching_enabled) return;
+
+        long now = System.currentTimeMillis();
+        for (Iterator<Long> it = RECENT_ALERTS.values().iterator(); it.hasNext(); ) {
+            if (now - it.next() > DUPLICATE_ALERT_WINDOW_MS) it.remove();
+        }
+        if (RECENT_ALERTS.containsKey(payload.uuid())) {
+            // Already announced; only keep the waypoint position current.
+            handOff(new PreparedWaypoint(session, payload, null, null, null, false));
+            return;
+        }
+
+        // This is the only producer, so the queue can't fill up between this check and the hand-off.
+        if (READY.remainingCapacity() == 0) {
+            SKIPPED_POKEMON.add(payload.uuid());
+            SKIPPED_ALERTS.incrementAndGet();
+            return;
+        }
+        RECENT_ALERTS.put(payload.uuid(), now);
+
+        String formattedCategory = formatCategoryName(payload.rarity().name());
+        Text toastTitle = null;
+        if (config.alert_toast_enabled) {
+            if (payload.rarity() == RarityUtil.RarityCategory.HUNT) {
+                toastTitle = Text.literal("Hunting Target: ").append(Text.literal(payload.name()).formatted(Formatting.GREEN));
+            } else {
+                MutableText pokemonText;
+                if (payload.rarity() == RarityUtil.RarityCategory.SHINY) {
+                    pokemonText = createRainbowText(formattedCategory + " " + payload.name());
+                } else {
+                    pokemonText = Text.literal(formattedCategory + " " + payload.name())
+                            .styled(style -> style.withColor(payload.color()));
+                }
+                toastTitle = Text.literal("A ").append(pokemonText).append(Text.literal(" has appeared"));
+            }
+        }
+
+        MutableText chatHead = config.alert_chat_enabled ? createSpawnChatHead(payload, formattedCategory) : null;
+        Text chatTail = config.alert_chat_enabled ? createSpawnChatTail(payload) : null;
+        boolean playSound = config.alert_sounds_enabled && payload.status() == WaypointPayload.Status.NEW;
+        handOff(new PreparedWaypoint(session, payload, toastTitle, chatHead, chatTail, playSound));
+    }
+
+    private static void prepareStatusUpdate(int session, StatusUpdatePayload payload) {
+        if (session != SESSION.get() || !ConfigManager.getClientConfig().searching_enabled) return;
+        RECENT_ALERTS.remove(payload.uuid());
+        // The alert for this Pokémon was never shown, so there is no waypoint to remove either.
+        if (SKIPPED_POKEMON.remove(payload.uuid())) return;
+
+        Text despawnMessage = null;
+        Text captureMessage = null;
+        if (ConfigManager.getClientConfig().alert_chat_enabled) {
+            if (payload.updateType() == StatusUpdatePayload.UpdateType.DESPAWNED) {
+                despawnMessage = createPrefix(Formatting.YELLOW)
+                        .append(Text.literal("The wild " + payload.name() + " has fled...").formatted(Formatting.YELLOW));
+            } else if (payload.updateType() == StatusUpdatePayload.UpdateType.CAPTURED && payload.playerName() != null) {
+                captureMessage = createPrefix(Formatting.GREEN)
+                        .append(Text.literal(payload.playerName()).formatted(Formatting.GOLD))
+                        .append(Text.literal(" captured a " + formatCategoryName(payload.rarity().name()) + " " + payload.name() + "!").formatted(Formatting.YELLOW));
+            }
+        }
+        handOff(new PreparedStatusUpdate(session, payload, despawnMessage, captureMessage));
+    }
+
+    /**
+     * Waits for room in the queue, giving up once the session the item belongs to has ended,
+     * so a disconnect never leaves the worker blocked behind a queue nobody drains.
+     */
+    private static void handOff(Prepared prepared) {
+        try {
+            while (!READY.offer(prepared, 50, TimeUnit.MILLISECONDS)) {
+                if (prepared.session() != SESSION.get()) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Builds the spawn alert up to its location part.
+     */
+    private static MutableText createSpawnChatHead(WaypointPayload payload, String formattedCategory) {
+        MutableText chatMessage = createPrefix(Formatting.GREEN)
+                .append(Text.literal("A wild ").formatted(Formatting.YELLOW));
+
+        if (payload.rarity() == RarityUtil.RarityCategory.HUNT) {
+            chatMessage.append(Text.literal(payload.name()).formatted(Formatting.GREEN))
+                    .append(Text.literal(" (Hunting Target)").formatted(Formatting.DARK_GREEN));
+        } else {
+            if (payload.rarity() == RarityUtil.RarityCategory.SHINY) {
+                chatMessage.append(createRainbowText(formattedCategory + " " + payload.name()));
+            } else {
+                chatMessage.append(Text.literal(formattedCategory + " " + payload.name())
+                        .styled(style -> style.withColor(payload.color())));
+            }
+        }
+
+        chatMessage.append(Text.literal(" ["));
+        if (payload.status() == WaypointPayload.Status.NEW) {
+            chatMessage.append(Text.literal(payload.status().name()).formatted(Formatting.GREEN));
+        } else {
+            chatMessage.append(Text.literal(payload.status().name()).formatted(Formatting.GRAY));
+        }
+        chatMessage.append(Text.literal("]"));
+
+        chatMessage.append(Text.literal(" (Lvl " + payload.level() + ") has appeared at ").formatted(Formatting.YELLOW));
+        return chatMessage;
+    }
+
+    private static Text createSpawnChatTail(WaypointPayload payload) {
+        return Text.literal(" (").formatted(Formatting.YELLOW)
+                .append(Text.literal(String.format("%.1f", payload.distance()) + " blocks away").formatted(Formatting.GREEN))
+                .append(Text.literal("). Hurry up!!").formatted(Formatting.YELLOW));
+    }
+
+    /**
+     * Builds the location part of a spawn alert. Must run on the client thread: whether a Xaero waypoint
+     * is auto-created depends on the current Catch 'em All generation, and creating it is a side effect.
+     */
+    private static MutableText createLocationPart(WaypointPayload payload) {
+        // Create waypoints only for NEW Pokémon or HUNT category (custom list)
+        String pokemonName = payload.name();
+        int x = payload.pos().getX();
+        int y = payload.pos().getY();
+        int z = payload.pos().getZ();
+
+        boolean shouldCreateWaypoint = payload.status() == WaypointPayload.Status.NEW || payload.rarity() == RarityUtil.RarityCategory.HUNT;
+        if (shouldCreateWaypoint) {
+            return com.zehro_mc.pokenotifier.client.util.ClientMessageUtils.createLocationText(pokemonName, x, y, z, payload.color());
+        }
+
+        // Show coordinates with Add button for CAUGHT Pokémon
+        MutableText location = Text.empty().append(XaeroIntegration.createCoordinateFallback(x, y, z));
+
+        // Add waypoint button for all Pokemon if Xaero's is available
+        if (ConfigManager.getClientConfig().create_waypoints_enabled && XaeroIntegration.isXaeroAvailable()) {
+            location.append(Text.literal(" ").formatted(Formatting.WHITE));
+            location.append(XaeroIntegration.createWaypointButton(pokemonName, x, y, z, payload.color()));
+        }
+        return location;
+    }
+
+    private static MutableText createPrefix(Formatting bracketColor) {
+        return Text.literal("[").formatted(bracketColor)
+                .append(Text.literal("Poke Notifier").formatted(Formatting.GOLD))
+                .append(Text.literal("] ").formatted(bracketColor));
+    }
+
+    private static String formatCategoryName(String categoryName) {
+        if (categoryName == null || categoryName.isEmpty()) {
+            return "Rare";
+        }
+        String[] words = categoryName.toLowerCase().split("_");
+        for (int i = 0; i < words.length; i++) {
+            words[i] = words[i].substring(0, 1).toUpperCase() + words[i].substring(1);
+        }
+        return String.join(" ", words);
+    }
+
+    /**
+     * Creates a text component with a rainbow color effect.
+     * @param text The text to be colored.
+     * @return A MutableText with the effect applied.
+     */
+    private static MutableText createRainbowText(String text) {
+        MutableText rainbowText = Text.empty();
+        Formatting[] rainbowColors = {
+                Formatting.RED,
+                Formatting.GOLD,
+                Formatting.YELLOW,
+                Formatting.GREEN,
+                Formatting.AQUA,
+                Formatting.LIGHT_PURPLE
+        };
+        for (int i = 0; i < text.length(); i++) {
+            // Assign a rainbow color to each character, cycling through the color list.
+            rainbowText.append(Text.literal(String.valueOf(text.charAt(i))).formatted(rainbowColors[i % rainbowColors.length]));
+        }
+        return rainbowText;
+    }
+}
@@ -8,6 +8,7 @@
 
 package com.zehro_mc.pokenotifier.client;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,10 +19,24 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ClientRankCache {
 
-    private static Map<UUID, Integer> ranks = new ConcurrentHashMap<>();
+    private static final Map<UUID, Integer> ranks = new ConcurrentHashMap<>();
 
-    public static void updateRanks(Map<UUID, Integer> newRanks) {
-        ranks = new ConcurrentHashMap<>(newRanks);
+    /**
+     * Replaces every known rank. Received once when joining a server.
+     */
+    public static void replaceRanks(Map<UUID, Integer> newRanks) {
+        ranks.clear();
+        ranks.putAll(newRanks);
+    }
+
+    /**
+     * Applies the ranks that changed and forgets players who left.
+     */
+    public static void applyDelta(Map<UUID, Integer> changedRanks, Collection<UUID> removedPlayers) {
+        ranks.putAll(changedRanks);
+        for (UUID playerUuid : removedPlayers) {
+            ranks.remove(playerUuid);
+        }
     }
 
     public static int getRank(UUID playerUuid) {
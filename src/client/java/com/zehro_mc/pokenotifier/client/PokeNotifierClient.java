@@ -15,6 +15,7 @@ import com.zehro_mc.pokenotifier.util.MessageUtils;
 import com.zehro_mc.pokenotifier.block.entity.ModBlockEntities;
 import com.zehro_mc.pokenotifier.client.compat.AdvancementPlaquesCompat;
 import com.zehro_mc.pokenotifier.client.compat.XaeroIntegration;
+import com.zehro_mc.pokenotifier.client.data.ClientPlayerListMirror;
 import com.zehro_mc.pokenotifier.client.data.WaypointManager;
 import com.zehro_mc.pokenotifier.client.event.PokemonWaypointHandler;
 import com.zehro_mc.pokenotifier.client.renderer.TrophyDisplayBlockEntityRenderer;
@@ -22,15 +23,13 @@ import com.zehro_mc.pokenotifier.networking.*;
 import com.zehro_mc.pokenotifier.networking.GlobalHuntPayload;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.block.entity.BlockEntityRendererFactories;
-import net.minecraft.client.sound.PositionedSoundInstance;
-import net.minecraft.sound.SoundEvents;
-import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.math.BlockPos;
@@ -38,11 +37,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class PokeNotifierClient implements ClientModInitializer {
 
-    public static final Map<String, BlockPos> ACTIVE_WAYPOINTS = new ConcurrentHashMap<>();
+    public static final Map<UUID, BlockPos> ACTIVE_WAYPOINTS = new ConcurrentHashMap<>();
     public static final Logger LOGGER = LoggerFactory.getLogger(PokeNotifier.MOD_ID + "-Client");
 
     // HUD progress variables.
@@ -172,6 +172,15 @@ public class PokeNotifierClient implements ClientModInitializer {
                 }
             }
         });
+
+        // Mirrored lists are tied to the session's sequence numbers.
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(() -> {
+            ClientPlayerListMirror.clear();
+            ClientNotificationPipeline.clear();
+        }));
+
+        // Apply the notifications prepared off-thread, a few per tick.
+        ClientTickEvents.END_CLIENT_TICK.register(ClientNotificationPipeline::tick);
     }
 
     /**
@@ -194,6 +203,17 @@ public class PokeNotifierClient implements ClientModInitializer {
             });
         });
 
+        ClientPlayNetworking.registerGlobalReceiver(GuiMessagePayload.ID, (payload, context) -> {
+            context.client().execute(() -> {
+                if (context.client().currentScreen instanceof PokeNotifierCustomScreen screen) {
+                    screen.displayMessages(payload);
+                }
+            });
+        });
+
+        ClientPlayNetworking.registerGlobalReceiver(PlayerListSyncPayload.ID, (payload, context) ->
+                context.client().execute(() -> ClientPlayerListMirror.apply(payload)));
+
         // --- NEW: Receive admin status from the server ---
         ClientPlayNetworking.registerGlobalReceiver(AdminStatusPayload.ID, (payload, context) -> {
             context.client().execute(() -> {
@@ -258,160 +278,19 @@ public class PokeNotifierClient implements ClientModInitializer {
             }
         });
 
-        ClientPlayNetworking.registerGlobalReceiver(WaypointPayload.ID, (payload, context) -> {
-            if (!ConfigManager.getClientConfig().searching_enabled) return;
-
-            MinecraftClient client = context.client();
-            client.execute(() -> {
-                String formattedCategory = formatCategoryName(payload.rarityCategoryName());
-
-                if (ConfigManager.getClientConfig().alert_toast_enabled) {
-                    MutableText title;
-                    if ("HUNT".equals(payload.rarityCategoryName())) {
-                        title = Text.literal("Hunting Target: ").append(Text.literal(payload.name()).formatted(Formatting.GREEN));
-                    } else {
-                        MutableText pokemonText;
-                        if ("SHINY".equals(payload.rarityCategoryName())) {
-                            pokemonText = createRainbowText(formattedCategory + " " + payload.name());
-                        } else {
-                            pokemonText = Text.literal(formattedCategory + " " + payload.name())
-                                    .styled(style -> style.withColor(payload.color()));
-                        }
-                        title = Text.literal("A ").append(pokemonText).append(Text.literal(" has appeared"));
-                    }
-                    Text description = Text.empty();
-                    NotificationHUD.show(title, description, payload.spriteIdentifier());
-                }
-
-                if (ConfigManager.getClientConfig().alert_chat_enabled) {
-                    MutableText prefix = Text.literal("[").formatted(Formatting.GREEN)
-                            .append(Text.literal("Poke Notifier").formatted(Formatting.GOLD))
-                            .append(Text.literal("] ").formatted(Formatting.GREEN));
-
-                    MutableText chatMessage = prefix
-                            .append(Text.literal("A wild ").formatted(Formatting.YELLOW));
-
-                    if ("HUNT".equals(payload.rarityCategoryName())) {
-                        chatMessage.append(Text.literal(payload.name()).formatted(Formatting.GREEN))
-                                .append(Text.literal(" (Hunting Target)").formatted(Formatting.DARK_GREEN));
-                    } else {
-                        if ("SHINY".equals(payload.rarityCategoryName())) {
-                            chatMessage.append(createRainbowText(formattedCategory + " " + payload.name()));
-                        } else {
-                            chatMessage.append(Text.literal(formattedCategory + " " + payload.name())
-                                    .styled(style -> style.withColor(payload.color())));
-                        }
-                    }
-
-                    chatMessage.append(Text.literal(" ["));
-                    if ("NEW".equals(payload.status())) {
-                        chatMessage.append(Text.literal(payload.status()).formatted(Formatting.GREEN));
-                    } else {
-                        chatMessage.append(Text.literal(payload.status()).formatted(Formatting.GRAY));
-                    }
-                    chatMessage.append(Text.literal("]"));
-
-                    chatMessage.append(Text.literal(" (" + payload.level() + ") has appeared at ").formatted(Formatting.YELLOW));
-                    
-                    // Create waypoints only for NEW Pokémon or HUNT category (custom list)
-                    String pokemonName = payload.name();
-                    int x = payload.pos().getX();
-                    int y = payload.pos().getY();
-                    int z = payload.pos().getZ();
-                    
-                    boolean shouldCreateWaypoint = "NEW".equals(payload.status()) || "HUNT".equals(payload.rarityCategoryName());
-                    
-                    if (shouldCreateWaypoint) {
-                        chatMessage.append(com.zehro_mc.pokenotifier.client.util.ClientMessageUtils.createLocationText(
-                                pokemonName, x, y, z, payload.color()));
-                    } else {
-                        // Show coordinates with Add button for CAUGHT Pokémon
-                        chatMessage.append(XaeroIntegration.createCoordinateFallback(x, y, z));
-                        
-                        // Add waypoint button for all Pokemon if Xaero's is available
-                        if (ConfigManager.getClientConfig().create_waypoints_enabled && XaeroIntegration.isXaeroAvailable()) {
-                            chatMessage.append(Text.literal(" ").formatted(Formatting.WHITE));
-                            chatMessage.append(XaeroIntegration.createWaypointButton(pokemonName, x, y, z, payload.color()));
-                        }
-                    }
-                    
-                    chatMessage.append(Text.literal(" (").formatted(Formatting.YELLOW));
-                    chatMessage.append(Text.literal(String.format("%.1f", payload.distance()) + " blocks away").formatted(Formatting.GREEN));
-                    chatMessage.append(Text.literal("). Hurry up!!").formatted(Formatting.YELLOW));
-
-                    if (client.player != null) {
-                        client.player.sendMessage(chatMessage, false);
-                    }
-                }
-
-                if (ConfigManager.getClientConfig().alert_sounds_enabled && "NEW".equals(payload.status())) {
-                    if (client.player != null) {
-                        client.getSoundManager().play(PositionedSoundInstance.master(SoundEvents.ENTITY_PLAYER_LEVELUP, 1.0F, 0.5F));
-                    }
-                }
-
-                ACTIVE_WAYPOINTS.put(payload.uuid(), payload.pos());
-            });
-        });
-
-        ClientPlayNetworking.registerGlobalReceiver(StatusUpdatePayload.ID, (payload, context) -> {
-            if (!ConfigManager.getClientConfig().searching_enabled) return;
-
-            MinecraftClient client = context.client();
-            client.execute(() -> {
-                if (ACTIVE_WAYPOINTS.remove(payload.uuid()) != null) {
-                    LOGGER.info("Waypoint removed for: " + payload.name());
-                    
-                    // Force remove waypoint from tracker and map for ALL update types
-                    try {
-                        java.util.UUID pokemonUuid = java.util.UUID.fromString(payload.uuid());
-                        com.zehro_mc.pokenotifier.client.compat.WaypointTracker.unregisterWaypoint(pokemonUuid);
-                        
-                        // Also try to remove by name as fallback
-                        String cleanName = payload.name().replaceAll("[^a-zA-Z0-9 ]", "").trim();
-                        if (cleanName.length() > 15) cleanName = cleanName.substring(0, 15);
-                        XaeroIntegration.removeWaypoint(cleanName);
-                        
-                        // Force remove from WaypointManager as well
-                        com.zehro_mc.pokenotifier.client.data.WaypointManager.removeWaypointByPokemon(payload.uuid());
-                        
-                    } catch (Exception e) {
-                        LOGGER.warn("Failed to force remove waypoint for {}: {}", payload.name(), e.getMessage());
-                    }
+        ClientPlayNetworking.registerGlobalReceiver(WaypointPayload.ID, (payload, context) ->
+                ClientNotificationPipeline.submit(payload));
 
-                    if (payload.updateType() == StatusUpdatePayload.UpdateType.DESPAWNED) {
-                        if (ConfigManager.getClientConfig().alert_chat_enabled && client.player != null) {
-                            MutableText prefix = Text.literal("[").formatted(Formatting.YELLOW)
-                                    .append(Text.literal("Poke Notifier").formatted(Formatting.GOLD))
-                                    .append(Text.literal("] ").formatted(Formatting.YELLOW));
+        ClientPlayNetworking.registerGlobalReceiver(StatusUpdatePayload.ID, (payload, context) ->
+                ClientNotificationPipeline.submit(payload));
 
-                            MutableText despawnMessage = prefix
-                                    .append(Text.literal("The wild " + payload.name() + " has fled...").formatted(Formatting.YELLOW));
-
-                            client.player.sendMessage(despawnMessage, false);
-                        }
-                    }
-                }
-            });
-        });
+        // Spawn alerts, status updates and progress queued during one server tick arrive together.
+        ClientPlayNetworking.registerGlobalReceiver(NotificationBatchPayload.ID, (payload, context) ->
+                ClientNotificationPipeline.submit(payload));
 
         // Receive "Catch 'em All" progress updates.
-        ClientPlayNetworking.registerGlobalReceiver(CatchProgressPayload.ID, (payload, context) -> {
-            String previousGeneration = currentCatchEmAllGeneration;
-
-            context.client().execute(() -> {
-                currentCatchEmAllGeneration = payload.generationName();
-                catchCaughtCount = payload.caughtCount();
-                catchTotalCount = payload.totalCount();
-                customHuntListSize = payload.customHuntListSize();
-
-                // If a generation was just activated, send a reminder message to the player.
-                if ("none".equals(previousGeneration) && !"none".equals(currentCatchEmAllGeneration)) {
-                    String genName = currentCatchEmAllGeneration.substring(0, 1).toUpperCase() + currentCatchEmAllGeneration.substring(1);
-                    context.client().player.sendMessage(Text.literal("Catch 'em All mode is active for: ").append(Text.literal(genName).formatted(Formatting.GOLD)).formatted(Formatting.YELLOW), false);
-                }
-            });
-        });
+        ClientPlayNetworking.registerGlobalReceiver(CatchProgressPayload.ID, (payload, context) ->
+                ClientNotificationPipeline.submit(payload));
 
         ClientPlayNetworking.registerGlobalReceiver(ModeStatusPayload.ID, (payload, context) -> {
             context.client().execute(() -> {
@@ -444,43 +323,14 @@ public class PokeNotifierClient implements ClientModInitializer {
     // Receive rank updates from the server.
     ClientPlayNetworking.registerGlobalReceiver(RankSyncPayload.ID, (payload, context) -> {
         context.client().execute(() -> {
-            ClientRankCache.updateRanks(payload.ranks());
+            if (payload.snapshot()) {
+                ClientRankCache.replaceRanks(payload.ranks());
+            } else {
+                ClientRankCache.applyDelta(payload.ranks(), payload.removed());
+            }
         });
         });
     }
 
-    private static String formatCategoryName(String categoryName) {
-        if (categoryName == null || categoryName.isEmpty()) {
-            return "Rare";
-        }
-        String[] words = categoryName.toLowerCase().split("_");
-        for (int i = 0; i < words.length; i++) {
-            words[i] = words[i].substring(0, 1).toUpperCase() + words[i].substring(1);
-        }
-        return String.join(" ", words);
-    }
-
-    /**
-     * Creates a text component with a rainbow color effect.
-     * @param text The text to be colored.
-     * @return A MutableText with the effect applied.
-     */
-    private static MutableText createRainbowText(String text) {
-        MutableText rainbowText = Text.empty();
-        Formatting[] rainbowColors = {
-                Formatting.RED,
-                Formatting.GOLD,
-                Formatting.YELLOW,
-                Formatting.GREEN,
-                Formatting.AQUA,
-                Formatting.LIGHT_PURPLE
-        };
-        for (int i = 0; i < text.length(); i++) {
-            // Assign a rainbow color to each character, cycling through the color list.
-            rainbowText.append(Text.literal(String.valueOf(text.charAt(i))).formatted(rainbowColors[i % rainbowColors.length]));
-        }
-        return rainbowText;
-    }
-
 
 }
\ No newline at end of file
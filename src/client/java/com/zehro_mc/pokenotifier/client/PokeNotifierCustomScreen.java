@@ -21,6 +21,9 @@ import com.zehro_mc.pokenotifier.ConfigClient;
 import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.ConfigServer;
 import com.zehro_mc.pokenotifier.networking.EventConfigPayload;
+import com.zehro_mc.pokenotifier.networking.GuiMessagePayload;
+import com.zehro_mc.pokenotifier.networking.PlayerListSyncPayload;
+import com.zehro_mc.pokenotifier.client.data.ClientPlayerListMirror;
 import net.minecraft.util.Formatting;
 
 import java.util.ArrayList;
@@ -345,6 +348,9 @@ public class PokeNotifierCustomScreen extends Screen {
     }
 
     private void buildCustomHuntPanel(int x, int y, int width) {
+        // Keep a local copy of the list so "View List" doesn't need a round trip.
+        ClientPlayerListMirror.subscribe(PlayerListSyncPayload.ListType.CUSTOM_LIST, "");
+
         this.pokemonNameField = new AutocompleteTextFieldWidget(this.textRenderer, x, y, width, 20, Text.literal(""), () -> PokeNotifierApi.getAllPokemonNames().toList());
         this.pokemonNameField.setPlaceholder(Text.literal("e.g., Pikachu"));
         addDrawableChild(this.pokemonNameField);
@@ -377,6 +383,10 @@ public class PokeNotifierCustomScreen extends Screen {
         
         // View List button
         IconButton viewButton = new IconButton(x, y + 71, width, 18, GuiIcons.VIEW_LIST, "View List", b -> {
+            if (ClientPlayerListMirror.isReady(PlayerListSyncPayload.ListType.CUSTOM_LIST, "")) {
+                showMirroredCustomList();
+                return;
+            }
             com.zehro_mc.pokenotifier.networking.CustomListUpdatePayload payload = 
                 new com.zehro_mc.pokenotifier.networking.CustomListUpdatePayload(
                     com.zehro_mc.pokenotifier.networking.CustomListUpdatePayload.Action.LIST, "");
@@ -387,7 +397,29 @@ public class PokeNotifierCustomScreen extends Screen {
         addDrawableChild(viewButton);
     }
 
+    /**
+     * Shows the custom list from the client-side mirror, formatted like the server's LIST response.
+     */
+    private void showMirroredCustomList() {
+        List<String> entries = ClientPlayerListMirror.getEntries(PlayerListSyncPayload.ListType.CUSTOM_LIST, "");
+        if (entries.isEmpty()) {
+            displayMessages(GuiMessagePayload.message(GuiMessagePayload.Tone.WARNING, "poke-notifier.gui.custom_list.empty"));
+            return;
+        }
+        List<GuiMessagePayload.Line> lines = new ArrayList<>();
+        lines.add(GuiMessagePayload.Line.message(GuiMessagePayload.Tone.WARNING, "poke-notifier.gui.custom_list.header"));
+        entries.forEach(name -> lines.add(GuiMessagePayload.Line.removableEntry(name)));
+        displayMessages(new GuiMessagePayload(lines));
+    }
+
     private void buildCatchEmAllPanel(int x, int y, int width) {
+        // Mirror the caught set of the tracked generation so "View Missing" is answered locally.
+        String trackedGen = PokeNotifierClient.currentCatchEmAllGeneration;
+        boolean isTracking = trackedGen != null && !"none".equals(trackedGen);
+        if (isTracking) {
+            ClientPlayerListMirror.subscribe(PlayerListSyncPayload.ListType.CAUGHT, trackedGen);
+        }
+
         List<String> generations = Arrays.asList("gen1", "gen2", "gen3", "gen4", "gen5", "gen6", "gen7", "gen8", "gen9");
         int buttonWidth = (width - 5) / 2;
         int buttonHeight = 18;
@@ -455,6 +487,43 @@ public class PokeNotifierCustomScreen extends Screen {
         });
         statusButton.setTooltip(net.minecraft.client.gui.tooltip.Tooltip.of(Text.literal("View your current Catch 'em All progress and status")));
         addDrawableChild(statusButton);
+
+        // View Missing button
+        IconButton missingButton = new IconButton(x, statusY + 46, width, 18, GuiIcons.VIEW_LIST, "View Missing", b -> showMissingPokemon(trackedGen));
+        missingButton.setTooltip(net.minecraft.client.gui.tooltip.Tooltip.of(Text.literal("List the Pokémon you still need for the tracked generation")));
+        missingButton.active = isTracking;
+        addDrawableChild(missingButton);
+    }
+
+    /**
+     * Shows the species of a generation that are not in the mirrored caught set yet.
+     */
+    private void showMissingPokemon(String genName) {
+        if (!ClientPlayerListMirror.isReady(PlayerListSyncPayload.ListType.CAUGHT, genName)) {
+            displayResponse(List.of(Text.literal("Still loading your progress, try again in a moment.").formatted(Formatting.YELLOW)));
+            return;
+        }
+        com.zehro_mc.pokenotifier.model.GenerationData genData = ConfigManager.getGenerationData(genName);
+        if (genData == null) {
+            displayResponse(List.of(Text.literal("No Pokémon list found for " + formatGenName(genName) + ".").formatted(Formatting.RED)));
+            return;
+        }
+
+        java.util.Set<String> caught = new java.util.HashSet<>(ClientPlayerListMirror.getEntries(PlayerListSyncPayload.ListType.CAUGHT, genName));
+        List<String> missing = genData.pokemon.stream()
+                .filter(name -> !caught.contains(name))
+                .toList();
+        if (missing.isEmpty()) {
+            displayResponse(List.of(Text.literal("You have caught every Pokémon in " + formatGenName(genName) + "!").formatted(Formatting.GREEN)));
+            return;
+        }
+
+        List<Text> lines = new ArrayList<>();
+        lines.add(Text.literal("Missing in " + formatGenName(genName) + " (" + missing.size() + "/" + genData.pokemon.size() + "):").formatted(Formatting.GOLD));
+        for (int i = 0; i < missing.size(); i += 5) {
+            lines.add(Text.literal(String.join(", ", missing.subList(i, Math.min(i + 5, missing.size())))).formatted(Formatting.WHITE));
+        }
+        displayResponse(lines);
     }
 
     private void buildMapSettingsPanel(int x, int y, int width) {
@@ -731,6 +800,24 @@ public class PokeNotifierCustomScreen extends Screen {
         addDrawableChild(ButtonWidget.builder(Text.literal("Event Management"), b -> {
             displayResponse(List.of(Text.literal("Event management has been moved to the Events tab.").formatted(Formatting.YELLOW)));
         }).dimensions(x, y + 124, width, 18).build()).active = false;
+
+        // Network Stats button
+        addDrawableChild(ButtonWidget.builder(Text.literal("Network Stats"), b -> {
+            com.zehro_mc.pokenotifier.networking.AdminCommandPayload payload = 
+                new com.zehro_mc.pokenotifier.networking.AdminCommandPayload(
+                    com.zehro_mc.pokenotifier.networking.AdminCommandPayload.Action.NETWORK_STATS, "");
+            net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking.send(payload);
+            displayResponse(List.of(Text.literal("Requesting network traffic stats...").formatted(Formatting.YELLOW)));
+        }).dimensions(x, y + 147, (width - 4) / 2, 18).build());
+
+        // Tick Timings button
+        addDrawableChild(ButtonWidget.builder(Text.literal("Tick Timings"), b -> {
+            com.zehro_mc.pokenotifier.networking.AdminCommandPayload payload = 
+                new com.zehro_mc.pokenotifier.networking.AdminCommandPayload(
+                    com.zehro_mc.pokenotifier.networking.AdminCommandPayload.Action.TICK_TIMES, "");
+            net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking.send(payload);
+            displayResponse(List.of(Text.literal("Requesting tick timings...").formatted(Formatting.YELLOW)));
+        }).dimensions(x + (width + 4) / 2, y + 147, width - (width + 4) / 2, 18).build());
     }
 
     // --- EVENT PANEL BUILDERS ---
@@ -1849,6 +1936,35 @@ public class PokeNotifierCustomScreen extends Screen {
         this.responseTimer = 200;
     }
 
+    /**
+     * Shows a structured server response, building the styled text from its message keys and arguments.
+     */
+    public void displayMessages(GuiMessagePayload payload) {
+        List<Text> lines = new ArrayList<>(payload.lines().size());
+        for (GuiMessagePayload.Line line : payload.lines()) {
+            lines.add(renderLine(line));
+        }
+        displayResponse(lines);
+    }
+
+    private static Text renderLine(GuiMessagePayload.Line line) {
+        Formatting color = line.tone().getFormatting();
+        return switch (line.kind()) {
+            case MESSAGE -> {
+                Object[] args = line.args().stream().map(arg -> Text.literal(arg).formatted(Formatting.GOLD)).toArray();
+                yield Text.translatable(line.key(), args).formatted(color);
+            }
+            case STATUS -> Text.translatable(line.key()).append(" = ").formatted(Formatting.WHITE)
+                    .append(Text.literal(line.tone() == GuiMessagePayload.Tone.SUCCESS ? "ON" : "OFF").formatted(color));
+            case VALUE -> Text.translatable(line.key()).append(": ").formatted(Formatting.WHITE)
+                    .append(Text.literal(line.args().get(0)).formatted(color));
+            // Uses the same "remove:" click value the response panel already handles.
+            case REMOVABLE_ENTRY -> Text.literal("• " + line.key() + " [X]").formatted(color)
+                    .styled(style -> style.withClickEvent(new net.minecraft.text.ClickEvent(
+                            net.minecraft.text.ClickEvent.Action.SUGGEST_COMMAND, "remove:" + line.key())));
+        };
+    }
+
     public void setPokemonNameField(String text) {
         if (this.pokemonNameField != null) {
             this.pokemonNameField.setText(text);
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.client.data;
+
+import com.zehro_mc.pokenotifier.networking.PlayerListRequestPayload;
+import com.zehro_mc.pokenotifier.networking.PlayerListSyncPayload;
+import com.zehro_mc.pokenotifier.networking.PlayerListSyncPayload.ListType;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client-side copy of the player's custom list and per-generation caught sets, so the GUI can
+ * browse and page through them without asking the server each time.
+ * A list is fetched page by page the first time it is requested and then kept current by deltas;
+ * if a delta does not follow the last applied sequence number, the list is fetched again.
+ */
+public class ClientPlayerListMirror {
+
+    private static final class Mirror {
+        final TreeSet<String> entries = new TreeSet<>();
+        long sequence = -1;
+        boolean complete;
+    }
+
+    private static final Map<String, Mirror> MIRRORS = new ConcurrentHashMap<>();
+
+    /**
+     * Starts mirroring a list if it is not mirrored yet. Safe to call every time a screen opens.
+     */
+    public static void subscribe(ListType listType, String generation) {
+        if (MIRRORS.containsKey(key(listType, generation))) return;
+        MIRRORS.put(key(listType, generation), new Mirror());
+        requestPage(listType, generation, 0, -1);
+    }
+
+    public static boolean isReady(ListType listType, String generation) {
+        Mirror mirror = MIRRORS.get(key(listType, generation));
+        return mirror != null && mirror.complete;
+    }
+
+    /**
+     * @return The sorted entries of a mirrored list, or an empty list if it is not (fully) mirrored yet.
+     */
+    public static List<String> getEntries(ListType listType, String generation) {
+        Mirror mirror = MIRRORS.get(key(listType, generation));
+        if (mirror == null || !mirror.complete) return List.of();
+        return new ArrayList<>(mirror.entries);
+    }
+
+    public static boolean contains(ListType listType, String generation, String pokemonName) {
+        Mirror mirror = MIRRORS.get(key(listType, generation));
+        return mirror != null && mirror.complete && mirror.entries.contains(pokemonName);
+    }
+
+    /**
+     * Applies a sync payload. Must be called on the client thread.
+     */
+    public static void apply(PlayerListSyncPayload payload) {
+        String key = key(payload.listType(), payload.generation());
+        Mirror mirror = MIRRORS.get(key);
+        if (mirror == null) return; // Not subscribed.
+
+        switch (payload.mode()) {
+            case SNAPSHOT_PAGE -> {
+                if (payload.page() == 0) {
+                    mirror.entries.clear();
+                    mirror.complete = false;
+                    mirror.sequence = payload.sequence();
+                } else if (payload.sequence() != mirror.sequence) {
+                    // The server restarted the snapshot because the list changed meanwhile.
+                    refetch(payload.listType(), payload.generation());
+                    return;
+                }
+                mirror.entries.addAll(payload.added());
+                if (payload.page() + 1 >= payload.pageCount()) {
+                    mirror.complete = true;
+                } else {
+                    requestPage(payload.listType(), payload.generation(), payload.page() + 1, mirror.sequence);
+                }
+            }
+            case DELTA -> {
+                if (!mirror.complete) {
+                    // Still paging: the next page request carries an outdated sequence, so the server restarts it.
+                    return;
+                }
+                if (payload.sequence() != mirror.sequence + 1) {
+                    refetch(payload.listType(), payload.generation());
+                    return;
+                }
+                mirror.entries.addAll(payload.added());
+                payload.removed().forEach(mirror.entries::remove);
+                mirror.sequence = payload.sequence();
+            }
+            case INVALIDATE -> refetch(payload.listType(), payload.generation());
+        }
+    }
+
+    /**
+     * Forgets every mirrored list. Called on disconnect, since sequence numbers are per session.
+     */
+    public static void clear() {
+        MIRRORS.clear();
+    }
+
+    private static void refetch(ListType listType, String generation) {
+        Mirror mirror = MIRRORS.get(key(listType, generation));
+        if (mirror == null) return;
+        mirror.complete = false;
+        requestPage(listType, generation, 0, -1);
+    }
+
+    private static void requestPage(ListType listType, String generation, int page, long sequence) {
+        ClientPlayNetworking.send(new PlayerListRequestPayload(listType, generation, page, sequence));
+    }
+
+    private static String key(ListType listType, String generation) {
+        return listType.name() + ":" + generation;
+    }
+}
@@ -10,17 +10,24 @@ package com.zehro_mc.pokenotifier;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
+import com.zehro_mc.pokenotifier.data.CatchProgressWriter;
+import com.zehro_mc.pokenotifier.data.JsonDirectoryPlayerDataStore;
+import com.zehro_mc.pokenotifier.data.LogPlayerDataStore;
+import com.zehro_mc.pokenotifier.data.PlayerDataCache;
+import com.zehro_mc.pokenotifier.data.PlayerDataMigrator;
+import com.zehro_mc.pokenotifier.data.PlayerDataStore;
 import com.zehro_mc.pokenotifier.model.CustomListConfig;
 import com.zehro_mc.pokenotifier.model.BountyRewardsConfig;
 import com.zehro_mc.pokenotifier.model.CatchemallRewardsConfig;
 import com.zehro_mc.pokenotifier.model.GenerationData;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
-import com.zehro_mc.pokenotifier.util.DataSecurityUtil;
+import com.zehro_mc.pokenotifier.util.RarityUtil;
+import com.zehro_mc.pokenotifier.util.ServerTaskQueue;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.MinecraftServer;
 
 import java.io.File;
 import java.io.InputStream;
@@ -29,9 +36,12 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -42,7 +52,9 @@ public class ConfigManager {
 
     private static final File CONFIG_DIR = FabricLoader.getInstance().getConfigDir().resolve(PokeNotifier.MOD_ID).toFile();
     private static final File PLAYER_DATA_DIR = new File(CONFIG_DIR, "player_data");
-    public static final File CATCH_PROGRESS_DIR = new File(CONFIG_DIR, "catch_progress");
+    private static final File CATCH_PROGRESS_DIR = new File(CONFIG_DIR, "catch_progress");
+    private static final File PLAYER_DATA_STORE_FILE = new File(CONFIG_DIR, "player_data.dat");
+    private static final File MIGRATED_DIR = new File(CONFIG_DIR, "migrated");
     private static final File EVENTS_DIR = new File(CONFIG_DIR, "events"); // New directory for event configs
     private static final File CONFIG_CLIENT_FILE = new File(CONFIG_DIR, "config-client.json");
     private static final File CONFIG_SERVER_FILE = new File(CONFIG_DIR, "config-server.json");
@@ -59,9 +71,16 @@ public class ConfigManager {
     private static ConfigServer configServer;
     private static com.zehro_mc.pokenotifier.model.EventsConfig eventsConfig;
 
-    // Caches player-specific data to avoid constant file I/O.
-    private static final Map<UUID, CustomListConfig> playerConfigs = new ConcurrentHashMap<>();
-    private static final Map<UUID, PlayerCatchProgress> playerCatchProgress = new ConcurrentHashMap<>();
+    // Caches player-specific data to avoid constant file I/O. Offline players are evicted; see tickPlayerDataCaches.
+    private static final PlayerDataCache<CustomListConfig> playerConfigs = new PlayerDataCache<>();
+    private static final PlayerDataCache<PlayerCatchProgress> playerCatchProgress = new PlayerDataCache<>();
+    private static final int CACHE_SWEEP_INTERVAL_TICKS = 20 * 60;
+    private static int ticksSinceCacheSweep = 0;
+    private static final Map<UUID, CompletableFuture<Void>> pendingPreloads = new ConcurrentHashMap<>();
+    // Empty defaults handed to the server thread while a player's preload is still running. Never cached,
+    // and saves of them are refused so they can't overwrite the real data. Identity-based, as neither type overrides equals.
+    private static final Set<Object> placeholders = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static PlayerDataStore playerDataStore;
 
     // Caches generation data loaded from the mod's resources.
     private static final Map<String, GenerationData> generationDataCache = new ConcurrentHashMap<>();
@@ -94,6 +113,7 @@ public class ConfigManager {
 
         // Load environment-specific configuration files.
         if (env != EnvType.CLIENT) { // Server-side environment
+            RarityUtil.rebuildRarityTable(getPokemonConfig());
             loadConfigServer();
             loadCatchemallRewardsConfig();
             loadBountyRewardsConfig();
@@ -131,6 +151,7 @@ public class ConfigManager {
         EnvType env = FabricLoader.getInstance().getEnvironmentType();
 
         configPokemon = new ConfigPokemon();
+        RarityUtil.rebuildRarityTable(configPokemon);
         catchemallRewardsConfig = new CatchemallRewardsConfig();
         bountyRewardsConfig = new BountyRewardsConfig();
         eventsConfig = new com.zehro_mc.pokenotifier.model.EventsConfig();
@@ -345,80 +366,242 @@ public class ConfigManager {
         return eventsConfig;
     }
 
-    public static CustomListConfig getPlayerConfig(UUID playerUuid) {
-        return playerConfigs.computeIfAbsent(playerUuid, uuid -> {
-            File playerFile = new File(PLAYER_DATA_DIR, uuid.toString() + ".json");
-            try {
-                return loadConfigFile(playerFile, CustomListConfig.class, uuid.toString() + ".json");
-            } catch (ConfigReadException e) {
-                PokeNotifier.LOGGER.error("Could not load custom list for player " + uuid + ". Creating a new one.", e);
-                return new CustomListConfig();
+    /**
+     * Returns the store backing player lists and progress. It is opened at server start,
+     * or on first use if something needs it earlier.
+     * The single-file store is used unless the server config asks for per-player JSON files;
+     * existing JSON files are migrated into it the first time it is opened.
+     */
+    public static synchronized PlayerDataStore getPlayerDataStore() {
+        if (playerDataStore == null) {
+            JsonDirectoryPlayerDataStore jsonStore = new JsonDirectoryPlayerDataStore(PLAYER_DATA_DIR, CATCH_PROGRESS_DIR);
+            if ("json_files".equalsIgnoreCase(getServerConfig().player_data_storage)) {
+                playerDataStore = jsonStore;
+            } else {
+                try {
+                    LogPlayerDataStore logStore = new LogPlayerDataStore(PLAYER_DATA_STORE_FILE);
+                    PlayerDataMigrator.migrateIfNeeded(jsonStore, logStore, MIGRATED_DIR);
+                    playerDataStore = logStore;
+                } catch (IOException e) {
+                    PokeNotifier.LOGGER.error("Could not open player_data.dat. Falling back to per-player JSON files.", e);
+                    playerDataStore = jsonStore;
+                }
+            }
+        }
+        return playerDataStore;
+    }
+
+    /**
+     * Flushes and closes the player data store. Called once pending progress writes have finished at shutdown.
+     */
+    public static synchronized void closePlayerDataStore() {
+        if (playerDataStore != null) {
+            playerDataStore.close();
+            playerDataStore = null;
+        }
+        playerConfigs.clear();
+        playerCatchProgress.clear();
+    }
+
+    /**
+     * Starts loading a player's list and progress on the I/O thread and publishes them to the caches.
+     * Called during login so the data is resident before the player enters play.
+     * @param playerUuid The player's UUID.
+     * @return A future that completes once both are cached. Failures are logged, not propagated.
+     */
+    public static CompletableFuture<Void> preloadPlayerData(UUID playerUuid) {
+        CompletableFuture<Void> existing = pendingPreloads.get(playerUuid);
+        if (existing != null) return existing;
+
+        CompletableFuture<Void> preload = CompletableFuture.runAsync(() -> {
+            if (!playerConfigs.contains(playerUuid)) {
+                playerConfigs.putIfAbsent(playerUuid, loadPlayerConfig(playerUuid));
+            }
+            if (!playerCatchProgress.contains(playerUuid)) {
+                playerCatchProgress.putIfAbsent(playerUuid, loadPlayerCatchProgress(playerUuid));
             }
+        }, CatchProgressWriter.ioExecutor()).exceptionally(e -> {
+            PokeNotifier.LOGGER.error("Failed to preload player data for " + playerUuid + ".", e);
+            return null;
         });
+        CompletableFuture<Void> raced = pendingPreloads.putIfAbsent(playerUuid, preload);
+        if (raced != null) return raced;
+        preload.whenComplete((result, error) -> pendingPreloads.remove(playerUuid, preload));
+        return preload;
+    }
+
+    /**
+     * Returns a player's custom list. Online players are preloaded at login, so this is normally a cache hit.
+     * While the preload is still running, the server thread gets an empty placeholder instead of touching the disk,
+     * and other threads wait for the preload. Without a preload (e.g. an offline player looked up by an admin tool)
+     * the list is read synchronously.
+     * Callers that change the list should run through {@link #whenPlayerDataReady}; a placeholder is never saved.
+     */
+    public static CustomListConfig getPlayerConfig(UUID playerUuid) {
+        CustomListConfig cached = playerConfigs.getIfPresent(playerUuid);
+        if (cached != null) return cached;
+        if (awaitPreload(playerUuid)) return placeholder(new CustomListConfig());
+        return playerConfigs.get(playerUuid, ConfigManager::loadPlayerConfig);
     }
 
     public static void savePlayerConfig(UUID playerUuid, CustomListConfig config) {
-        File playerFile = new File(PLAYER_DATA_DIR, playerUuid.toString() + ".json");
-        saveConfigFile(playerFile, config, playerUuid.toString() + ".json");
+        if (isPlaceholder(config, playerUuid)) return;
+        getPlayerDataStore().saveCustomList(playerUuid, config);
         playerConfigs.put(playerUuid, config); // Update cache
     }
 
+    /**
+     * Returns a player's progress, with the same fallback order as {@link #getPlayerConfig(UUID)}.
+     */
     public static PlayerCatchProgress getPlayerCatchProgress(UUID playerUuid) {
-        return playerCatchProgress.computeIfAbsent(playerUuid, uuid -> {
-            try {
-                File progressFile = new File(CATCH_PROGRESS_DIR, uuid.toString() + ".json");
-                if (!progressFile.exists()) {
-                    return new PlayerCatchProgress();
-                }
+        PlayerCatchProgress cached = playerCatchProgress.getIfPresent(playerUuid);
+        if (cached != null) return cached;
+        if (awaitPreload(playerUuid)) return placeholder(new PlayerCatchProgress());
+        return playerCatchProgress.get(playerUuid, ConfigManager::loadPlayerCatchProgress);
+    }
 
-                // Load the raw map to check for the "data" field, which indicates the new, encrypted format.
-                Map<String, Object> rawData;
-                try (FileReader reader = new FileReader(progressFile)) {
-                    rawData = GSON.fromJson(reader, new TypeToken<Map<String, Object>>(){}.getType());
-                }
+    /**
+     * Waits for an in-flight preload, except on the server thread: the tick must neither read the disk itself
+     * nor wait on the I/O thread, which may be busy with queued writes or a compaction.
+     * @return true if this is the server thread and the preload is still running, so the caller must use a placeholder.
+     */
+    private static boolean awaitPreload(UUID playerUuid) {
+        CompletableFuture<Void> preload = pendingPreloads.get(playerUuid);
+        if (preload == null || preload.isDone()) return false;
+        if (!PokeNotifier.isServerThread()) {
+            preload.join();
+            return false;
+        }
+        if (getServerConfig().debug_mode_enabled) {
+            PokeNotifier.LOGGER.info("[ConfigManager] Data for {} is still loading; using an empty placeholder on the server thread.", playerUuid);
+        }
+        return true;
+    }
 
-                if (rawData.containsKey("data")) {
-                    // New format: Decrypt the data.
-                    String encryptedData = (String) rawData.get("data");
-                    String decryptedJson = DataSecurityUtil.decrypt(encryptedData);
+    private static <T> T placeholder(T value) {
+        placeholders.add(value);
+        return value;
+    }
 
-                    if (decryptedJson == null) {
-                        PokeNotifier.LOGGER.warn("Could not decrypt progress file for player {}. It might be tampered with or from an incompatible version. Ignoring.", uuid);
-                        return new PlayerCatchProgress(); // Return fresh progress for this session.
-                    }
-                    return GSON.fromJson(decryptedJson, PlayerCatchProgress.class);
-                } else {
-                    // Old format: Trust the data, migrate it, and save it back.
-                    PokeNotifier.LOGGER.info("Migrating old progress file to new secure format for player {}.", uuid);
-                    PlayerCatchProgress progress = GSON.fromJson(GSON.toJson(rawData), PlayerCatchProgress.class);
-                    savePlayerCatchProgress(uuid, progress); // This will save it in the new, encrypted format.
-                    return progress;
-                }
-            } catch (Exception e) {
-                PokeNotifier.LOGGER.error("Could not load or migrate catch progress for player " + uuid + ". Creating a new one.", e);
-                return new PlayerCatchProgress();
-            }
-        });
+    private static boolean isPlaceholder(Object value, UUID playerUuid) {
+        if (!placeholders.contains(value)) return false;
+        PokeNotifier.LOGGER.warn("[ConfigManager] Not saving placeholder data for {}; it was handed out while their data was still loading.", playerUuid);
+        return true;
     }
 
-    public static void savePlayerCatchProgress(UUID playerUuid, PlayerCatchProgress progress) {
-        // Encrypt the progress data before saving.
-        String jsonProgress = GSON.toJson(progress);
-        String encryptedData = DataSecurityUtil.encrypt(jsonProgress);
+    /**
+     * Runs a task once the player's data is cached. If their login preload is still running (it timed out),
+     * the task is queued for the server thread when the preload finishes; otherwise it runs right away.
+     * @param playerUuid The player's UUID.
+     * @param task The work that reads the player's list or progress.
+     */
+    public static void whenPlayerDataReady(UUID playerUuid, Runnable task) {
+        CompletableFuture<Void> preload = pendingPreloads.get(playerUuid);
+        if (preload == null || preload.isDone()) {
+            task.run();
+        } else {
+            preload.thenRun(() -> ServerTaskQueue.submit(task));
+        }
+    }
 
-        // We save it inside a map to have a consistent JSON structure: {"data": "..."}
-        Map<String, String> dataToSave = Map.of("data", encryptedData);
+    private static CustomListConfig loadPlayerConfig(UUID playerUuid) {
+        CustomListConfig config = getPlayerDataStore().loadCustomList(playerUuid);
+        return config != null ? config : new CustomListConfig();
+    }
+
+    private static PlayerCatchProgress loadPlayerCatchProgress(UUID playerUuid) {
+        PlayerCatchProgress progress = getPlayerDataStore().loadCatchProgress(playerUuid);
+        return progress != null ? progress : new PlayerCatchProgress();
+    }
 
-        File progressFile = new File(CATCH_PROGRESS_DIR, playerUuid.toString() + ".json");
-        saveConfigFile(progressFile, dataToSave, "catch progress for " + playerUuid);
+    /**
+     * Updates the cached progress and queues it for the next background flush.
+     * The write itself happens off the server thread; see {@link CatchProgressWriter}.
+     */
+    public static void savePlayerCatchProgress(UUID playerUuid, PlayerCatchProgress progress) {
+        if (isPlaceholder(progress, playerUuid)) return;
         playerCatchProgress.put(playerUuid, progress); // Update cache
+        CatchProgressWriter.markDirty(playerUuid, progress);
+    }
+
+    /**
+     * Writes a progress snapshot to the player data store. Called from the progress I/O thread.
+     */
+    public static void writePlayerCatchProgress(UUID playerUuid, PlayerCatchProgress progress) {
+        getPlayerDataStore().saveCatchProgress(playerUuid, progress);
+    }
+
+    /**
+     * Copies a player's current progress into their backup slot, writing any pending changes first.
+     * @param playerUuid The player's UUID.
+     * @param overwrite Whether an existing backup may be replaced.
+     * @return true if a backup was written.
+     */
+    public static boolean backupPlayerCatchProgress(UUID playerUuid, boolean overwrite) {
+        CatchProgressWriter.flushNow(playerUuid);
+        return getPlayerDataStore().backupCatchProgress(playerUuid, overwrite);
+    }
+
+    /**
+     * Restores a player's progress from their backup slot and drops the cached copy so it is reloaded.
+     * @param playerUuid The player's UUID.
+     * @return true if a backup existed and was restored.
+     */
+    public static boolean restorePlayerCatchProgressBackup(UUID playerUuid) {
+        CatchProgressWriter.discard(playerUuid);
+        boolean restored = getPlayerDataStore().restoreCatchProgressBackup(playerUuid);
+        if (restored) {
+            playerCatchProgress.remove(playerUuid);
+        }
+        return restored;
+    }
+
+    public static boolean hasPlayerCatchProgressBackup(UUID playerUuid) {
+        return getPlayerDataStore().hasCatchProgressBackup(playerUuid);
+    }
+
+    /**
+     * Restarts the idle timer of a player's cached data. Called on disconnect, so their data
+     * stays resident for the configured idle time in case they reconnect.
+     * @param playerUuid The player's UUID.
+     */
+    public static void onPlayerDisconnect(UUID playerUuid) {
+        playerConfigs.touch(playerUuid);
+        playerCatchProgress.touch(playerUuid);
+    }
+
+    /**
+     * Periodically evicts cached data of offline players that has been idle for longer than
+     * player_cache_idle_minutes, then trims the caches down to player_cache_max_size.
+     * Online players are never evicted, and progress with a pending write is kept until it has been flushed.
+     * Must be called once per server tick from the server thread.
+     * @param server The running server, used to tell which players are online.
+     */
+    public static void tickPlayerDataCaches(MinecraftServer server) {
+        if (++ticksSinceCacheSweep < CACHE_SWEEP_INTERVAL_TICKS) {
+            return;
+        }
+        ticksSinceCacheSweep = 0;
+
+        ConfigServer config = getServerConfig();
+        long idleMillis = Math.max(0, config.player_cache_idle_minutes) * 60_000L;
+        int maxSize = Math.max(0, config.player_cache_max_size);
+        int evicted = playerConfigs.evict(idleMillis, maxSize, uuid -> server.getPlayerManager().getPlayer(uuid) == null);
+        evicted += playerCatchProgress.evict(idleMillis, maxSize,
+                uuid -> server.getPlayerManager().getPlayer(uuid) == null && !CatchProgressWriter.isPending(uuid));
+        if (evicted > 0 && config.debug_mode_enabled) {
+            PokeNotifier.LOGGER.info("[ConfigManager] Evicted {} cached player data entries ({} lists and {} progress entries remain).",
+                    evicted, playerConfigs.size(), playerCatchProgress.size());
+        }
     }
 
     /**
      * Removes a player's progress from the cache, forcing a reload from the file on the next request.
+     * Any pending write for the player is dropped so it cannot overwrite the file being reloaded.
      * @param playerUuid The player's UUID.
      */
     public static void forceReloadPlayerCatchProgress(UUID playerUuid) {
+        CatchProgressWriter.discard(playerUuid);
         playerCatchProgress.remove(playerUuid);
     }
 
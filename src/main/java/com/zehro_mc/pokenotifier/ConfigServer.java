@@ -14,7 +14,7 @@ package com.zehro_mc.pokenotifier;
  */
 public class ConfigServer {
 
-    public int config_version = 7;
+    public int config_version = 14;
 
     public String[] _instructions = new String[]{
             "Poke Notifier Configuration - Server-Only Settings",
@@ -31,7 +31,17 @@ public class ConfigServer {
             "rival_notification_override_distance: If a rival is within this distance (in blocks), they will be notified regardless of the cooldown.",
             "update_checker_source: The platform to check for updates ('modrinth', 'curseforge', 'none', or 'unknown').",
             "NOTE: Swarm system configuration is now managed in config/poke-notifier/events/config-swarm.json",
-            "global_hunt_system_enabled: If true, the Global Hunt system is available for use."
+            "global_hunt_system_enabled: If true, the Global Hunt system is available for use.",
+            "catch_progress_save_interval_seconds: How often (in seconds) changed 'Catch 'em All' progress is written to disk.",
+            "player_data_storage: How player lists and progress are stored. 'single_file' keeps everything in player_data.dat; 'json_files' uses one JSON file per player. Requires a restart.",
+            "player_cache_idle_minutes: How long (in minutes) an offline player's list and progress stay in memory after they were last used.",
+            "player_cache_max_size: The maximum number of players whose data is kept in memory. Online players are always kept, even above this limit.",
+            "notification_rate_per_second: How many spawn alerts per second a player can receive once their burst is used up. Set to 0 to disable the limit.",
+            "notification_burst: How many spawn alerts a player can receive at once. Extra alerts are summarized; shiny, legendary, mythical, ultra beast, paradox, custom list and Catch 'em All alerts are delayed instead.",
+            "network_stats_log_interval_minutes: How often (in minutes) a summary of Poke Notifier network traffic is written to the log. Set to 0 to disable.",
+            "network_stats_json_dump: If true, each traffic summary is also saved as a JSON file in config/poke-notifier/stats.",
+            "scheduled_task_budget_ms: The most time (in milliseconds) per server tick spent on deferred Poke Notifier tasks. Tasks that don't fit wait for the next tick. Set to 0 for no limit.",
+            "tick_profiler_warn_percent: Logs a warning when one part of Poke Notifier's tick work takes more than this percentage of the 50 ms server tick. Set to 0 to disable."
     };
 
     public boolean debug_mode_enabled = false;
@@ -47,4 +57,14 @@ public class ConfigServer {
 
     public boolean global_hunt_system_enabled = false;
     public String active_bounty = null;
+    public int catch_progress_save_interval_seconds = 30;
+    public String player_data_storage = "single_file";
+    public int player_cache_idle_minutes = 10;
+    public int player_cache_max_size = 200;
+    public double notification_rate_per_second = 4.0;
+    public int notification_burst = 20;
+    public int network_stats_log_interval_minutes = 15;
+    public boolean network_stats_json_dump = false;
+    public int scheduled_task_budget_ms = 5;
+    public int tick_profiler_warn_percent = 10;
 }
\ No newline at end of file
@@ -18,20 +18,35 @@ import com.cobblemon.mod.common.Cobblemon;
 import com.zehro_mc.pokenotifier.block.ModBlocks;
 import com.zehro_mc.pokenotifier.block.entity.ModBlockEntities;
 import com.zehro_mc.pokenotifier.component.ModDataComponents;
+import com.zehro_mc.pokenotifier.data.CatchProgressWriter;
+import com.zehro_mc.pokenotifier.data.DataManager;
 import com.zehro_mc.pokenotifier.api.PokeNotifierApi;
 import com.zehro_mc.pokenotifier.model.GenerationData;
 import com.zehro_mc.pokenotifier.event.EvolutionListener;
 import com.zehro_mc.pokenotifier.item.ModItems;
+import com.zehro_mc.pokenotifier.mixin.ServerLoginNetworkHandlerAccessor;
 import com.zehro_mc.pokenotifier.model.CustomListConfig;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
 import com.zehro_mc.pokenotifier.event.CaptureListener;
+import com.zehro_mc.pokenotifier.data.PlayerDataHandler;
+import com.zehro_mc.pokenotifier.data.PlayerListSync;
 import com.zehro_mc.pokenotifier.networking.*;
+import com.zehro_mc.pokenotifier.networking.handlers.AdminCommandProcessor;
 import com.zehro_mc.pokenotifier.util.PokeNotifierServerUtils;
 import com.zehro_mc.pokenotifier.util.PlayerRankManager;
+import com.zehro_mc.pokenotifier.util.PlayerSpatialIndex;
+import com.zehro_mc.pokenotifier.util.OwnedSpeciesIndex;
+import com.zehro_mc.pokenotifier.util.ServerTaskQueue;
+import com.zehro_mc.pokenotifier.util.TickProfiler;
+import com.zehro_mc.pokenotifier.util.TickScheduler;
+import com.zehro_mc.pokenotifier.util.TrackedPokemonManager;
+import com.zehro_mc.pokenotifier.util.NotificationBatcher;
+import com.zehro_mc.pokenotifier.util.NotificationRateLimiter;
 import com.zehro_mc.pokenotifier.util.UpdateChecker;
 import com.zehro_mc.pokenotifier.util.RarityUtil;
 import com.zehro_mc.pokenotifier.util.MessageUtils;
 import com.zehro_mc.pokenotifier.globalhunt.GlobalHuntManager;
+import com.zehro_mc.pokenotifier.events.SwarmConfig;
 import com.zehro_mc.pokenotifier.events.SwarmEventManager;
 import kotlin.Unit;
 import com.mojang.brigadier.context.CommandContext;
@@ -39,6 +54,7 @@ import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.api.ModContainer;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.networking.v1.ServerLoginConnectionEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
@@ -63,10 +79,6 @@ import org.slf4j.Logger;
 import net.minecraft.command.argument.GameProfileArgumentType;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -79,13 +91,12 @@ import java.util.stream.Stream;
 import net.minecraft.world.Heightmap;
 import java.util.stream.StreamSupport;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class PokeNotifier implements ModInitializer {
     public static final String MOD_ID = "poke-notifier";
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
 
-    public static final Map<PokemonEntity, RarityUtil.RarityCategory> TRACKED_POKEMON = new ConcurrentHashMap<>();
-
     // --- Bounty System Scheduler ---
     private static int bountyTickCounter = 0;
     private static final Random BOUNTY_RANDOM = new Random();
@@ -99,6 +110,10 @@ public class PokeNotifier implements ModInitializer {
     // --- Rival System Cooldowns ---
     public static final Map<UUID, Long> RIVAL_NOTIFICATION_COOLDOWNS = new ConcurrentHashMap<>();
 
+    // --- Player Data Preload ---
+    // How long a login may be held while the player's data is read. After that, the first access loads it instead.
+    private static final long PLAYER_DATA_PRELOAD_TIMEOUT_SECONDS = 5;
+
     // --- Reset Confirmation ---
     private static final Map<UUID, String> RESET_CONFIRMATION_TOKENS = new ConcurrentHashMap<>();
 
@@ -107,7 +122,6 @@ public class PokeNotifier implements ModInitializer {
     public static boolean UPDATE_CHECK_COMPLETED = false;
     private static final Set<UUID> NOTIFIED_UP_TO_DATE_ADMINS = new HashSet<>();
 
-    private static final List<Runnable> PENDING_TASKS = new ArrayList<>();
     private static MinecraftServer server;
 
     @Override
@@ -186,12 +200,30 @@ public class PokeNotifier implements ModInitializer {
         ServerLifecycleEvents.SERVER_STARTING.register(server -> {
             // Clear the notified admin list on each server start.
             NOTIFIED_UP_TO_DATE_ADMINS.clear();
+            // Open the player data store (and migrate old JSON files into it) here, before any player or
+            // the I/O thread can touch it, instead of on whichever thread happens to use it first.
+            ConfigManager.getPlayerDataStore();
         });
         ServerLifecycleEvents.SERVER_STOPPING.register(stoppingServer -> {
             // Shutdown Global Hunt Manager
             GlobalHuntManager.getInstance().shutdown();
+            SwarmConfig.stopWatching();
+            PlayerSpatialIndex.clear();
+            TrackedPokemonManager.clear();
+            NotificationBatcher.clear();
+            NotificationRateLimiter.clear();
+            PlayerListSync.clear();
+            PlayerRankManager.clear();
+            TickScheduler.clear();
+            ServerTaskQueue.clear();
+            TickProfiler.reset();
             server = null;
         });
+        ServerLifecycleEvents.SERVER_STOPPED.register(stoppedServer -> {
+            // Make sure every queued progress write reaches the disk before the process exits.
+            CatchProgressWriter.flushAll();
+            ConfigManager.closePlayerDataStore();
+        });
 
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             // Use the new command registry system
@@ -355,34 +387,30 @@ public class PokeNotifier implements ModInitializer {
                                     return 0;
                                 }
 
-                                PlayerCatchProgress progress = ConfigManager.getPlayerCatchProgress(targetPlayer.getUuid());
-                                if (progress.active_generations.isEmpty()) {
-                                    if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Player " + profile.getName() + " does not have Catch 'em All mode active.").formatted(Formatting.RED))));
-                                    return 0;
-                                }
-                                String genName = progress.active_generations.iterator().next();
-                                GenerationData genData = ConfigManager.getGenerationData(genName);
-                                if (genData == null) {
-                                    if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Internal error: Could not find data for generation '" + genName + "'.").formatted(Formatting.RED))));
-                                    return 0;
-                                }
+                                ConfigManager.whenPlayerDataReady(targetPlayer.getUuid(), () -> {
+                                    PlayerCatchProgress progress = ConfigManager.getPlayerCatchProgress(targetPlayer.getUuid());
+                                    if (progress.active_generations.isEmpty()) {
+                                        if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Player " + profile.getName() + " does not have Catch 'em All mode active.").formatted(Formatting.RED))));
+                                        return;
+                                    }
+                                    String genName = progress.active_generations.iterator().next();
+                                    GenerationData genData = ConfigManager.getGenerationData(genName);
+                                    if (genData == null) {
+                                        if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Internal error: Could not find data for generation '" + genName + "'.").formatted(Formatting.RED))));
+                                        return;
+                                    }
 
-                                // --- LÓGICA DE BACKUP ---
-                                File progressFile = new File(ConfigManager.CATCH_PROGRESS_DIR, targetPlayer.getUuid().toString() + ".json");
-                                File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, targetPlayer.getUuid().toString() + ".json.bak");
-                                try {
-                                    if (progressFile.exists() && !backupFile.exists()) {
-                                        Files.copy(progressFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);                                        if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Backup of original progress created.").formatted(Formatting.YELLOW))));
+                                    // --- LÓGICA DE BACKUP ---
+                                    if (ConfigManager.backupPlayerCatchProgress(targetPlayer.getUuid(), false)) {
+                                        if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Backup of original progress created.").formatted(Formatting.YELLOW))));
                                     }
-                                } catch (IOException e) {
-                                    LOGGER.error("Failed to create backup for " + profile.getName(), e);
-                                }
 
-                                String missingPokemon = autocompleteGenerationForPlayer(targetPlayer, genName, genData);
-                                List<Text> response = new ArrayList<>();
-                                response.add(Text.literal("Autocompleted " + formatGenName(genName) + " for player " + targetPlayer.getName().getString()).formatted(Formatting.GREEN));
-                                response.add(Text.literal("To complete the list, capture: ").append(Text.literal(missingPokemon).formatted(Formatting.GOLD)).append(". Use '/pokenotifier test spawn " + missingPokemon + "' to test.").formatted(Formatting.AQUA));
-                                if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(response));
+                                    String missingPokemon = DataManager.autocompleteGenerationForPlayer(targetPlayer, genName, genData);
+                                    List<Text> response = new ArrayList<>();
+                                    response.add(Text.literal("Autocompleted " + formatGenName(genName) + " for player " + targetPlayer.getName().getString()).formatted(Formatting.GREEN));
+                                    response.add(Text.literal("To complete the list, capture: ").append(Text.literal(missingPokemon).formatted(Formatting.GOLD)).append(". Use '/pokenotifier test spawn " + missingPokemon + "' to test.").formatted(Formatting.AQUA));
+                                    if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(response));
+                                });
                                 return 1;
                             })
                     ).build();
@@ -401,13 +429,15 @@ public class PokeNotifier implements ModInitializer {
                                     return 0;
                                 }
 
-                                boolean success = rollbackPlayerProgress(targetPlayer);
-                                if (success) {
-                                    if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Successfully rolled back progress for " + profile.getName()).formatted(Formatting.GREEN))));
-                                } else {
-                                    if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("No backup file found for " + profile.getName() + ".").formatted(Formatting.RED))));
-                                }
-                                return success ? 1 : 0;
+                                ConfigManager.whenPlayerDataReady(targetPlayer.getUuid(), () -> {
+                                    boolean success = DataManager.rollbackPlayerProgress(targetPlayer);
+                                    if (success) {
+                                        if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("Successfully rolled back progress for " + profile.getName()).formatted(Formatting.GREEN))));
+                                    } else {
+                                        if (adminPlayer != null) ServerPlayNetworking.send(adminPlayer, new GuiResponsePayload(List.of(Text.literal("No backup file found for " + profile.getName() + ".").formatted(Formatting.RED))));
+                                    }
+                                });
+                                return 1;
                             })).build();
 
             // Build the command tree
@@ -466,11 +496,30 @@ public class PokeNotifier implements ModInitializer {
         LOGGER.info("      [INIT] Enabling Swarm Events");
         LOGGER.info("      [INIT] Activating Rival Notifications");
         
+        // During login, read the player's list and progress on the I/O thread. The login is held until the
+        // data is cached (or a short timeout passes), so the join handlers below never wait on disk.
+        ServerLoginConnectionEvents.QUERY_START.register((handler, server, sender, synchronizer) -> {
+            GameProfile profile = ((ServerLoginNetworkHandlerAccessor) handler).getProfile();
+            if (profile != null && profile.getId() != null) {
+                synchronizer.waitFor(ConfigManager.preloadPlayerData(profile.getId()).copy()
+                        .completeOnTimeout(null, PLAYER_DATA_PRELOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            }
+        });
+
         // On player join, perform initial syncs and check for rank effects.
         ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
             ServerPlayerEntity player = handler.getPlayer();
-            performInitialPcSync(player);
-            PokeNotifierServerUtils.sendCatchProgressUpdate(player);
+            PlayerSpatialIndex.update(player);
+            OwnedSpeciesIndex.load(player);
+
+            // Work that reads the player's progress waits for the login preload if that timed out,
+            // rather than blocking the tick on it.
+            ConfigManager.whenPlayerDataReady(player.getUuid(), () -> {
+                if (player.isDisconnected()) return;
+                performInitialPcSync(player);
+                PokeNotifierServerUtils.sendCatchProgressUpdate(player);
+                PlayerRankManager.onPlayerJoin(player);
+            });
 
             // --- MEJORA: Notify player on join if a bounty is active ---
             String currentBounty = getActiveBounty();
@@ -549,8 +598,16 @@ public class PokeNotifier implements ModInitializer {
             
             // --- NEW: Sync event configuration with client ---
             sendEventConfigSync(player);
+        });
 
-            PlayerRankManager.onPlayerJoin(player);
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            PlayerSpatialIndex.remove(handler.getPlayer());
+            OwnedSpeciesIndex.unload(handler.getPlayer().getUuid());
+            ConfigManager.onPlayerDisconnect(handler.getPlayer().getUuid());
+            PlayerRankManager.onPlayerDisconnect(handler.getPlayer());
+            NotificationRateLimiter.remove(handler.getPlayer().getUuid());
+            PlayerListSync.onPlayerDisconnect(handler.getPlayer().getUuid());
+            PayloadTrafficStats.onPlayerDisconnect(handler.getPlayer().getUuid());
         });
 
         CobblemonEvents.POKEMON_ENTITY_SPAWN.subscribe(Priority.NORMAL, event -> {
@@ -559,9 +616,12 @@ public class PokeNotifier implements ModInitializer {
         });
 
         CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.NORMAL, event -> {
-            TRACKED_POKEMON.keySet().removeIf(entity -> entity.getPokemon().getUuid().equals(event.getPokemon().getUuid()));
-            CaptureListener.onPokemonCaptured(event);
-            PokeNotifierServerUtils.sendCatchProgressUpdate(event.getPlayer());
+            TrackedPokemonManager.CapturedPokemon captured = TrackedPokemonManager.onCaptured(event.getPokemon().getUuid());
+            // Catch 'em All progress is updated here, so wait for it if the catcher's data is still loading.
+            ConfigManager.whenPlayerDataReady(event.getPlayer().getUuid(), () -> {
+                CaptureListener.onPokemonCaptured(event, captured);
+                PokeNotifierServerUtils.sendCatchProgressUpdate(event.getPlayer());
+            });
             
             // Check if this capture is part of a Global Hunt
             if (GlobalHuntManager.getInstance().hasActiveEvent()) {
@@ -582,48 +642,48 @@ public class PokeNotifier implements ModInitializer {
 
         // New listener for evolutions, using the correct event.
         EvolutionListener.register();
+        OwnedSpeciesIndex.register();
+        TrackedPokemonManager.register();
 
         ServerTickEvents.END_SERVER_TICK.register(currentServer -> {
-            TRACKED_POKEMON.entrySet().removeIf(entry -> {
-                PokemonEntity pokemonEntity = entry.getKey();
-                if (!pokemonEntity.isAlive() || pokemonEntity.isRemoved()) {
-                    Pokemon pokemon = pokemonEntity.getPokemon();
-                    RarityUtil.RarityCategory rarity = entry.getValue();
-                    StatusUpdatePayload payload = new StatusUpdatePayload(
-                            pokemon.getUuid().toString(),
-                            pokemon.getDisplayName(true).getString(),
-                            rarity.name(),
-                            StatusUpdatePayload.UpdateType.DESPAWNED,
-                            null // Player name is null for despawns
-                    );
+            // Each step is timed by the TickProfiler; see "/pokenotifier ticktimes".
 
-                    if (server != null) {
-                        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-                            ServerPlayNetworking.send(player, payload);
-                        }
-                    }
-                    return true;
-                }
-                return false;
+            // Keep the spawn notification index in sync with player movement.
+            TickProfiler.time(TickProfiler.Section.SPATIAL_INDEX, () -> PlayerSpatialIndex.refresh(currentServer));
+
+            // Queue despawn notices for tracked Pokémon that disappeared this tick.
+            TickProfiler.time(TickProfiler.Section.TRACKED_POKEMON, () -> TrackedPokemonManager.flush(currentServer));
+
+            // Process any scheduled tasks, within the configured time budget.
+            TickProfiler.time(TickProfiler.Section.TASK_QUEUE, ServerTaskQueue::drain);
+
+            // Run delayed and repeating tasks that are due (Global Hunt timers).
+            TickProfiler.time(TickProfiler.Section.TICK_SCHEDULER, TickScheduler::tick);
+
+            // Flush changed "Catch 'em All" progress in the background.
+            TickProfiler.time(TickProfiler.Section.PLAYER_DATA, () -> {
+                CatchProgressWriter.tick();
+                ConfigManager.tickPlayerDataCaches(currentServer);
             });
-            // Process any scheduled tasks.
-            if (!PENDING_TASKS.isEmpty()) {
-                for (Runnable task : new ArrayList<>(PENDING_TASKS)) {
-                    task.run();
-                }
-                PENDING_TASKS.clear();
-            }
 
             // Tick the bounty system scheduler.
-            tickBountySystem(currentServer);
+            TickProfiler.time(TickProfiler.Section.BOUNTY, () -> tickBountySystem(currentServer));
 
             // DISABLED: Old swarm system replaced by SwarmEventManager
             // tickSwarmSystem(currentServer);
             
             // Tick the new Swarm Event Manager
             if (SwarmEventManager.getInstance() != null) {
-                SwarmEventManager.getInstance().tick();
+                TickProfiler.time(TickProfiler.Section.SWARM, () -> SwarmEventManager.getInstance().tick());
             }
+
+            // Send everything queued for each player this tick as one packet.
+            TickProfiler.time(TickProfiler.Section.NOTIFICATION_BATCHER, () -> NotificationBatcher.flush(currentServer));
+
+            // Log the periodic network traffic summary, if enabled.
+            TickProfiler.time(TickProfiler.Section.NETWORK_STATS, () -> PayloadTrafficStats.tick(currentServer));
+
+            TickProfiler.endTick();
         });
 
         // --- Enhanced Success Banner ---
@@ -645,445 +705,51 @@ public class PokeNotifier implements ModInitializer {
      * Registers receivers for packets sent from the client to the server.
      */
     private static void registerServerPacketReceivers() {
+        ServerPlayNetworking.registerGlobalReceiver(PlayerListRequestPayload.ID, (payload, context) ->
+                context.server().execute(() -> PlayerListSync.handleRequest(context.player(), payload)));
+
         ServerPlayNetworking.registerGlobalReceiver(CustomListUpdatePayload.ID, (payload, context) -> {
             ServerPlayerEntity player = context.player();
             String pokemonName = payload.pokemonName().toLowerCase().trim();
 
-            context.server().execute(() -> {
-                CustomListConfig playerConfig = ConfigManager.getPlayerConfig(player.getUuid());
-
+            context.server().execute(() -> ConfigManager.whenPlayerDataReady(player.getUuid(), () -> {
                 switch (payload.action()) {
                     case ADD:
                         // Use the property parser for robust validation (e.g., handles 'mr-mime' and 'mr_mime').
                         try {
                             PokemonProperties.Companion.parse(pokemonName);
                         } catch (Exception e) {
-                            // FIX: Send error response to GUI
-                            List<Text> errorLines = new ArrayList<>(List.of(Text.literal("Error: '").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append("' is not a valid Pokémon name.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(errorLines));
+                            ServerPlayNetworking.send(player, GuiMessagePayload.message(GuiMessagePayload.Tone.ERROR, "poke-notifier.gui.custom_list.invalid_name", pokemonName));
                             return;
                         }
-                        if (playerConfig.tracked_pokemon.add(pokemonName)) {
-                            ConfigManager.savePlayerConfig(player.getUuid(), playerConfig);
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Added '").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append("' to your custom tracking list.").formatted(Formatting.GREEN)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            PokeNotifierServerUtils.sendCatchProgressUpdate(player); // FIX: Update client state
-                        } else {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Pokémon '").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append("' is already on your list.").formatted(Formatting.YELLOW)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
+                        PlayerDataHandler.addToCustomList(player, pokemonName);
                         break;
 
                     case REMOVE:
-                        if (playerConfig.tracked_pokemon.remove(pokemonName)) {
-                            ConfigManager.savePlayerConfig(player.getUuid(), playerConfig);
-                            PokeNotifierServerUtils.sendCatchProgressUpdate(player);
-                            sendCustomHuntList(player); // FIX: Send the updated list directly.
-                        } else {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Pokémon '").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append("' was not on your list.").formatted(Formatting.YELLOW)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
+                        PlayerDataHandler.removeFromCustomList(player, pokemonName);
                         break;
 
                     case LIST:
-                        sendCustomHuntList(player);
+                        PlayerDataHandler.sendCustomHuntList(player);
                         break;
 
                     case CLEAR:
-                        if (!playerConfig.tracked_pokemon.isEmpty()) {
-                            playerConfig.tracked_pokemon.clear();
-                            ConfigManager.savePlayerConfig(player.getUuid(), playerConfig);
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Your custom tracking list has been cleared.").formatted(Formatting.GREEN)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            PokeNotifierServerUtils.sendCatchProgressUpdate(player); // FIX: Update client state
-                        } else {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Your custom tracking list was already empty.").formatted(Formatting.YELLOW)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
+                        PlayerDataHandler.clearCustomList(player);
                         break;
                 }
-            });
+            }));
         });
 
         // Handle admin commands from the client.
-        ServerPlayNetworking.registerGlobalReceiver(AdminCommandPayload.ID, (payload, context) -> {
-            ServerPlayerEntity player = context.player();
-            
-            context.server().execute(() -> {
-                // Check if command requires admin permissions
-                boolean requiresAdmin = switch (payload.action()) {
-                    case HELP, VERSION, STATUS -> false; // These are informational and don't require admin
-                    default -> true; // All other commands require admin
-                };
-                
-                // Verify admin permissions for admin-only commands
-                if (requiresAdmin && !player.hasPermissionLevel(2)) {
-                    List<Text> errorLines = new ArrayList<>(List.of(Text.literal("You don't have permission to use admin commands.").formatted(Formatting.RED)));
-                    ServerPlayNetworking.send(player, new GuiResponsePayload(errorLines));
-                    return;
-                }
-                
-                switch (payload.action()) {
-                    case TOGGLE_DEBUG_MODE -> {
-                        ConfigServer config = ConfigManager.getServerConfig();
-                        config.debug_mode_enabled = !config.debug_mode_enabled;
-                        ConfigManager.saveServerConfigToFile();
-                        List<Text> lines = new ArrayList<>(List.of(Text.literal("Debug mode ").append(config.debug_mode_enabled ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                    case TOGGLE_TEST_MODE -> {
-                        ConfigServer config = ConfigManager.getServerConfig();
-                        config.enable_test_mode = !config.enable_test_mode;
-                        ConfigManager.saveServerConfigToFile();
-                        List<Text> lines = new ArrayList<>(List.of(Text.literal("Test mode ").append(config.enable_test_mode ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                    case TOGGLE_BOUNTY_SYSTEM -> {
-                        ConfigServer config = ConfigManager.getServerConfig();
-                        config.bounty_system_enabled = !config.bounty_system_enabled;
-                        ConfigManager.saveServerConfigToFile();
-                        List<Text> lines = new ArrayList<>(List.of(Text.literal("Bounty system ").append(config.bounty_system_enabled ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        if (!config.bounty_system_enabled) {
-                            clearActiveBounty(false);
-                        }
-                    }
-                    case TOGGLE_SWARM_SYSTEM -> {
-                        SwarmEventManager swarmManager = SwarmEventManager.getInstance();
-                        if (swarmManager != null) {
-                            swarmManager.toggleSystem();
-                            boolean isEnabled = swarmManager.isSystemEnabled();
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Swarm system ").append(isEnabled ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            
-                            // Sync with all players using current swarm manager state
-                            for (ServerPlayerEntity onlinePlayer : context.server().getPlayerManager().getPlayerList()) {
-                                boolean currentHasActiveSwarm = swarmManager.hasActiveSwarm();
-                                String currentActiveSwarmPokemon = currentHasActiveSwarm ? swarmManager.getActiveSwarmPokemon() : "";
-                                
-                                ServerPlayNetworking.send(onlinePlayer, new AdminStatusPayload(
-                                    onlinePlayer.hasPermissionLevel(2),
-                                    ConfigManager.getServerConfig().debug_mode_enabled,
-                                    ConfigManager.getServerConfig().enable_test_mode,
-                                    ConfigManager.getServerConfig().bounty_system_enabled,
-                                    ConfigManager.getServerConfig().global_hunt_system_enabled,
-                                    isEnabled, // Use the new swarm system state
-                                    GlobalHuntManager.getInstance().hasActiveEvent(),
-                                    GlobalHuntManager.getInstance().hasActiveEvent() ? 
-                                        (GlobalHuntManager.getInstance().getCurrentEvent().isShiny() ? "Shiny " : "") + 
-                                        GlobalHuntManager.getInstance().getCurrentEvent().getPokemonName() : "",
-                                    currentHasActiveSwarm,
-                                    currentActiveSwarmPokemon));
-                            }
-                        }
-                    }
-                    case SERVER_STATUS -> {
-                        ConfigServer config = ConfigManager.getServerConfig();
-                        List<Text> lines = new ArrayList<>();
-                        lines.add(Text.literal("--- Poke Notifier Server Status ---").formatted(Formatting.GOLD));
-                        lines.add(createServerStatusLine("Debug Mode", config.debug_mode_enabled));
-                        lines.add(createServerStatusLine("Bounty System", config.bounty_system_enabled));
-                        if (config.bounty_system_enabled) {
-                            String currentBounty = getActiveBounty();
-                            MutableText bountyStatus = Text.literal("  Current Bounty = ").formatted(Formatting.WHITE);
-                            bountyStatus.append(currentBounty == null ? Text.literal("None").formatted(Formatting.GRAY) : Text.literal(currentBounty).formatted(Formatting.GOLD));
-                            lines.add(bountyStatus);
-                        }
-                        lines.add(createServerStatusLine("Test Mode", config.enable_test_mode));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                    case RELOAD_CONFIG -> {
-                        try {
-                            ConfigManager.loadConfig();
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Poke Notifier configurations reloaded successfully.").formatted(Formatting.GREEN)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        } catch (ConfigManager.ConfigReadException e) {
-                            LOGGER.error("Failed to reload Poke Notifier configuration: {}", e.getMessage());
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Error reloading configs: " + e.getMessage()).formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
-                    }
-                    case RESET_CONFIG -> {
-                        try {
-                            ConfigManager.resetToDefault();
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("All Poke Notifier configurations have been reset to default.").formatted(Formatting.GREEN)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        } catch (Exception e) {
-                            LOGGER.error("Failed to generate new default configurations.", e);
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Failed to generate new configs. Check server logs.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
-                    }
-                    case START_SWARM -> {
-                        String[] parts = payload.parameter().trim().split(" ");
-                        if (parts.length >= 1 && !parts[0].isEmpty()) {
-                            String pokemonName = parts[0];
-                            boolean isShiny = java.util.Arrays.asList(parts).contains("shiny");
-                            boolean spawnHere = java.util.Arrays.asList(parts).contains("here");
-                            
-                            SwarmEventManager swarmManager = SwarmEventManager.getInstance();
-                            if (swarmManager != null) {
-                                boolean success;
-                                String adminName = player.getName().getString();
-                                if (spawnHere) {
-                                    success = swarmManager.startManualSwarmAt(pokemonName, player.getBlockPos(), adminName, isShiny);
-                                } else {
-                                    success = swarmManager.startManualSwarm(pokemonName, adminName, isShiny);
-                                }
-                                
-                                if (success) {
-                                    String locationText = spawnHere ? " at your location" : "";
-                                    List<Text> lines = new ArrayList<>(List.of(Text.literal("Started swarm of ").append(Text.literal((isShiny ? "Shiny " : "") + pokemonName).formatted(Formatting.GOLD)).append(locationText + "!").formatted(Formatting.GREEN)));
-                                    ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                                } else {
-                                    List<Text> lines = new ArrayList<>(List.of(Text.literal("Failed to start swarm. Check if one is already active.").formatted(Formatting.RED)));
-                                    ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                                }
-                            }
-                        }
-                    }
-                    case SWARM_STATUS -> {
-                        List<Text> lines = new ArrayList<>();
-                        lines.add(Text.literal("--- Swarm Status ---").formatted(Formatting.GOLD));
-                        
-                        SwarmEventManager swarmManager = SwarmEventManager.getInstance();
-                        if (swarmManager != null) {
-                            lines.add(Text.literal("System: ").append(swarmManager.isSystemEnabled() ? Text.literal("Enabled").formatted(Formatting.GREEN) : Text.literal("Disabled").formatted(Formatting.RED)));
-                            
-                            if (swarmManager.hasActiveSwarm()) {
-                                lines.add(Text.literal("Active Swarm: ").append(Text.literal(swarmManager.getActiveSwarmPokemon()).formatted(Formatting.GOLD)));
-                                BlockPos loc = swarmManager.getActiveSwarmLocation();
-                                lines.add(Text.literal("Location: ").append(Text.literal("X: " + loc.getX() + ", Z: " + loc.getZ()).formatted(Formatting.AQUA)));
-                                lines.add(Text.literal("Biome: ").append(Text.literal(swarmManager.getActiveSwarmBiome()).formatted(Formatting.GREEN)));
-                                lines.add(Text.literal("Time Left: ").append(Text.literal(swarmManager.getRemainingMinutes() + " minutes").formatted(Formatting.YELLOW)));
-                                lines.add(Text.literal("Entities Remaining: ").append(Text.literal(String.valueOf(swarmManager.getRemainingEntities())).formatted(Formatting.LIGHT_PURPLE)));
-                                lines.add(Text.literal("Total Spawned: ").append(Text.literal(String.valueOf(swarmManager.getTotalSpawnedCount())).formatted(Formatting.GRAY)));
-                            } else {
-                                lines.add(Text.literal("Active Swarm: None").formatted(Formatting.GRAY));
-                            }
-                        } else {
-                            lines.add(Text.literal("Swarm Manager: Not Available").formatted(Formatting.RED));
-                        }
-                        
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                    case CANCEL_SWARM -> {
-                        SwarmEventManager swarmManager = SwarmEventManager.getInstance();
-                        if (swarmManager != null && swarmManager.hasActiveSwarm()) {
-                            swarmManager.endCurrentSwarm();
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Active swarm cancelled by admin").formatted(Formatting.YELLOW)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            
-                            // Notify all players
-                            Text announcement = Text.literal("The active swarm has been cancelled by an administrator.").formatted(Formatting.YELLOW);
-                            context.server().getPlayerManager().broadcast(announcement, false);
-                        } else {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("No active swarm to cancel").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
-                    }
-                    case START_GLOBAL_HUNT -> {
-                        String[] parts = payload.parameter().trim().split(" ");
-                        if (parts.length >= 1) {
-                            String pokemonName = parts[0];
-                            boolean isShiny = parts.length > 1 && "shiny".equals(parts[1]);
-                            
-                            if (GlobalHuntManager.getInstance().hasActiveEvent()) {
-                                List<Text> lines = new ArrayList<>(List.of(Text.literal("A Global Hunt is already active!").formatted(Formatting.RED)));
-                                ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                                return;
-                            }
-                            
-                            // Use the new method that generates challenging coordinates automatically
-                            ServerWorld world = player.getServerWorld();
-                            
-                            GlobalHuntManager.getInstance().startManualEvent(world, pokemonName, isShiny);
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Started Global Hunt for ").append(Text.literal((isShiny ? "Shiny " : "") + pokemonName).formatted(Formatting.GOLD)).formatted(Formatting.GREEN)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
-                    }
-                    case CANCEL_GLOBAL_HUNT -> {
-                        if (GlobalHuntManager.getInstance().hasActiveEvent()) {
-                            GlobalHuntManager.getInstance().getCurrentEvent().cancel();
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Global Hunt cancelled by admin").formatted(Formatting.YELLOW)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            
-                            // Notify all players
-                            Text announcement = Text.literal("The Global Hunt has been cancelled by an administrator.").formatted(Formatting.YELLOW);
-                            context.server().getPlayerManager().broadcast(announcement, false);
-                        } else {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("No active Global Hunt to cancel").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
-                    }
-                    case TOGGLE_GLOBAL_HUNT_SYSTEM -> {
-                        ConfigServer config = ConfigManager.getServerConfig();
-                        config.global_hunt_system_enabled = !config.global_hunt_system_enabled;
-                        ConfigManager.saveServerConfigToFile();
-                        List<Text> lines = new ArrayList<>(List.of(Text.literal("Global Hunt system ").append(config.global_hunt_system_enabled ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        
-                        // Sync with all players
-                        com.zehro_mc.pokenotifier.data.ConfigSyncHandler.syncConfigurationChange(context.server(), com.zehro_mc.pokenotifier.data.ConfigSyncHandler.ConfigType.ADMIN_STATUS);
-                    }
-                    case GLOBAL_HUNT_STATUS -> {
-                        List<Text> lines = new ArrayList<>();
-                        lines.add(Text.literal("--- Global Hunt Status ---").formatted(Formatting.GOLD));
-                        lines.add(Text.literal("System: ").append(GlobalHuntManager.getInstance().getConfig().isEnabled() ? Text.literal("Enabled").formatted(Formatting.GREEN) : Text.literal("Disabled").formatted(Formatting.RED)));
-                        
-                        if (GlobalHuntManager.getInstance().hasActiveEvent()) {
-                            var event = GlobalHuntManager.getInstance().getCurrentEvent();
-                            lines.add(Text.literal("Active Event: ").append(Text.literal((event.isShiny() ? "Shiny " : "") + event.getPokemonName()).formatted(Formatting.GOLD)));
-                            lines.add(Text.literal("Location: ").append(MessageUtils.createLocationText("Global Hunt " + event.getPokemonName(), event.getCoordinates(), MessageUtils.Colors.GLOBAL_HUNT)));
-                            lines.add(Text.literal("World: ").append(Text.literal(event.getWorld().getRegistryKey().getValue().toString()).formatted(Formatting.AQUA)));
-                        } else {
-                            lines.add(Text.literal("Active Event: None").formatted(Formatting.GRAY));
-                        }
-                        
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                    case AUTOCOMPLETE_PLAYER -> {
-                        String playerName = payload.parameter().trim();
-                        ServerPlayerEntity targetPlayer = context.server().getPlayerManager().getPlayer(playerName);
-                        if (targetPlayer == null) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Player " + playerName + " is not online.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            return;
-                        }
-                        
-                        PlayerCatchProgress progress = ConfigManager.getPlayerCatchProgress(targetPlayer.getUuid());
-                        if (progress.active_generations.isEmpty()) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Player " + playerName + " does not have Catch 'em All mode active.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            return;
-                        }
-                        
-                        String genName = progress.active_generations.iterator().next();
-                        GenerationData genData = ConfigManager.getGenerationData(genName);
-                        if (genData == null) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Internal error: Could not find data for generation '" + genName + "'.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            return;
-                        }
-                        
-                        // Create backup
-                        File progressFile = new File(ConfigManager.CATCH_PROGRESS_DIR, targetPlayer.getUuid().toString() + ".json");
-                        File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, targetPlayer.getUuid().toString() + ".json.bak");
-                        try {
-                            if (progressFile.exists() && !backupFile.exists()) {
-                                Files.copy(progressFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                            }
-                        } catch (IOException e) {
-                            LOGGER.error("Failed to create backup for " + playerName, e);
-                        }
-                        
-                        String missingPokemon = autocompleteGenerationForPlayer(targetPlayer, genName, genData);
-                        List<Text> response = new ArrayList<>();
-                        response.add(Text.literal("Autocompleted " + formatGenName(genName) + " for player " + targetPlayer.getName().getString()).formatted(Formatting.GREEN));
-                        response.add(Text.literal("To complete the list, capture: ").append(Text.literal(missingPokemon).formatted(Formatting.GOLD)).formatted(Formatting.AQUA));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(response));
-                    }
-                    case ROLLBACK_PLAYER -> {
-                        String playerName = payload.parameter().trim();
-                        ServerPlayerEntity targetPlayer = context.server().getPlayerManager().getPlayer(playerName);
-                        if (targetPlayer == null) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Player " + playerName + " is not online.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            return;
-                        }
-                        
-                        boolean success = rollbackPlayerProgress(targetPlayer);
-                        if (success) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Successfully rolled back progress for " + playerName).formatted(Formatting.GREEN)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        } else {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("No backup file found for " + playerName + ".").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
-                    }
-                    case SPAWN_POKEMON -> {
-                        String[] parts = payload.parameter().trim().split(" ");
-                        String pokemonName = parts[0];
-                        boolean isShiny = parts.length > 1 && "shiny".equals(parts[1]);
-                        
-                        if (!ConfigManager.getServerConfig().enable_test_mode) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Test Mode is disabled. Enable it in Server Control.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            return;
-                        }
-                        
-                        // Execute test spawn logic inline since method is not static
-                        ServerWorld world = player.getServerWorld();
-                        
-                        // Strict validation: the name must exist in Cobblemon's official list.
-                        if (PokeNotifierApi.getAllPokemonNames().noneMatch(name -> name.equals(pokemonName.toLowerCase()))) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Error: Pokémon '" + pokemonName + "' is not a valid Pokémon name.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                            return;
-                        }
-                        
-                        try {
-                            PokemonProperties props = PokemonProperties.Companion.parse(pokemonName.toLowerCase());
-                            if (isShiny) {
-                                props.setShiny(true);
-                            }
-                            
-                            PokemonEntity pokemonEntity = props.createEntity(world);
-                            pokemonEntity.refreshPositionAndAngles(player.getX(), player.getY(), player.getZ(), player.getYaw(), player.getPitch());
-                            
-                            // Add a custom NBT tag to identify this as a test spawn.
-                            pokemonEntity.getPokemon().getPersistentData().putBoolean("pokenotifier_test_spawn", true);
-                            
-                            world.spawnEntity(pokemonEntity);
-                            
-                            // Manually trigger our own notification event, as world.spawnEntity does not.
-                            RarePokemonNotifier.onPokemonSpawn(pokemonEntity);
-                            
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Spawned a " + (isShiny ? "Shiny " : "") + pokemonName + ".").formatted(Formatting.GREEN)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        } catch (Exception e) {
-                            List<Text> lines = new ArrayList<>(List.of(Text.literal("Error: Pokémon '" + pokemonName + "' not found.").formatted(Formatting.RED)));
-                            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                        }
-                    }
-                    case HELP -> {
-                        List<Text> lines = new ArrayList<>();
-                        lines.add(Text.literal("--- Poke Notifier Admin Help ---").formatted(Formatting.GOLD));
-                        lines.add(Text.literal("Use the GUI to manage all mod settings.").formatted(Formatting.WHITE));
-                        lines.add(Text.literal("Server Control: Toggle debug/test modes, reload configs").formatted(Formatting.AQUA));
-                        lines.add(Text.literal("Event Management: Control bounty system and swarms").formatted(Formatting.AQUA));
-                        lines.add(Text.literal("Player Data: Manage player progress and backups").formatted(Formatting.AQUA));
-                        lines.add(Text.literal("Testing: Spawn Pokémon for testing purposes").formatted(Formatting.AQUA));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                    case VERSION -> {
-                        String modVersion = FabricLoader.getInstance()
-                                .getModContainer(MOD_ID)
-                                .map(ModContainer::getMetadata)
-                                .map(meta -> meta.getVersion().getFriendlyString())
-                                .orElse("Unknown");
-                        List<Text> lines = new ArrayList<>(List.of(Text.literal("Poke Notifier ver. " + modVersion).formatted(Formatting.AQUA)));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                    case STATUS -> {
-                        ConfigServer config = ConfigManager.getServerConfig();
-                        List<Text> lines = new ArrayList<>();
-                        lines.add(Text.literal("--- Poke Notifier Server Status ---").formatted(Formatting.GOLD));
-                        lines.add(createServerStatusLine("Debug Mode", config.debug_mode_enabled));
-                        lines.add(createServerStatusLine("Bounty System", config.bounty_system_enabled));
-                        lines.add(createServerStatusLine("Test Mode", config.enable_test_mode));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                }
-            });
-        });
+        ServerPlayNetworking.registerGlobalReceiver(AdminCommandPayload.ID, (payload, context) ->
+                context.server().execute(() -> AdminCommandProcessor.processCommand(context.player(), payload, context.server())));
 
         // Handle "Catch 'em All" mode updates from the client.
         ServerPlayNetworking.registerGlobalReceiver(CatchemallUpdatePayload.ID, (payload, context) -> {
             ServerPlayerEntity player = context.player();
             String genName = payload.generationName().toLowerCase().trim();
 
-            context.server().execute(() -> {
+            context.server().execute(() -> ConfigManager.whenPlayerDataReady(player.getUuid(), () -> {
                 var progress = ConfigManager.getPlayerCatchProgress(player.getUuid());
 
                 switch (payload.action()) {
@@ -1146,7 +812,7 @@ public class PokeNotifier implements ModInitializer {
                         ServerPlayNetworking.send(player, new GuiResponsePayload(catchemallLines));
                         break;
                 }
-            });
+            }));
         });
 
         // --- FIX: Handle update source selection via packet ---
@@ -1230,29 +896,6 @@ public class PokeNotifier implements ModInitializer {
         ServerPlayNetworking.send(player, new EventConfigSyncPayload("rival", rivalConfigs));
     }
 
-    /**
-     * Generates and sends the player's custom hunt list to them.
-     * @param player The player to send the list to.
-     */
-    private static void sendCustomHuntList(ServerPlayerEntity player) {
-        CustomListConfig playerConfig = ConfigManager.getPlayerConfig(player.getUuid());
-        if (playerConfig.tracked_pokemon.isEmpty()) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Your custom tracking list is empty.").formatted(Formatting.YELLOW)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-        } else {
-            List<Text> lines = new ArrayList<>();
-            lines.add(Text.literal("Your custom tracking list:").formatted(Formatting.YELLOW));
-            playerConfig.tracked_pokemon.stream().sorted().forEach(name -> {
-                Text pokemonText = Text.literal("• " + name + " [X]").formatted(Formatting.GOLD)
-                        .styled(style -> style.withClickEvent(new net.minecraft.text.ClickEvent(
-                                net.minecraft.text.ClickEvent.Action.SUGGEST_COMMAND, 
-                                "remove:" + name)));
-                lines.add(pokemonText);
-            });
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-        }
-    }
-
     private static MutableText createServerStatusLine(String label, boolean isEnabled) {
         MutableText message = Text.literal(label + " = ").formatted(Formatting.WHITE);
         if (isEnabled) {
@@ -1349,67 +992,25 @@ public class PokeNotifier implements ModInitializer {
 
         progress.initialPcSyncCompleted = true;
         ConfigManager.savePlayerCatchProgress(player.getUuid(), progress);
+        PlayerListSync.invalidateAllCaught(player);
 
         player.sendMessage(Text.literal("[Poke Notifier] Your Pokédex has been synchronized with the 'Catch 'em All' mode!").formatted(Formatting.GREEN), false);
         LOGGER.info("Initial PC sync completed for player: " + player.getName().getString());
     }
 
-    private static String autocompleteGenerationForPlayer(ServerPlayerEntity player, String genName, GenerationData genData) {
-        PlayerCatchProgress progress = ConfigManager.getPlayerCatchProgress(player.getUuid());
-
-        // --- FIX: Correctly identify the missing Pokémon ---
-        Set<String> allPokemonForGen = new HashSet<>(genData.pokemon);
-        if (allPokemonForGen.isEmpty()) {
-            return "none";
-        }
-
-        // Find the difference between all Pokémon and the ones the player has caught.
-        allPokemonForGen.removeAll(progress.caught_pokemon.getOrDefault(genName, new HashSet<>()));
-
-        // The remaining Pokémon is the one to leave out.
-        String lastPokemon = allPokemonForGen.stream().findFirst().orElse("mew"); // Fallback
-
-        Set<String> completedList = new HashSet<>(genData.pokemon);
-        completedList.remove(lastPokemon);
-        progress.caught_pokemon.put(genName, completedList);
-        ConfigManager.savePlayerCatchProgress(player.getUuid(), progress);
-
-        player.sendMessage(Text.literal("An administrator has autocompleted your " + formatGenName(genName) + " progress for testing purposes.").formatted(Formatting.YELLOW), false);
-        PokeNotifierServerUtils.sendCatchProgressUpdate(player);
-        return lastPokemon;
-    }
-
-    private static boolean rollbackPlayerProgress(ServerPlayerEntity player) {
-        File progressFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json");
-        File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json.bak");
-
-        if (!backupFile.exists()) {
-            return false;
-        }
-
-        try {
-            Files.move(backupFile.toPath(), progressFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            // Clear the player's progress from the cache. The next time their data is needed,
-            // it will be re-read from the restored file and migrated correctly.
-            ConfigManager.forceReloadPlayerCatchProgress(player.getUuid());
-            PlayerRankManager.updateAndSyncRank(player);
-
-            // --- FIX: Force a progress update to the client to refresh the HUD immediately ---
-            PokeNotifierServerUtils.sendCatchProgressUpdate(player);
-
-            player.getInventory().remove(stack -> stack.getItem() instanceof com.zehro_mc.pokenotifier.item.PokedexTrophyItem, -1, player.getInventory());
-            player.sendMessage(Text.literal("Your Pokédex Trophies have been removed as part of the rollback.").formatted(Formatting.YELLOW), false);
-
-            player.sendMessage(Text.literal("Your 'Catch 'em All' progress has been restored by an administrator.").formatted(Formatting.GREEN), false);
-            return true;
-        } catch (IOException e) {
-            LOGGER.error("Failed to rollback progress for player " + player.getName().getString(), e);
-            return false;
-        }
+    /**
+     * Runs a task on the server thread at the end of the next tick. Safe to call from any thread.
+     */
+    public static void scheduleTask(Runnable task) {
+        ServerTaskQueue.submit(task);
     }
 
-    public static void scheduleTask(Runnable task) {
-        PENDING_TASKS.add(task);
+    /**
+     * @return Whether the caller is running on the server thread of the running server.
+     */
+    public static boolean isServerThread() {
+        MinecraftServer current = server;
+        return current != null && current.isOnThread();
     }
 
     // --- Bounty System Logic ---
@@ -1503,10 +1104,9 @@ public class PokeNotifier implements ModInitializer {
         // --- MEJORA: Usamos ModeStatusPayload para el toast y el sonido de campana ---
         ModeStatusPayload payload = new ModeStatusPayload("New Bounty!", true);
         server.getPlayerManager().broadcast(message, false);
-        server.getPlayerManager().getPlayerList().forEach(player -> {
-            player.playSoundToPlayer(SoundEvents.BLOCK_BELL_USE, SoundCategory.NEUTRAL, 1.0F, 1.2F);
-            ServerPlayNetworking.send(player, payload);
-        });
+        server.getPlayerManager().getPlayerList().forEach(player ->
+                player.playSoundToPlayer(SoundEvents.BLOCK_BELL_USE, SoundCategory.NEUTRAL, 1.0F, 1.2F));
+        PayloadBroadcaster.broadcast(server, payload);
 
         LOGGER.info("[Bounty System] New bounty started for: {}", newBounty);
     }
@@ -1516,6 +1116,7 @@ public class PokeNotifier implements ModInitializer {
     private static int executeReload(CommandContext<ServerCommandSource> context) {
         try {
             ConfigManager.loadConfig();
+            SwarmConfig.reload();
             List<Text> lines = new ArrayList<>(List.of(Text.literal("Poke Notifier configurations reloaded successfully.").formatted(Formatting.GREEN)));
             ServerPlayerEntity player = context.getSource().getPlayer();
             if (player != null) ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
@@ -1585,53 +1186,6 @@ public class PokeNotifier implements ModInitializer {
         // This method is no longer used as SwarmEventManager handles swarm logic
     }
 
-    private static BlockPos generateRandomCoordinates(ServerWorld world) {
-        Random random = new Random();
-        int maxDistance = 1000; // For automatic events
-        
-        for (int attempts = 0; attempts < 20; attempts++) {
-            int x = random.nextInt(maxDistance * 2) - maxDistance;
-            int z = random.nextInt(maxDistance * 2) - maxDistance;
-            int y = world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z);
-            
-            BlockPos pos = new BlockPos(x, y, z);
-            
-            if (y >= world.getBottomY() + 10 && y <= world.getTopY() - 10) {
-                return pos;
-            }
-        }
-        
-        // Fallback: spawn near world spawn
-        BlockPos spawn = world.getSpawnPos();
-        int x = spawn.getX() + random.nextInt(200) - 100;
-        int z = spawn.getZ() + random.nextInt(200) - 100;
-        int y = world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z);
-        return new BlockPos(x, y, z);
-    }
-    
-    private static BlockPos generateRandomCoordinatesNearPlayer(ServerWorld world, ServerPlayerEntity player) {
-        Random random = new Random();
-        int maxDistance = 500; // Closer for manual events
-        
-        for (int attempts = 0; attempts < 15; attempts++) {
-            int x = (int) player.getX() + random.nextInt(maxDistance * 2) - maxDistance;
-            int z = (int) player.getZ() + random.nextInt(maxDistance * 2) - maxDistance;
-            int y = world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z);
-            
-            BlockPos pos = new BlockPos(x, y, z);
-            
-            if (y >= world.getBottomY() + 10 && y <= world.getTopY() - 10) {
-                return pos;
-            }
-        }
-        
-        // Fallback: spawn near player
-        int x = (int) player.getX() + random.nextInt(200) - 100;
-        int z = (int) player.getZ() + random.nextInt(200) - 100;
-        int y = world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z);
-        return new BlockPos(x, y, z);
-    }
-
     private static void startRandomSwarm(MinecraftServer server, String forcedPokemonName) {
         String pokemonName;
         if (forcedPokemonName != null) {
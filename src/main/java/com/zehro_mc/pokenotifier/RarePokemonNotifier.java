@@ -8,30 +8,29 @@
 
 package com.zehro_mc.pokenotifier;
 
-import com.cobblemon.mod.common.Cobblemon;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.cobblemon.mod.common.api.Priority;
 import com.cobblemon.mod.common.api.events.CobblemonEvents;
-import com.cobblemon.mod.common.api.storage.PokemonStore;
 import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.zehro_mc.pokenotifier.model.GenerationData;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
 import com.zehro_mc.pokenotifier.networking.WaypointPayload;
+import com.zehro_mc.pokenotifier.util.NotificationBatcher;
+import com.zehro_mc.pokenotifier.util.OwnedSpeciesIndex;
+import com.zehro_mc.pokenotifier.util.PlayerSpatialIndex;
 import com.zehro_mc.pokenotifier.util.RarityUtil;
+import com.zehro_mc.pokenotifier.util.TrackedPokemonManager;
 import kotlin.Unit;
-import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
-import net.minecraft.world.biome.BiomeKeys;
 
-import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -65,18 +64,18 @@ public class RarePokemonNotifier {
         }
 
         BlockPos pokemonPos = pokemonEntity.getBlockPos();
-        if (pokemonEntity.getServer() == null) return;
+        if (pokemonEntity.getServer() == null || !(pokemonEntity.getWorld() instanceof ServerWorld world)) return;
 
-        for (ServerPlayerEntity player : pokemonEntity.getServer().getPlayerManager().getPlayerList()) {
+        // Only players whose notification radius reaches the spawn are considered.
+        double notificationDistance = ConfigManager.getClientConfig().notification_distance;
+        RarityUtil.RarityCategory globalRarity = RarityUtil.getGlobalRarity(pokemon);
+        for (ServerPlayerEntity player : PlayerSpatialIndex.getPlayersInRange(world, pokemonPos, notificationDistance)) {
             // Priority 1: Check against standard rarity lists and the player's custom list.
-            RarityUtil.RarityCategory rarity = RarityUtil.getRarity(pokemon, player);
+            RarityUtil.RarityCategory rarity = RarityUtil.getRarity(pokemon, player, globalRarity);
 
             // If the Pokémon has a notifiable rarity, notify and move to the next player.
             if (rarity != RarityUtil.RarityCategory.COMMON) {
-                double distance = player.getPos().distanceTo(pokemonPos.toCenterPos());
-                if (distance <= ConfigManager.getClientConfig().notification_distance) {
-                    sendNotification(player, pokemonEntity, rarity);
-                }
+                sendNotification(player, pokemonEntity, rarity);
                 continue; // Avoid duplicate notifications (e.g., Rare and Hunt).
             }
 
@@ -106,8 +105,7 @@ public class RarePokemonNotifier {
         BlockPos pokemonPos = pokemonEntity.getBlockPos();
         double distance = player.getPos().distanceTo(pokemonPos.toCenterPos());
 
-        if (!PokeNotifier.TRACKED_POKEMON.containsKey(pokemonEntity)) {
-            PokeNotifier.TRACKED_POKEMON.put(pokemonEntity, rarity);
+        if (TrackedPokemonManager.track(pokemonEntity, rarity, player)) {
             if (ConfigManager.getServerConfig().debug_mode_enabled) {
                 PokeNotifier.LOGGER.info("Started tracking Pokémon: " + pokemon.getSpecies().getName());
             }
@@ -115,33 +113,25 @@ public class RarePokemonNotifier {
             pokemonEntity.addStatusEffect(new StatusEffectInstance(StatusEffects.GLOWING, glowingTicks, 0, false, false));
         }
 
-        String status = hasCaughtSpecies(player, pokemon) ? "CAUGHT" : "NEW";
-        RegistryEntry<Biome> biomeRegistryEntry = player.getWorld().getBiome(pokemonPos);
-        Identifier biomeId = biomeRegistryEntry.getKey().map(key -> key.getValue()).orElse(BiomeKeys.PLAINS.getValue());
-
-        String spriteName = pokemon.getForm().getSpecies().getResourceIdentifier().getPath();
+        WaypointPayload.Status status = hasCaughtSpecies(player, pokemon) ? WaypointPayload.Status.CAUGHT : WaypointPayload.Status.NEW;
+        RegistryEntry<Biome> biome = player.getWorld().getBiome(pokemonPos);
 
-        // If the Pokémon is shiny, adjust the sprite path to the /shiny/ subfolder.
-        String spritePath = "textures/pokemon/";
-        if (pokemon.getShiny()) {
-            spritePath += "shiny/";
-            spriteName += "shiny";
-        }
-        Identifier spriteIdentifier = Identifier.of(PokeNotifier.MOD_ID, spritePath + spriteName + ".png");
+        // Only the species path is sent; the client builds the sprite identifier from it.
+        String species = pokemon.getForm().getSpecies().getResourceIdentifier().getPath();
 
         WaypointPayload payload = new WaypointPayload(
-                pokemon.getUuid().toString(),
+                pokemon.getUuid(),
                 pokemon.getDisplayName(true).getString(),
                 pokemonPos,
-                rarity.getWaypointColor(),
                 status,
-                rarity.name(),
-                "Lvl " + pokemon.getLevel(),
-                distance,
-                biomeId,
-                spriteIdentifier
+                rarity,
+                pokemon.getLevel(),
+                (float) distance,
+                biome,
+                species,
+                pokemon.getShiny()
         );
-        ServerPlayNetworking.send(player, payload);
+        NotificationBatcher.queue(player, payload);
 
         if (ConfigManager.getServerConfig().debug_mode_enabled) {
             PokeNotifier.LOGGER.info("Notified " + player.getName().getString() + " about a " + rarity.name() + " " + pokemon.getSpecies().getName() + " at " + pokemonPos);
@@ -149,22 +139,7 @@ public class RarePokemonNotifier {
     }
 
     private static boolean hasCaughtSpecies(ServerPlayerEntity player, Pokemon pokemonToFind) {
-        // Check player's party
-        PokemonStore party = Cobblemon.INSTANCE.getStorage().getParty(player);
-        Iterator<Pokemon> partyIterator = party.iterator();
-        while (partyIterator.hasNext()) {
-            Pokemon p = partyIterator.next();
-            if (p != null && p.getSpecies() == pokemonToFind.getSpecies()) return true;
-        }
-
-        // Check PC
-        PokemonStore pc = Cobblemon.INSTANCE.getStorage().getPC(player);
-        Iterator<Pokemon> pcIterator = pc.iterator();
-        while (pcIterator.hasNext()) {
-            Pokemon p = pcIterator.next();
-            if (p != null && p.getSpecies() == pokemonToFind.getSpecies()) return true;
-        }
-
-        return false;
+        // Party and PC contents are indexed per player, so this is a single bit test.
+        return OwnedSpeciesIndex.hasSpecies(player, pokemonToFind.getSpecies());
     }
-}
+}
\ No newline at end of file
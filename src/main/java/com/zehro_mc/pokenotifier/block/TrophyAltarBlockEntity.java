@@ -31,6 +31,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import java.util.*;
 import com.zehro_mc.pokenotifier.PokeNotifier;
+import com.zehro_mc.pokenotifier.util.TickProfiler;
 
 public class TrophyAltarBlockEntity extends BlockEntity {
     private final DefaultedList<ItemStack> inventory = DefaultedList.ofSize(1, ItemStack.EMPTY);
@@ -643,7 +644,15 @@ public class TrophyAltarBlockEntity extends BlockEntity {
     
     public static void tick(World world, BlockPos pos, BlockState state, TrophyAltarBlockEntity blockEntity) {
         if (world.isClient) return;
-        
+        long start = System.nanoTime();
+        try {
+            tickServer(world, pos, state, blockEntity);
+        } finally {
+            TickProfiler.record(TickProfiler.Section.TROPHY_ALTAR, start);
+        }
+    }
+
+    private static void tickServer(World world, BlockPos pos, BlockState state, TrophyAltarBlockEntity blockEntity) {
         blockEntity.previewTimer++;
         
         // Manejar secuencia de invocación
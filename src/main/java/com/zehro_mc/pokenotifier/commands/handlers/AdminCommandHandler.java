@@ -9,7 +9,16 @@
 package com.zehro_mc.pokenotifier.commands.handlers;
 
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.zehro_mc.pokenotifier.networking.PayloadTrafficStats;
+import com.zehro_mc.pokenotifier.util.ServerTaskQueue;
+import com.zehro_mc.pokenotifier.util.TickProfiler;
+import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.io.File;
+import java.util.List;
 
 /**
  * Handles admin-only commands (OP level 2+ required).
@@ -24,5 +33,84 @@ public class AdminCommandHandler {
     public static void registerAdminCommands(LiteralArgumentBuilder<ServerCommandSource> mainNode) {
         // TODO: Move admin commands from PokeNotifier.java here
         // This will be implemented in the next step
+
+        // Network traffic stats - usable from the console as well
+        var netStatsCommand = CommandManager.literal("netstats")
+                .requires(source -> source.hasPermissionLevel(2))
+                .executes(context -> showNetworkStats(context.getSource()))
+                .then(CommandManager.literal("reset").executes(context -> {
+                    PayloadTrafficStats.reset();
+                    context.getSource().sendFeedback(() -> Text.literal("Network traffic counters reset.").formatted(Formatting.GREEN), true);
+                    return 1;
+                }))
+                .then(CommandManager.literal("dump").executes(context -> {
+                    File file = PayloadTrafficStats.dumpJson();
+                    if (file == null) {
+                        context.getSource().sendError(Text.literal("Failed to save network traffic stats. Check server logs."));
+                        return 0;
+                    }
+                    context.getSource().sendFeedback(() -> Text.literal("Network traffic saved to stats/" + file.getName()).formatted(Formatting.GREEN), false);
+                    return 1;
+                }));
+
+        // Tick timings - usable from the console as well
+        var tickTimesCommand = CommandManager.literal("ticktimes")
+                .requires(source -> source.hasPermissionLevel(2))
+                .executes(context -> showTickTimes(context.getSource(), TickProfiler.Window.ONE_MINUTE))
+                .then(CommandManager.literal("reset").executes(context -> {
+                    TickProfiler.reset();
+                    ServerTaskQueue.resetCounters();
+                    context.getSource().sendFeedback(() -> Text.literal("Tick timings reset.").formatted(Formatting.GREEN), true);
+                    return 1;
+                }));
+        for (TickProfiler.Window window : TickProfiler.Window.values()) {
+            tickTimesCommand.then(CommandManager.literal(window.getId()).executes(context -> showTickTimes(context.getSource(), window)));
+        }
+
+        mainNode.then(netStatsCommand);
+        mainNode.then(tickTimesCommand);
+    }
+
+    private static int showTickTimes(ServerCommandSource source, TickProfiler.Window window) {
+        source.sendFeedback(() -> Text.literal("--- Tick Timings (last " + window.getId() + ") p50 / p99 / max ---").formatted(Formatting.GOLD), false);
+        for (TickProfiler.SectionTimings timings : TickProfiler.getTimings(window)) {
+            if (timings.ticks() == 0) continue;
+            Formatting color = timings.p99Nanos() * 100 >= TickProfiler.TICK_NANOS * 5 ? Formatting.RED : Formatting.WHITE;
+            source.sendFeedback(() -> Text.literal(timings.section().getId()).formatted(Formatting.AQUA)
+                    .append(Text.literal(": " + timings.p50Nanos() / 1000 + " / " + timings.p99Nanos() / 1000 + " / "
+                            + timings.maxNanos() / 1000 + " µs").formatted(color)), false);
+        }
+        source.sendFeedback(() -> Text.literal("Task queue: " + ServerTaskQueue.getDepth() + " waiting, " + ServerTaskQueue.getExecutedCount()
+                + " run, " + String.format("%.2f", ServerTaskQueue.getAverageLatencyMillis()) + " ms avg wait, "
+                + ServerTaskQueue.getSpilledTicks() + " ticks over budget").formatted(Formatting.GRAY), false);
+        return 1;
+    }
+
+    private static int showNetworkStats(ServerCommandSource source) {
+        long minutes = (System.currentTimeMillis() - PayloadTrafficStats.getCountingSince()) / 60_000L;
+        source.sendFeedback(() -> Text.literal("--- Network Traffic (last " + minutes + " min) ---").formatted(Formatting.GOLD), false);
+
+        List<PayloadTrafficStats.PayloadTotals> payloads = PayloadTrafficStats.getPayloadTotals();
+        if (payloads.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("No Poke Notifier packets counted yet.").formatted(Formatting.GRAY), false);
+            return 1;
+        }
+        for (PayloadTrafficStats.PayloadTotals totals : payloads) {
+            long averageMicros = totals.packetsSent() > 0 ? totals.encodeNanos() / totals.packetsSent() / 1000 : 0;
+            source.sendFeedback(() -> Text.literal(totals.id().getPath()).formatted(Formatting.AQUA)
+                    .append(Text.literal(": " + totals.packetsSent() + " out (" + PayloadTrafficStats.formatBytes(totals.bytesSent()) + "), "
+                            + totals.packetsReceived() + " in (" + PayloadTrafficStats.formatBytes(totals.bytesReceived()) + "), "
+                            + averageMicros + " µs/encode").formatted(Formatting.WHITE)), false);
+        }
+
+        List<PayloadTrafficStats.PlayerTotals> players = PayloadTrafficStats.getTopPlayers(5);
+        if (!players.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("--- Top Receivers ---").formatted(Formatting.GOLD), false);
+            for (PayloadTrafficStats.PlayerTotals totals : players) {
+                source.sendFeedback(() -> Text.literal(totals.name()).formatted(Formatting.AQUA)
+                        .append(Text.literal(": " + totals.packets() + " packets, ~" + PayloadTrafficStats.formatBytes(totals.estimatedBytes())).formatted(Formatting.WHITE)), false);
+            }
+        }
+        return 1;
     }
-}
\ No newline at end of file
+}
@@ -12,12 +12,15 @@ import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.ConfigServer;
 import com.zehro_mc.pokenotifier.globalhunt.GlobalHuntManager;
+import com.zehro_mc.pokenotifier.model.CustomListConfig;
 import com.zehro_mc.pokenotifier.networking.AdminStatusPayload;
 import com.zehro_mc.pokenotifier.networking.OpenGuiPayload;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,5 +75,28 @@ public class UserCommandHandler {
                 });
         
         mainNode.then(guiCommand);
+
+        // Capture feed - opt in to hear about every rare capture, not just the ones you were notified about
+        var captureFeedCommand = CommandManager.literal("capturefeed")
+                .requires(source -> source.hasPermissionLevel(0))
+                .then(CommandManager.literal("enable").executes(context -> setCaptureFeed(context.getSource(), true)))
+                .then(CommandManager.literal("disable").executes(context -> setCaptureFeed(context.getSource(), false)));
+
+        mainNode.then(captureFeedCommand);
+    }
+
+    private static int setCaptureFeed(ServerCommandSource source, boolean enabled) {
+        ServerPlayerEntity player = source.getPlayer();
+        if (player == null) return 0;
+
+        ConfigManager.whenPlayerDataReady(player.getUuid(), () -> {
+            CustomListConfig playerConfig = ConfigManager.getPlayerConfig(player.getUuid());
+            playerConfig.capture_feed_enabled = enabled;
+            ConfigManager.savePlayerConfig(player.getUuid(), playerConfig);
+            source.sendFeedback(() -> enabled
+                    ? Text.literal("Rare capture feed enabled. You will hear about every rare capture on the server.").formatted(Formatting.GREEN)
+                    : Text.literal("Rare capture feed disabled. You will only hear about Pokémon you were notified about.").formatted(Formatting.RED), false);
+        });
+        return 1;
     }
 }
\ No newline at end of file
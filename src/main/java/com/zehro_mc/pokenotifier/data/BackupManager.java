@@ -19,6 +19,7 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
 
 /**
  * Manages backup operations for player data and configurations.
@@ -28,62 +29,30 @@ public class BackupManager {
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
     
     /**
-     * Creates a backup of a player's progress file.
+     * Creates a backup of a player's progress, replacing any previous backup.
      * @param player The target player
      * @return true if backup was created successfully
      */
     public static boolean createPlayerProgressBackup(ServerPlayerEntity player) {
-        return createPlayerProgressBackup(player, false);
-    }
-    
-    /**
-     * Creates a backup of a player's progress file with optional timestamping.
-     * @param player The target player
-     * @param timestamped Whether to include timestamp in backup filename
-     * @return true if backup was created successfully
-     */
-    public static boolean createPlayerProgressBackup(ServerPlayerEntity player, boolean timestamped) {
-        File progressFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json");
-        
-        String backupSuffix = timestamped ? 
-            ".bak." + LocalDateTime.now().format(TIMESTAMP_FORMAT) : 
-            ".bak";
-        File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json" + backupSuffix);
-        
-        try {
-            if (progressFile.exists()) {
-                Files.copy(progressFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                LOGGER.info("Backup created for player {}: {}", player.getName().getString(), backupFile.getName());
-                return true;
-            }
-        } catch (IOException e) {
-            LOGGER.error("Failed to create backup for player " + player.getName().getString(), e);
+        if (ConfigManager.backupPlayerCatchProgress(player.getUuid(), true)) {
+            LOGGER.info("Backup created for player {}", player.getName().getString());
+            return true;
         }
         return false;
     }
     
     /**
-     * Restores a player's progress from their backup file.
+     * Restores a player's progress from their backup.
      * @param player The target player
      * @return true if restore was successful
      */
     public static boolean restorePlayerProgressFromBackup(ServerPlayerEntity player) {
-        File progressFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json");
-        File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json.bak");
-        
-        if (!backupFile.exists()) {
-            LOGGER.warn("No backup file found for player: " + player.getName().getString());
-            return false;
-        }
-        
-        try {
-            Files.move(backupFile.toPath(), progressFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            LOGGER.info("Progress restored from backup for player: " + player.getName().getString());
-            return true;
-        } catch (IOException e) {
-            LOGGER.error("Failed to restore progress from backup for player " + player.getName().getString(), e);
+        if (!ConfigManager.restorePlayerCatchProgressBackup(player.getUuid())) {
+            LOGGER.warn("No backup found for player: " + player.getName().getString());
             return false;
         }
+        LOGGER.info("Progress restored from backup for player: " + player.getName().getString());
+        return true;
     }
     
     /**
@@ -92,8 +61,7 @@ public class BackupManager {
      * @return true if backup exists
      */
     public static boolean hasBackup(ServerPlayerEntity player) {
-        File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json.bak");
-        return backupFile.exists();
+        return ConfigManager.hasPlayerCatchProgressBackup(player.getUuid());
     }
     
     /**
@@ -107,7 +75,10 @@ public class BackupManager {
             File backupDir = new File("config/poke-notifier-backup-" + timestamp);
             
             if (configDir.exists()) {
-                copyDirectory(configDir, backupDir);
+                backupDir.mkdirs();
+                // player_data.dat is copied by the store itself, so the I/O thread can't append or compact mid-copy
+                Set<String> storeFiles = ConfigManager.getPlayerDataStore().snapshotTo(backupDir);
+                copyDirectory(configDir, backupDir, storeFiles);
                 LOGGER.info("Full configuration backup created: " + backupDir.getName());
                 return true;
             }
@@ -121,9 +92,10 @@ public class BackupManager {
      * Recursively copies a directory and its contents.
      * @param source Source directory
      * @param target Target directory
+     * @param skip Names of files directly inside {@code source} not to copy
      * @throws IOException If copy operation fails
      */
-    private static void copyDirectory(File source, File target) throws IOException {
+    private static void copyDirectory(File source, File target, Set<String> skip) throws IOException {
         if (!target.exists()) {
             target.mkdirs();
         }
@@ -131,29 +103,14 @@ public class BackupManager {
         File[] files = source.listFiles();
         if (files != null) {
             for (File file : files) {
+                if (skip.contains(file.getName())) continue;
                 File targetFile = new File(target, file.getName());
                 if (file.isDirectory()) {
-                    copyDirectory(file, targetFile);
+                    copyDirectory(file, targetFile, Set.of());
                 } else {
                     Files.copy(file.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 }
             }
         }
     }
-    
-    /**
-     * Cleans up old timestamped backups, keeping only the most recent ones.
-     * @param maxBackups Maximum number of backups to keep per player
-     */
-    public static void cleanupOldBackups(int maxBackups) {
-        File progressDir = ConfigManager.CATCH_PROGRESS_DIR;
-        if (!progressDir.exists()) return;
-        
-        File[] files = progressDir.listFiles((dir, name) -> name.endsWith(".json.bak."));
-        if (files == null) return;
-        
-        // Group by player UUID and clean up old backups
-        // Implementation would sort by timestamp and remove oldest files
-        LOGGER.info("Cleaned up old backup files, keeping {} most recent per player", maxBackups);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.zehro_mc.pokenotifier.model.GenerationData;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import com.zehro_mc.pokenotifier.util.DataSecurityUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Binary encoding for "Catch 'em All" progress.
+ * Caught Pokémon are stored as one bitset per generation over the indices of the
+ * {@code generations/genN.json} files, so a fully completed generation costs a few dozen bytes.
+ * The body is encrypted as raw bytes and prefixed with a small unencrypted header:
+ * <pre>
+ *   0x00, version:byte, AES(flags:byte, active gens, completed gens, caught gens)
+ *   caught gen: id, species count, order checksum, bitset words, names outside the bitset
+ * </pre>
+ * The species count and checksum describe the generation file order the bits were written against.
+ * If the current file no longer matches them, the bits are read against the order the store kept
+ * for that checksum (see {@link GenerationOrders}) rather than against the wrong names.
+ * {@link #decode} also reads version 1 records, which have no count or checksum, and the older text
+ * formats (a Base64 encrypted JSON string, with or without the {"data": "..."} wrapper, and plain
+ * unencrypted JSON), so existing records load transparently and are rewritten on their next save.
+ */
+public class CatchProgressCodec {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatchProgressCodec.class);
+    private static final Gson GSON = new Gson();
+
+    // Neither Base64 nor JSON text can start with a zero byte, which keeps the formats apart.
+    private static final byte BINARY_MARKER = 0x00;
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte FORMAT_VERSION_UNCHECKED_ORDER = 1;
+    // Far above any real generation; bounds the bitset a corrupted record can make us allocate.
+    private static final int MAX_GENERATION_SIZE = 4096;
+
+    private static final int FLAG_INITIAL_PC_SYNC = 1;
+
+    /**
+     * The generation orders caught bits were written against, kept by the store so a record stays
+     * readable after a generation file changes order.
+     */
+    interface GenerationOrders {
+        /**
+         * Keeps the first {@code speciesCount} names of {@code genData} under the given checksum, if not already kept.
+         */
+        void remember(String genId, int speciesCount, int checksum, GenerationData genData);
+
+        /**
+         * @return The names kept for this order, or null if it was never seen.
+         */
+        List<String> find(String genId, int speciesCount, int checksum);
+    }
+
+    /**
+     * @param generations Looks up the current generation files.
+     * @param orders Where the orders used are kept, or null to keep none.
+     * @return The encoded progress, or null if it could not be encrypted.
+     */
+    static byte[] encode(PlayerCatchProgress progress, Function<String, GenerationData> generations, GenerationOrders orders) {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(128);
+        encoded.write(BINARY_MARKER);
+        encoded.write(FORMAT_VERSION);
+        try (DataOutputStream out = new DataOutputStream(DataSecurityUtil.encryptingStream(encoded))) {
+            out.writeByte(progress.initialPcSyncCompleted ? FLAG_INITIAL_PC_SYNC : 0);
+            writeStrings(out, progress.active_generations);
+            writeStrings(out, progress.completed_generations);
+
+            writeVarInt(out, progress.caught_pokemon.size());
+            for (Map.Entry<String, Set<String>> entry : progress.caught_pokemon.entrySet()) {
+                out.writeUTF(entry.getKey());
+                GenerationData genData = generations.apply(entry.getKey());
+                int speciesCount = genData != null ? genData.size() : 0;
+                int checksum = orderChecksum(genData, speciesCount);
+                writeVarInt(out, speciesCount);
+                out.writeInt(checksum);
+                if (genData != null && orders != null) {
+                    orders.remember(entry.getKey(), speciesCount, checksum, genData);
+                }
+
+                BitSet caught = new BitSet();
+                List<String> unindexed = new ArrayList<>();
+                for (String species : entry.getValue()) {
+                    int index = genData != null ? genData.indexOf(species) : -1;
+                    if (index >= 0) {
+                        caught.set(index);
+                    } else {
+                        // Keep Pokémon that are not in the generation file so nothing is lost.
+                        unindexed.add(species);
+                    }
+                }
+                long[] words = caught.toLongArray();
+                writeVarInt(out, words.length);
+                for (long word : words) {
+                    out.writeLong(word);
+                }
+                writeStrings(out, unindexed);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to encrypt catch progress.", e);
+            return null;
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Decodes progress written by {@link #encode} or by any of the older formats.
+     * @param generations Looks up the current generation files.
+     * @param orders The orders kept by the store, or null if there are none.
+     * @return The progress, or null if it could not be decrypted or parsed.
+     */
+    static PlayerCatchProgress decode(byte[] payload, Function<String, GenerationData> generations, GenerationOrders orders) {
+        if (payload == null || payload.length == 0) return null;
+        if (payload[0] != BINARY_MARKER) {
+            return decodeLegacy(new String(payload, StandardCharsets.UTF_8).trim());
+        }
+        if (payload.length < 2 || payload[1] < FORMAT_VERSION_UNCHECKED_ORDER || payload[1] > FORMAT_VERSION) {
+            LOGGER.warn("Catch progress was written in an unknown format version. Ignoring.");
+            return null;
+        }
+        boolean checkedOrder = payload[1] >= FORMAT_VERSION;
+
+        try (DataInputStream in = new DataInputStream(DataSecurityUtil.decryptingStream(new ByteArrayInputStream(payload, 2, payload.length - 2)))) {
+            PlayerCatchProgress progress = new PlayerCatchProgress();
+            progress.initialPcSyncCompleted = (in.readByte() & FLAG_INITIAL_PC_SYNC) != 0;
+            readStrings(in, progress.active_generations);
+            readStrings(in, progress.completed_generations);
+
+            int genCount = readVarInt(in);
+            for (int g = 0; g < genCount; g++) {
+                String genId = in.readUTF();
+                GenerationData genData = generations.apply(genId);
+                IntFunction<String> order;
+                int speciesCount;
+                if (checkedOrder) {
+                    speciesCount = readVarInt(in);
+                    int checksum = in.readInt();
+                    if (speciesCount > MAX_GENERATION_SIZE) {
+                        throw new IOException("Generation " + genId + " claims " + speciesCount + " species");
+                    }
+                    order = resolveOrder(genId, speciesCount, checksum, genData, orders);
+                } else {
+                    // Version 1 records were always written against the current file order.
+                    speciesCount = genData != null ? genData.size() : MAX_GENERATION_SIZE;
+                    order = genData != null ? genData::speciesAt : null;
+                }
+
+                int wordCount = readVarInt(in);
+                if (wordCount > (speciesCount + 63) / 64) {
+                    throw new IOException("Generation " + genId + " has " + wordCount + " bitset words for " + speciesCount + " species");
+                }
+                long[] words = new long[wordCount];
+                for (int i = 0; i < words.length; i++) {
+                    words[i] = in.readLong();
+                }
+                Set<String> caught = new HashSet<>();
+                BitSet bits = BitSet.valueOf(words);
+                if (order == null && !bits.isEmpty()) {
+                    LOGGER.warn("The species order of {} changed since this progress was saved and the old order is unknown. {} caught Pokémon could not be restored.", genId, bits.cardinality());
+                }
+                for (int index = bits.nextSetBit(0); index >= 0 && order != null; index = bits.nextSetBit(index + 1)) {
+                    String species = order.apply(index);
+                    if (species != null) {
+                        caught.add(species);
+                    }
+                }
+                readStrings(in, caught);
+                progress.caught_pokemon.put(genId, caught);
+            }
+            return progress;
+        } catch (IOException e) {
+            // Tampered or truncated data fails the padding check while reading.
+            return null;
+        }
+    }
+
+    /**
+     * Finds the order a generation's bits were written against: the current file if its first
+     * {@code speciesCount} names still match (new species are only appended), otherwise the order the store kept.
+     */
+    private static IntFunction<String> resolveOrder(String genId, int speciesCount, int checksum, GenerationData genData, GenerationOrders orders) {
+        if (genData != null && genData.size() >= speciesCount && orderChecksum(genData, speciesCount) == checksum) {
+            return genData::speciesAt;
+        }
+        List<String> kept = orders != null ? orders.find(genId, speciesCount, checksum) : null;
+        if (kept == null) return null;
+        LOGGER.info("The species order of {} changed; reading saved progress against the previous order.", genId);
+        return index -> index < kept.size() ? kept.get(index) : null;
+    }
+
+    /**
+     * @return A CRC32 over the first {@code speciesCount} names of the generation, in file order.
+     */
+    static int orderChecksum(GenerationData genData, int speciesCount) {
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < speciesCount; i++) {
+            crc.update(genData.speciesAt(i).getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return (int) crc.getValue();
+    }
+
+    private static PlayerCatchProgress decodeLegacy(String text) {
+        try {
+            String json;
+            if (text.startsWith("{")) {
+                JsonObject object = JsonParser.parseString(text).getAsJsonObject();
+                JsonElement data = object.get("data");
+                if (data == null) {
+                    // Unencrypted progress from before encryption was introduced.
+                    return GSON.fromJson(object, PlayerCatchProgress.class);
+                }
+                json = DataSecurityUtil.decrypt(data.getAsString());
+            } else {
+                json = DataSecurityUtil.decrypt(text);
+            }
+            return json != null ? GSON.fromJson(json, PlayerCatchProgress.class) : null;
+        } catch (Exception e) {
+            LOGGER.error("Could not parse legacy catch progress.", e);
+            return null;
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, Collection<String> values) throws IOException {
+        writeVarInt(out, values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void readStrings(DataInputStream in, Collection<String> target) throws IOException {
+        int count = readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            target.add(in.readUTF());
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("VarInt is too long");
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Write-behind persistence for "Catch 'em All" progress.
+ * Saves only mark a player's progress as dirty; dirty entries are snapshotted on the server thread
+ * at a configurable interval and written to disk from a background I/O thread.
+ * Repeated captures between two flushes are coalesced into a single write.
+ */
+public class CatchProgressWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatchProgressWriter.class);
+
+    private static final Map<UUID, PlayerCatchProgress> DIRTY = new ConcurrentHashMap<>();
+    // Snapshots handed to the I/O thread that have not reached the store yet.
+    private static final Map<UUID, PlayerCatchProgress> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final ExecutorService IO_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Poke Notifier Progress I/O");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static int ticksSinceFlush = 0;
+
+    /**
+     * Marks a player's progress as needing to be written. Cheap enough to call from the capture hot path.
+     * @param playerUuid The player's UUID.
+     * @param progress The live progress object held in the cache.
+     */
+    public static void markDirty(UUID playerUuid, PlayerCatchProgress progress) {
+        DIRTY.put(playerUuid, progress);
+    }
+
+    /**
+     * Advances the flush timer. Must be called once per server tick from the server thread.
+     */
+    public static void tick() {
+        int intervalTicks = Math.max(1, ConfigManager.getServerConfig().catch_progress_save_interval_seconds) * 20;
+        if (++ticksSinceFlush >= intervalTicks) {
+            ticksSinceFlush = 0;
+            flushAsync();
+        }
+    }
+
+    /**
+     * Snapshots every dirty entry and hands the batch to the I/O thread.
+     * Must be called from the server thread, which is the only thread that mutates progress objects.
+     * @return A future that completes once the batch is on disk.
+     */
+    public static Future<?> flushAsync() {
+        List<Map.Entry<UUID, PlayerCatchProgress>> batch = new ArrayList<>();
+        for (UUID uuid : new ArrayList<>(DIRTY.keySet())) {
+            PlayerCatchProgress progress = DIRTY.remove(uuid);
+            if (progress != null) {
+                PlayerCatchProgress snapshot = progress.copy();
+                IN_FLIGHT.put(uuid, snapshot);
+                batch.add(Map.entry(uuid, snapshot));
+            }
+        }
+        return IO_EXECUTOR.submit(() -> {
+            if (batch.isEmpty()) return;
+            for (Map.Entry<UUID, PlayerCatchProgress> entry : batch) {
+                ConfigManager.writePlayerCatchProgress(entry.getKey(), entry.getValue());
+            }
+            ConfigManager.getPlayerDataStore().flush();
+            for (Map.Entry<UUID, PlayerCatchProgress> entry : batch) {
+                IN_FLIGHT.remove(entry.getKey(), entry.getValue());
+            }
+        });
+    }
+
+    /**
+     * Writes a single player's pending progress and waits until it, and every write queued before it, is on disk.
+     * Used before operations that copy the stored progress, such as backups.
+     * @param playerUuid The player's UUID.
+     */
+    public static void flushNow(UUID playerUuid) {
+        PlayerCatchProgress progress = DIRTY.remove(playerUuid);
+        PlayerCatchProgress snapshot = progress != null ? progress.copy() : null;
+        await(IO_EXECUTOR.submit(() -> {
+            if (snapshot != null) {
+                ConfigManager.writePlayerCatchProgress(playerUuid, snapshot);
+                ConfigManager.getPlayerDataStore().flush();
+            }
+        }));
+    }
+
+    /**
+     * Drops a player's pending write and waits for writes already in flight.
+     * Used before the stored progress is replaced externally (e.g. a rollback), so a stale write cannot overwrite it.
+     * @param playerUuid The player's UUID.
+     */
+    public static void discard(UUID playerUuid) {
+        DIRTY.remove(playerUuid);
+        await(IO_EXECUTOR.submit(() -> {}));
+    }
+
+    /**
+     * The executor that performs player data I/O. Reads submitted here are ordered after every write queued before them.
+     */
+    public static Executor ioExecutor() {
+        return IO_EXECUTOR;
+    }
+
+    /**
+     * Whether the player has progress that has not reached the store yet.
+     * Cached progress must not be evicted while this is true, or a reload could read stale data.
+     * @param playerUuid The player's UUID.
+     */
+    public static boolean isPending(UUID playerUuid) {
+        return DIRTY.containsKey(playerUuid) || IN_FLIGHT.containsKey(playerUuid);
+    }
+
+    /**
+     * Flushes every pending write and blocks until they are on disk. Called when the server stops.
+     */
+    public static void flushAll() {
+        await(flushAsync());
+        ticksSinceFlush = 0;
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.error("Failed to write catch progress", e.getCause());
+        }
+    }
+}
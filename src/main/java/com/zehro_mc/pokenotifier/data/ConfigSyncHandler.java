@@ -50,7 +50,7 @@ public class ConfigSyncHandler {
         boolean globalHuntEnabled = config.global_hunt_system_enabled;
         LOGGER.info("[SERVER] Sending admin status to {} - Global Hunt System: {}", player.getName().getString(), globalHuntEnabled);
         
-        SwarmConfig swarmConfig = SwarmConfig.load();
+        SwarmConfig swarmConfig = SwarmConfig.get();
         ServerPlayNetworking.send(player, new AdminStatusPayload(
                 player.hasPermissionLevel(2),
                 config.debug_mode_enabled,
@@ -94,7 +94,7 @@ public class ConfigSyncHandler {
                     boolean globalHuntEnabled = config.global_hunt_system_enabled;
                     LOGGER.info("[SERVER] Syncing admin status to {} - Global Hunt System: {}", player.getName().getString(), globalHuntEnabled);
                     
-                    SwarmConfig swarmConfig = SwarmConfig.load();
+                    SwarmConfig swarmConfig = SwarmConfig.get();
                     ServerPlayNetworking.send(player, new AdminStatusPayload(
                             player.hasPermissionLevel(2),
                             config.debug_mode_enabled,
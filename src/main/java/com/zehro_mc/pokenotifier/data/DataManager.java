@@ -14,6 +14,7 @@ import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.model.GenerationData;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import com.zehro_mc.pokenotifier.networking.PlayerListSyncPayload;
 import com.zehro_mc.pokenotifier.util.PokeNotifierServerUtils;
 import com.zehro_mc.pokenotifier.util.PlayerRankManager;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -22,10 +23,6 @@ import net.minecraft.util.Formatting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -72,6 +69,7 @@ public class DataManager {
 
         progress.initialPcSyncCompleted = true;
         ConfigManager.savePlayerCatchProgress(player.getUuid(), progress);
+        PlayerListSync.invalidateAllCaught(player);
 
         player.sendMessage(Text.literal("[Poke Notifier] Your Pokédex has been synchronized with the 'Catch 'em All' mode!").formatted(Formatting.GREEN), false);
         LOGGER.info("Initial PC sync completed for player: " + player.getName().getString());
@@ -102,6 +100,7 @@ public class DataManager {
         completedList.remove(lastPokemon);
         progress.caught_pokemon.put(genName, completedList);
         ConfigManager.savePlayerCatchProgress(player.getUuid(), progress);
+        PlayerListSync.invalidate(player, PlayerListSyncPayload.ListType.CAUGHT, genName);
 
         player.sendMessage(Text.literal("An administrator has autocompleted your " + formatGenName(genName) + " progress for testing purposes.").formatted(Formatting.YELLOW), false);
         PokeNotifierServerUtils.sendCatchProgressUpdate(player);
@@ -114,31 +113,22 @@ public class DataManager {
      * @return true if rollback was successful, false if no backup exists
      */
     public static boolean rollbackPlayerProgress(ServerPlayerEntity player) {
-        File progressFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json");
-        File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json.bak");
-
-        if (!backupFile.exists()) {
+        // Restoring also drops any pending write and clears the cached progress
+        if (!ConfigManager.restorePlayerCatchProgressBackup(player.getUuid())) {
             return false;
         }
 
-        try {
-            Files.move(backupFile.toPath(), progressFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            // Clear the player's progress from the cache
-            ConfigManager.forceReloadPlayerCatchProgress(player.getUuid());
-            PlayerRankManager.updateAndSyncRank(player);
+        PlayerRankManager.updateAndSyncRank(player);
+        PlayerListSync.invalidateAllCaught(player);
 
-            // Force a progress update to the client to refresh the HUD immediately
-            PokeNotifierServerUtils.sendCatchProgressUpdate(player);
+        // Force a progress update to the client to refresh the HUD immediately
+        PokeNotifierServerUtils.sendCatchProgressUpdate(player);
 
-            player.getInventory().remove(stack -> stack.getItem() instanceof com.zehro_mc.pokenotifier.item.PokedexTrophyItem, -1, player.getInventory());
-            player.sendMessage(Text.literal("Your Pokédex Trophies have been removed as part of the rollback.").formatted(Formatting.YELLOW), false);
+        player.getInventory().remove(stack -> stack.getItem() instanceof com.zehro_mc.pokenotifier.item.PokedexTrophyItem, -1, player.getInventory());
+        player.sendMessage(Text.literal("Your Pokédex Trophies have been removed as part of the rollback.").formatted(Formatting.YELLOW), false);
 
-            player.sendMessage(Text.literal("Your 'Catch 'em All' progress has been restored by an administrator.").formatted(Formatting.GREEN), false);
-            return true;
-        } catch (IOException e) {
-            LOGGER.error("Failed to rollback progress for player " + player.getName().getString(), e);
-            return false;
-        }
+        player.sendMessage(Text.literal("Your 'Catch 'em All' progress has been restored by an administrator.").formatted(Formatting.GREEN), false);
+        return true;
     }
 
     /**
@@ -147,17 +137,9 @@ public class DataManager {
      * @return true if backup was created successfully
      */
     public static boolean createPlayerBackup(ServerPlayerEntity player) {
-        File progressFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json");
-        File backupFile = new File(ConfigManager.CATCH_PROGRESS_DIR, player.getUuid().toString() + ".json.bak");
-        
-        try {
-            if (progressFile.exists() && !backupFile.exists()) {
-                Files.copy(progressFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                LOGGER.info("Backup created for player: " + player.getName().getString());
-                return true;
-            }
-        } catch (IOException e) {
-            LOGGER.error("Failed to create backup for " + player.getName().getString(), e);
+        if (ConfigManager.backupPlayerCatchProgress(player.getUuid(), false)) {
+            LOGGER.info("Backup created for player: " + player.getName().getString());
+            return true;
         }
         return false;
     }
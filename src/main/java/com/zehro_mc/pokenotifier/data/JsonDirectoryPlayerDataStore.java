@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.zehro_mc.pokenotifier.model.CustomListConfig;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import com.zehro_mc.pokenotifier.util.DataSecurityUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * The original storage layout: one {@code player_data/<uuid>.json} and one encrypted
+ * {@code catch_progress/<uuid>.json} file per player, with {@code .bak} copies as backups.
+ * Kept for servers that prefer plain files and as the source for {@link PlayerDataMigrator}.
+ */
+public class JsonDirectoryPlayerDataStore implements PlayerDataStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonDirectoryPlayerDataStore.class);
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final File playerDataDir;
+    private final File catchProgressDir;
+
+    public JsonDirectoryPlayerDataStore(File playerDataDir, File catchProgressDir) {
+        this.playerDataDir = playerDataDir;
+        this.catchProgressDir = catchProgressDir;
+        playerDataDir.mkdirs();
+        catchProgressDir.mkdirs();
+    }
+
+    @Override
+    public CustomListConfig loadCustomList(UUID playerUuid) {
+        File playerFile = new File(playerDataDir, playerUuid + ".json");
+        if (!playerFile.exists()) return null;
+        try (FileReader reader = new FileReader(playerFile)) {
+            return GSON.fromJson(reader, CustomListConfig.class);
+        } catch (Exception e) {
+            LOGGER.error("Could not load custom list for player " + playerUuid + ".", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void saveCustomList(UUID playerUuid, CustomListConfig config) {
+        writeAtomically(new File(playerDataDir, playerUuid + ".json"), GSON.toJson(config));
+    }
+
+    @Override
+    public PlayerCatchProgress loadCatchProgress(UUID playerUuid) {
+        return readProgressFile(progressFile(playerUuid), playerUuid);
+    }
+
+    @Override
+    public synchronized void saveCatchProgress(UUID playerUuid, PlayerCatchProgress progress) {
+        writeProgressAtomically(progressFile(playerUuid), progress);
+    }
+
+    @Override
+    public synchronized boolean backupCatchProgress(UUID playerUuid, boolean overwrite) {
+        File progressFile = progressFile(playerUuid);
+        File backupFile = backupFile(playerUuid);
+        if (!progressFile.exists() || (!overwrite && backupFile.exists())) {
+            return false;
+        }
+        try {
+            Files.copy(progressFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Failed to create progress backup for player " + playerUuid, e);
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized boolean restoreCatchProgressBackup(UUID playerUuid) {
+        File backupFile = backupFile(playerUuid);
+        if (!backupFile.exists()) {
+            return false;
+        }
+        try {
+            Files.move(backupFile.toPath(), progressFile(playerUuid).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Failed to restore progress backup for player " + playerUuid, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasCatchProgressBackup(UUID playerUuid) {
+        return backupFile(playerUuid).exists();
+    }
+
+    @Override
+    public void close() {
+        // Every write is already a complete file; nothing to release.
+    }
+
+    /**
+     * Reads the progress stored in the player's backup file, if any. Used by the migrator.
+     */
+    PlayerCatchProgress loadCatchProgressBackup(UUID playerUuid) {
+        File backupFile = backupFile(playerUuid);
+        return backupFile.exists() ? readProgressFile(backupFile, playerUuid) : null;
+    }
+
+    File getPlayerDataDir() {
+        return playerDataDir;
+    }
+
+    File getCatchProgressDir() {
+        return catchProgressDir;
+    }
+
+    private PlayerCatchProgress readProgressFile(File file, UUID playerUuid) {
+        if (!file.exists()) return null;
+        PlayerCatchProgress legacyProgress;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            if (DataSecurityUtil.isEncryptedJson(in)) {
+                // Current format: decrypt straight from the file into Gson.
+                PlayerCatchProgress progress = DataSecurityUtil.readEncryptedJson(GSON, in, PlayerCatchProgress.class);
+                if (progress == null) {
+                    LOGGER.warn("Could not decrypt progress file for player {}. It might be tampered with or from an incompatible version. Ignoring.", playerUuid);
+                }
+                return progress;
+            }
+            legacyProgress = GSON.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), PlayerCatchProgress.class);
+        } catch (Exception e) {
+            LOGGER.error("Could not load or migrate catch progress for player " + playerUuid + ".", e);
+            return null;
+        }
+
+        // Old format: Trust the data, migrate it, and save it back in the encrypted format.
+        LOGGER.info("Migrating old progress file to new secure format for player {}.", playerUuid);
+        writeProgressAtomically(file, legacyProgress);
+        return legacyProgress;
+    }
+
+    private File progressFile(UUID playerUuid) {
+        return new File(catchProgressDir, playerUuid + ".json");
+    }
+
+    private File backupFile(UUID playerUuid) {
+        return new File(catchProgressDir, playerUuid + ".json.bak");
+    }
+
+    /**
+     * Streams progress into the encrypted {"data": "..."} format, using the same temp-file-and-rename as {@link #writeAtomically}.
+     */
+    private static void writeProgressAtomically(File target, PlayerCatchProgress progress) {
+        File tempFile = new File(target.getParentFile(), target.getName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+            DataSecurityUtil.writeEncryptedJson(GSON, progress, out);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write " + target.getName() + ".", e);
+            return;
+        }
+        replace(tempFile, target);
+    }
+
+    /**
+     * Writes to a temporary file first and then renames it over the target,
+     * so a crash mid-write cannot leave a corrupted file behind.
+     */
+    private static void writeAtomically(File target, String content) {
+        File tempFile = new File(target.getParentFile(), target.getName() + ".tmp");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write(content);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write " + target.getName() + ".", e);
+            return;
+        }
+        replace(tempFile, target);
+    }
+
+    private static void replace(File tempFile, File target) {
+        try {
+            try {
+                Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to replace " + target.getName() + ".", e);
+        }
+    }
+}
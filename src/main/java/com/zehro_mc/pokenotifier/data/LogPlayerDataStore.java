@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.google.gson.Gson;
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.model.CustomListConfig;
+import com.zehro_mc.pokenotifier.model.GenerationData;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Stores all player data in a single append-only log file with an in-memory index.
+ * Every save appends a record; the index maps each (record type, player) to the newest record's payload.
+ * A truncated or corrupted tail (e.g. after a crash) is detected by a per-record CRC and cut off on open;
+ * if a record fails its CRC, the whole file is first copied aside so the records after it can be recovered by hand.
+ * The file is compacted once dead records take up more than half of it.
+ *
+ * <p>Record layout: {@code type:byte, uuid:long+long, length:int, payload:byte[length], crc32:int}.
+ * A length of -1 marks a deletion. Progress payloads use {@link CatchProgressCodec}.
+ * The generation orders their bitsets were written against are kept as records too, under a UUID derived
+ * from the generation and its order checksum, with the species names one per line as the payload.</p>
+ */
+public class LogPlayerDataStore implements PlayerDataStore, CatchProgressCodec.GenerationOrders {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogPlayerDataStore.class);
+    private static final Gson GSON = new Gson();
+
+    private static final int MAGIC = 0x504E4C47; // "PNLG"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 1 + 16 + 4;
+    private static final int RECORD_OVERHEAD = RECORD_HEADER_SIZE + 4;
+    private static final long COMPACTION_MIN_SIZE = 1L << 20;
+    private static final DateTimeFormatter CORRUPT_COPY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private static final byte TYPE_CUSTOM_LIST = 1;
+    private static final byte TYPE_CATCH_PROGRESS = 2;
+    private static final byte TYPE_CATCH_PROGRESS_BACKUP = 3;
+    private static final byte TYPE_GENERATION_ORDER = 4;
+
+    private record Key(byte type, UUID uuid) {}
+    private record Location(long payloadOffset, int length) {}
+
+    private final File file;
+    private final Function<String, GenerationData> generations;
+    private final Map<Key, Location> index = new HashMap<>();
+    private FileChannel channel;
+    private long size;
+    private long liveBytes;
+
+    public LogPlayerDataStore(File file) throws IOException {
+        this(file, ConfigManager::getGenerationData);
+    }
+
+    LogPlayerDataStore(File file, Function<String, GenerationData> generations) throws IOException {
+        this.file = file;
+        this.generations = generations;
+        open();
+    }
+
+    @Override
+    public synchronized CustomListConfig loadCustomList(UUID playerUuid) {
+        byte[] payload = read(new Key(TYPE_CUSTOM_LIST, playerUuid));
+        if (payload == null) return null;
+        try {
+            return GSON.fromJson(new String(payload, StandardCharsets.UTF_8), CustomListConfig.class);
+        } catch (Exception e) {
+            LOGGER.error("Could not parse custom list for player " + playerUuid + ".", e);
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void saveCustomList(UUID playerUuid, CustomListConfig config) {
+        append(new Key(TYPE_CUSTOM_LIST, playerUuid), GSON.toJson(config).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public synchronized PlayerCatchProgress loadCatchProgress(UUID playerUuid) {
+        return decodeProgress(read(new Key(TYPE_CATCH_PROGRESS, playerUuid)), playerUuid);
+    }
+
+    @Override
+    public synchronized void saveCatchProgress(UUID playerUuid, PlayerCatchProgress progress) {
+        byte[] payload = encodeProgress(progress);
+        if (payload != null) {
+            append(new Key(TYPE_CATCH_PROGRESS, playerUuid), payload);
+        }
+    }
+
+    @Override
+    public synchronized boolean backupCatchProgress(UUID playerUuid, boolean overwrite) {
+        Key backupKey = new Key(TYPE_CATCH_PROGRESS_BACKUP, playerUuid);
+        if (!overwrite && index.containsKey(backupKey)) {
+            return false;
+        }
+        byte[] payload = read(new Key(TYPE_CATCH_PROGRESS, playerUuid));
+        if (payload == null) {
+            return false;
+        }
+        return append(backupKey, payload);
+    }
+
+    @Override
+    public synchronized boolean restoreCatchProgressBackup(UUID playerUuid) {
+        Key backupKey = new Key(TYPE_CATCH_PROGRESS_BACKUP, playerUuid);
+        byte[] payload = read(backupKey);
+        if (payload == null) {
+            return false;
+        }
+        return append(new Key(TYPE_CATCH_PROGRESS, playerUuid), payload) && append(backupKey, null);
+    }
+
+    @Override
+    public synchronized boolean hasCatchProgressBackup(UUID playerUuid) {
+        return index.containsKey(new Key(TYPE_CATCH_PROGRESS_BACKUP, playerUuid));
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            channel.force(false);
+            if (size > COMPACTION_MIN_SIZE && size > 2 * (HEADER_SIZE + liveBytes)) {
+                compact();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to flush player data store " + file.getName(), e);
+        }
+    }
+
+    @Override
+    public synchronized Set<String> snapshotTo(File targetDir) throws IOException {
+        channel.force(false);
+        try (FileChannel out = FileChannel.open(new File(targetDir, file.getName()).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += channel.transferTo(transferred, size - transferred, out);
+            }
+            out.force(true);
+        }
+        // The compaction temp file only exists mid-compaction or after a crash; never worth backing up.
+        return Set.of(file.getName(), compactionFile().getName());
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.error("Failed to close player data store " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Writes a progress record into the backup slot. Used by the migrator.
+     */
+    synchronized void saveCatchProgressBackup(UUID playerUuid, PlayerCatchProgress progress) {
+        byte[] payload = encodeProgress(progress);
+        if (payload != null) {
+            append(new Key(TYPE_CATCH_PROGRESS_BACKUP, playerUuid), payload);
+        }
+    }
+
+    @Override
+    public synchronized void remember(String genId, int speciesCount, int checksum, GenerationData genData) {
+        Key key = new Key(TYPE_GENERATION_ORDER, orderUuid(genId, speciesCount, checksum));
+        if (index.containsKey(key)) return;
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < speciesCount; i++) {
+            names.append(genData.speciesAt(i)).append('\n');
+        }
+        append(key, names.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public synchronized List<String> find(String genId, int speciesCount, int checksum) {
+        byte[] payload = read(new Key(TYPE_GENERATION_ORDER, orderUuid(genId, speciesCount, checksum)));
+        if (payload == null) return null;
+        List<String> names = Arrays.asList(new String(payload, StandardCharsets.UTF_8).split("\n"));
+        return names.size() == speciesCount ? names : null;
+    }
+
+    private static UUID orderUuid(String genId, int speciesCount, int checksum) {
+        return UUID.nameUUIDFromBytes((genId + ":" + speciesCount + ":" + checksum).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] encodeProgress(PlayerCatchProgress progress) {
+        return CatchProgressCodec.encode(progress, generations, this);
+    }
+
+    private PlayerCatchProgress decodeProgress(byte[] payload, UUID playerUuid) {
+        if (payload == null) return null;
+        PlayerCatchProgress progress = CatchProgressCodec.decode(payload, generations, this);
+        if (progress == null) {
+            LOGGER.warn("Could not decode progress for player {}. It might be tampered with or from an incompatible version. Ignoring.", playerUuid);
+        }
+        return progress;
+    }
+
+    // --- Log file handling ---
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index.clear();
+        liveBytes = 0;
+
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+            writeFully(header, 0);
+            size = HEADER_SIZE;
+            return;
+        }
+
+        long position = HEADER_SIZE;
+        boolean corrupted = false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file.getName() + " is not a Poke Notifier player data file.");
+            }
+            int version = in.readInt();
+            if (version > FORMAT_VERSION) {
+                throw new IOException(file.getName() + " was written by a newer version (format " + version + ").");
+            }
+
+            long fileSize = channel.size();
+            while (position < fileSize) {
+                byte type = in.readByte();
+                long mostSigBits = in.readLong();
+                long leastSigBits = in.readLong();
+                int length = in.readInt();
+                byte[] payload = length > 0 ? in.readNBytes(length) : new byte[0];
+                if (payload.length != Math.max(length, 0)) {
+                    throw new EOFException();
+                }
+                int storedCrc = in.readInt();
+                if (storedCrc != checksum(type, mostSigBits, leastSigBits, length, payload)) {
+                    LOGGER.warn("Corrupted record in {} at offset {}. Discarding the rest of the log.", file.getName(), position);
+                    corrupted = true;
+                    break;
+                }
+
+                Key key = new Key(type, new UUID(mostSigBits, leastSigBits));
+                index(key, length < 0 ? null : new Location(position + RECORD_HEADER_SIZE, length));
+                position += RECORD_OVERHEAD + Math.max(length, 0);
+            }
+        } catch (EOFException e) {
+            LOGGER.warn("Player data log {} ends with an incomplete record (offset {}). It was probably interrupted mid-write.", file.getName(), position);
+        }
+
+        if (position < channel.size()) {
+            if (corrupted) {
+                // Valid records may follow the bad one; keep them recoverable before they are cut off.
+                File copy = new File(file.getParentFile(), file.getName() + ".corrupt-" + LocalDateTime.now().format(CORRUPT_COPY_TIMESTAMP));
+                Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                LOGGER.warn("Copied the corrupted log to {} before truncating it.", copy.getName());
+            }
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    private byte[] read(Key key) {
+        Location location = index.get(key);
+        if (location == null) return null;
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(location.length());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, location.payloadOffset() + buffer.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            return buffer.array();
+        } catch (IOException e) {
+            LOGGER.error("Failed to read player data record for " + key.uuid() + " from " + file.getName(), e);
+            return null;
+        }
+    }
+
+    private boolean append(Key key, byte[] payload) {
+        int length = payload == null ? -1 : payload.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + Math.max(length, 0));
+        record.put(key.type())
+                .putLong(key.uuid().getMostSignificantBits())
+                .putLong(key.uuid().getLeastSignificantBits())
+                .putInt(length);
+        if (payload != null) {
+            record.put(payload);
+        }
+        record.putInt(checksum(key.type(), key.uuid().getMostSignificantBits(), key.uuid().getLeastSignificantBits(), length, payload));
+        record.flip();
+
+        try {
+            long recordOffset = size;
+            writeFully(record, recordOffset);
+            size += record.limit();
+            index(key, payload == null ? null : new Location(recordOffset + RECORD_HEADER_SIZE, length));
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Failed to write player data record for " + key.uuid() + " to " + file.getName(), e);
+            return false;
+        }
+    }
+
+    private void index(Key key, Location location) {
+        Location previous = location == null ? index.remove(key) : index.put(key, location);
+        if (previous != null) {
+            liveBytes -= RECORD_OVERHEAD + previous.length();
+        }
+        if (location != null) {
+            liveBytes += RECORD_OVERHEAD + location.length();
+        }
+    }
+
+    /**
+     * Rewrites the log with only the newest record for each key, then swaps it in atomically.
+     */
+    private void compact() throws IOException {
+        File tempFile = compactionFile();
+        long before = size;
+        try (FileChannel out = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).flip());
+            for (Map.Entry<Key, Location> entry : index.entrySet()) {
+                Location location = entry.getValue();
+                long recordOffset = location.payloadOffset() - RECORD_HEADER_SIZE;
+                long recordLength = RECORD_OVERHEAD + location.length();
+                long transferred = 0;
+                while (transferred < recordLength) {
+                    transferred += channel.transferTo(recordOffset + transferred, recordLength - transferred, out);
+                }
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        try {
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            // Reopen whichever file is in place now (the original if the move failed), so the store never
+            // keeps a closed channel and silently drops every later write.
+            open();
+        }
+        LOGGER.info("Compacted {} from {} to {} bytes.", file.getName(), before, size);
+    }
+
+    private File compactionFile() {
+        return new File(file.getParentFile(), file.getName() + ".compact");
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int checksum(byte type, long mostSigBits, long leastSigBits, int length, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(RECORD_HEADER_SIZE).put(type).putLong(mostSigBits).putLong(leastSigBits).putInt(length).flip());
+        if (payload != null) {
+            crc.update(payload);
+        }
+        return (int) crc.getValue();
+    }
+}
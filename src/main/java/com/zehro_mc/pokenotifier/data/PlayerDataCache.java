@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A per-player cache that remembers when each entry was last used, so entries belonging to
+ * players who are no longer around can be evicted. Eviction only happens in {@link #evict},
+ * which the caller runs periodically; lookups never block on it.
+ * @param <V> The cached value type.
+ */
+public class PlayerDataCache<V> {
+
+    private static final class Entry<V> {
+        final V value;
+        volatile long lastAccess;
+
+        Entry(V value) {
+            this.value = value;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    // Access time is captured once so the LRU sort sees a stable ordering.
+    private record Candidate<V>(UUID playerUuid, Entry<V> entry, long lastAccess) {}
+
+    private final Map<UUID, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached value, loading it with the given function if it is not resident.
+     */
+    public V get(UUID playerUuid, Function<UUID, V> loader) {
+        Entry<V> entry = entries.computeIfAbsent(playerUuid, uuid -> new Entry<>(loader.apply(uuid)));
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.value;
+    }
+
+    /**
+     * @return The cached value, or null if it is not resident. Never loads.
+     */
+    public V getIfPresent(UUID playerUuid) {
+        Entry<V> entry = entries.get(playerUuid);
+        if (entry == null) return null;
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.value;
+    }
+
+    public boolean contains(UUID playerUuid) {
+        return entries.containsKey(playerUuid);
+    }
+
+    /**
+     * Publishes a value loaded elsewhere, unless one is already resident (which always wins).
+     */
+    public void putIfAbsent(UUID playerUuid, V value) {
+        entries.putIfAbsent(playerUuid, new Entry<>(value));
+    }
+
+    public void put(UUID playerUuid, V value) {
+        entries.put(playerUuid, new Entry<>(value));
+    }
+
+    public void remove(UUID playerUuid) {
+        entries.remove(playerUuid);
+    }
+
+    /**
+     * Marks an entry as used now without loading it. Used on disconnect so the idle timer starts then.
+     */
+    public void touch(UUID playerUuid) {
+        Entry<V> entry = entries.get(playerUuid);
+        if (entry != null) {
+            entry.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops entries that have been idle for too long and, if the cache is still over its size limit,
+     * the least recently used remaining ones.
+     * @param idleMillis How long an entry may go unused before it is dropped.
+     * @param maxSize The number of entries to keep at most.
+     * @param canEvict Decides whether a player's entry may be dropped right now (e.g. not online, nothing pending).
+     * @return The number of entries evicted.
+     */
+    public int evict(long idleMillis, int maxSize, Predicate<UUID> canEvict) {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        List<Candidate<V>> candidates = new ArrayList<>();
+        for (Map.Entry<UUID, Entry<V>> mapEntry : entries.entrySet()) {
+            if (!canEvict.test(mapEntry.getKey())) continue;
+            long lastAccess = mapEntry.getValue().lastAccess;
+            if (now - lastAccess >= idleMillis) {
+                if (entries.remove(mapEntry.getKey(), mapEntry.getValue())) evicted++;
+            } else {
+                candidates.add(new Candidate<>(mapEntry.getKey(), mapEntry.getValue(), lastAccess));
+            }
+        }
+
+        int excess = entries.size() - maxSize;
+        if (excess > 0) {
+            candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+            for (int i = 0; i < candidates.size() && excess > 0; i++) {
+                Candidate<V> candidate = candidates.get(i);
+                if (entries.remove(candidate.playerUuid(), candidate.entry())) {
+                    evicted++;
+                    excess--;
+                }
+            }
+        }
+        return evicted;
+    }
+}
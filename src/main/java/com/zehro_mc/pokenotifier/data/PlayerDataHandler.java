@@ -10,12 +10,13 @@ package com.zehro_mc.pokenotifier.data;
 
 import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.model.CustomListConfig;
-import com.zehro_mc.pokenotifier.networking.GuiResponsePayload;
+import com.zehro_mc.pokenotifier.networking.GuiMessagePayload;
+import com.zehro_mc.pokenotifier.networking.GuiMessagePayload.Line;
+import com.zehro_mc.pokenotifier.networking.GuiMessagePayload.Tone;
+import com.zehro_mc.pokenotifier.networking.PlayerListSyncPayload;
 import com.zehro_mc.pokenotifier.util.PokeNotifierServerUtils;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.text.Text;
-import net.minecraft.util.Formatting;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,12 +36,11 @@ public class PlayerDataHandler {
         
         if (playerConfig.tracked_pokemon.add(pokemonName)) {
             ConfigManager.savePlayerConfig(player.getUuid(), playerConfig);
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Added '").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append("' to your custom tracking list.").formatted(Formatting.GREEN)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.custom_list.added", pokemonName));
+            PlayerListSync.onCustomListAdded(player, pokemonName);
             PokeNotifierServerUtils.sendCatchProgressUpdate(player);
         } else {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Pokémon '").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append("' is already on your list.").formatted(Formatting.YELLOW)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.WARNING, "poke-notifier.gui.custom_list.already_added", pokemonName));
         }
     }
 
@@ -54,11 +54,11 @@ public class PlayerDataHandler {
         
         if (playerConfig.tracked_pokemon.remove(pokemonName)) {
             ConfigManager.savePlayerConfig(player.getUuid(), playerConfig);
+            PlayerListSync.onCustomListRemoved(player, pokemonName);
             PokeNotifierServerUtils.sendCatchProgressUpdate(player);
             sendCustomHuntList(player);
         } else {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Pokémon '").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append("' was not on your list.").formatted(Formatting.YELLOW)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.WARNING, "poke-notifier.gui.custom_list.not_on_list", pokemonName));
         }
     }
 
@@ -72,12 +72,11 @@ public class PlayerDataHandler {
         if (!playerConfig.tracked_pokemon.isEmpty()) {
             playerConfig.tracked_pokemon.clear();
             ConfigManager.savePlayerConfig(player.getUuid(), playerConfig);
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Your custom tracking list has been cleared.").formatted(Formatting.GREEN)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.custom_list.cleared"));
+            PlayerListSync.invalidate(player, PlayerListSyncPayload.ListType.CUSTOM_LIST, "");
             PokeNotifierServerUtils.sendCatchProgressUpdate(player);
         } else {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Your custom tracking list was already empty.").formatted(Formatting.YELLOW)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.WARNING, "poke-notifier.gui.custom_list.already_empty"));
         }
     }
 
@@ -88,19 +87,12 @@ public class PlayerDataHandler {
     public static void sendCustomHuntList(ServerPlayerEntity player) {
         CustomListConfig playerConfig = ConfigManager.getPlayerConfig(player.getUuid());
         if (playerConfig.tracked_pokemon.isEmpty()) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Your custom tracking list is empty.").formatted(Formatting.YELLOW)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.WARNING, "poke-notifier.gui.custom_list.empty"));
         } else {
-            List<Text> lines = new ArrayList<>();
-            lines.add(Text.literal("Your custom tracking list:").formatted(Formatting.YELLOW));
-            playerConfig.tracked_pokemon.stream().sorted().forEach(name -> {
-                Text pokemonText = Text.literal("• " + name + " [X]").formatted(Formatting.GOLD)
-                        .styled(style -> style.withClickEvent(new net.minecraft.text.ClickEvent(
-                                net.minecraft.text.ClickEvent.Action.SUGGEST_COMMAND, 
-                                "remove:" + name)));
-                lines.add(pokemonText);
-            });
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            List<Line> lines = new ArrayList<>();
+            lines.add(Line.message(Tone.WARNING, "poke-notifier.gui.custom_list.header"));
+            playerConfig.tracked_pokemon.stream().sorted().forEach(name -> lines.add(Line.removableEntry(name)));
+            ServerPlayNetworking.send(player, new GuiMessagePayload(lines));
         }
     }
 }
\ No newline at end of file
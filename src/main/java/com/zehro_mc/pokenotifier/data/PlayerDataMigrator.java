@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.zehro_mc.pokenotifier.model.CustomListConfig;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One-shot migration from the per-UUID JSON directory layout into the single-file {@link LogPlayerDataStore}.
+ * Migrated files are moved into a {@code migrated/} folder rather than deleted, so nothing is lost if
+ * an admin needs to go back to the old layout.
+ */
+public class PlayerDataMigrator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerDataMigrator.class);
+
+    /**
+     * Copies every player found in the legacy directories into the target store, if there are any.
+     * @param source The legacy directory store to read from.
+     * @param target The single-file store to write into.
+     * @param migratedDir Where the legacy files are moved once they have been copied.
+     */
+    public static void migrateIfNeeded(JsonDirectoryPlayerDataStore source, LogPlayerDataStore target, File migratedDir) {
+        Set<UUID> players = new HashSet<>();
+        collectPlayerUuids(source.getPlayerDataDir(), players);
+        collectPlayerUuids(source.getCatchProgressDir(), players);
+        if (players.isEmpty()) {
+            return;
+        }
+
+        LOGGER.info("Migrating {} players from the per-player JSON files into the single-file player data store...", players.size());
+        int migrated = 0;
+        for (UUID uuid : players) {
+            CustomListConfig customList = source.loadCustomList(uuid);
+            if (customList != null) {
+                target.saveCustomList(uuid, customList);
+            }
+            PlayerCatchProgress progress = source.loadCatchProgress(uuid);
+            if (progress != null) {
+                target.saveCatchProgress(uuid, progress);
+            }
+            PlayerCatchProgress backup = source.loadCatchProgressBackup(uuid);
+            if (backup != null) {
+                target.saveCatchProgressBackup(uuid, backup);
+            }
+            migrated++;
+        }
+        target.flush();
+
+        moveLegacyFiles(source.getPlayerDataDir(), new File(migratedDir, "player_data"));
+        moveLegacyFiles(source.getCatchProgressDir(), new File(migratedDir, "catch_progress"));
+        LOGGER.info("Migrated {} players. The old files were moved to {}.", migrated, migratedDir.getPath());
+    }
+
+    private static void collectPlayerUuids(File dir, Set<UUID> players) {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            UUID uuid = parseUuid(file.getName());
+            if (uuid != null) {
+                players.add(uuid);
+            }
+        }
+    }
+
+    /**
+     * Moves the player files (and their .bak/.tmp siblings) out of a legacy directory.
+     * Other files, such as the client's waypoints.json in single-player, are left alone.
+     */
+    private static void moveLegacyFiles(File dir, File destination) {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (parseUuid(file.getName()) == null) continue;
+            try {
+                destination.mkdirs();
+                Files.move(file.toPath(), new File(destination, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                LOGGER.error("Failed to move migrated file " + file.getName(), e);
+            }
+        }
+    }
+
+    private static UUID parseUuid(String fileName) {
+        int dot = fileName.indexOf('.');
+        if (dot <= 0 || !fileName.startsWith(".json", dot)) return null;
+        try {
+            return UUID.fromString(fileName.substring(0, dot));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.zehro_mc.pokenotifier.model.CustomListConfig;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Persistent storage for per-player data: the custom hunt list and "Catch 'em All" progress,
+ * plus a single backup slot for progress used by the admin autocomplete/rollback tools.
+ * Implementations must be safe to call from both the server thread and the progress I/O thread.
+ */
+public interface PlayerDataStore {
+
+    /**
+     * @return The player's custom list, or null if none has been stored.
+     */
+    CustomListConfig loadCustomList(UUID playerUuid);
+
+    void saveCustomList(UUID playerUuid, CustomListConfig config);
+
+    /**
+     * @return The player's progress, or null if none has been stored or it could not be read.
+     */
+    PlayerCatchProgress loadCatchProgress(UUID playerUuid);
+
+    void saveCatchProgress(UUID playerUuid, PlayerCatchProgress progress);
+
+    /**
+     * Copies the player's stored progress into their backup slot.
+     * @param overwrite Whether an existing backup may be replaced.
+     * @return true if a backup was written.
+     */
+    boolean backupCatchProgress(UUID playerUuid, boolean overwrite);
+
+    /**
+     * Replaces the player's stored progress with their backup and empties the backup slot.
+     * @return true if a backup existed and was restored.
+     */
+    boolean restoreCatchProgressBackup(UUID playerUuid);
+
+    boolean hasCatchProgressBackup(UUID playerUuid);
+
+    /**
+     * Makes sure everything written so far is durable on disk.
+     */
+    default void flush() {}
+
+    /**
+     * Writes a consistent copy of the files this store keeps open into {@code targetDir}, holding off writes meanwhile.
+     * Used by full backups, which must not copy those files while the I/O thread appends to or compacts them.
+     * @return The names of the files the store owns in its directory, which a plain directory copy should skip.
+     */
+    default Set<String> snapshotTo(File targetDir) throws IOException {
+        return Set.of();
+    }
+
+    /**
+     * Flushes and releases any open files. The store must not be used afterwards.
+     */
+    void close();
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.networking.PlayerListRequestPayload;
+import com.zehro_mc.pokenotifier.networking.PlayerListSyncPayload;
+import com.zehro_mc.pokenotifier.networking.PlayerListSyncPayload.ListType;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the client-side mirrors of a player's custom list and caught sets current.
+ * A client subscribes to a list by requesting its first snapshot page; from then on every change is
+ * pushed as a small delta with the next sequence number, so the GUI can browse the list locally.
+ * Changes too large to describe as a delta (clearing a list, autocomplete, rollback) invalidate the mirror instead.
+ * Sequence numbers only live for the session; the client drops its mirrors when it disconnects.
+ */
+public class PlayerListSync {
+
+    private static final int PAGE_SIZE = 256;
+
+    // Player -> list key -> current sequence. A key being present means the client mirrors that list.
+    private static final Map<UUID, Map<String, Long>> SUBSCRIPTIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Answers a snapshot page request. If the list changed since the client started paging,
+     * it is sent the first page of the current snapshot instead, so it starts over.
+     * Requests for a generation that does not exist are ignored, so a client cannot make up subscription keys.
+     */
+    public static void handleRequest(ServerPlayerEntity player, PlayerListRequestPayload request) {
+        boolean validGeneration = switch (request.listType()) {
+            case CUSTOM_LIST -> request.generation().isEmpty();
+            case CAUGHT -> ConfigManager.getGenerationData(request.generation()) != null;
+        };
+        if (!validGeneration) return;
+
+        String key = key(request.listType(), request.generation());
+        Map<String, Long> sequences = SUBSCRIPTIONS.computeIfAbsent(player.getUuid(), uuid -> new ConcurrentHashMap<>());
+        long sequence = sequences.computeIfAbsent(key, k -> 0L);
+
+        List<String> entries = currentEntries(player.getUuid(), request.listType(), request.generation()).stream().sorted().toList();
+        int pageCount = Math.max(1, (entries.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        int page = request.page();
+        if (page < 0 || page >= pageCount || (page > 0 && request.sequence() != sequence)) {
+            page = 0;
+        }
+        int from = page * PAGE_SIZE;
+        List<String> pageEntries = entries.subList(Math.min(from, entries.size()), Math.min(from + PAGE_SIZE, entries.size()));
+        ServerPlayNetworking.send(player, PlayerListSyncPayload.snapshotPage(
+                request.listType(), request.generation(), sequence, page, pageCount, List.copyOf(pageEntries)));
+    }
+
+    public static void onCustomListAdded(ServerPlayerEntity player, String pokemonName) {
+        sendDelta(player, ListType.CUSTOM_LIST, "", List.of(pokemonName), List.of());
+    }
+
+    public static void onCustomListRemoved(ServerPlayerEntity player, String pokemonName) {
+        sendDelta(player, ListType.CUSTOM_LIST, "", List.of(), List.of(pokemonName));
+    }
+
+    public static void onCaught(ServerPlayerEntity player, String generation, String pokemonName) {
+        sendDelta(player, ListType.CAUGHT, generation, List.of(pokemonName), List.of());
+    }
+
+    /**
+     * Tells the client to re-request a list after a change too large for a delta.
+     */
+    public static void invalidate(ServerPlayerEntity player, ListType listType, String generation) {
+        Map<String, Long> sequences = SUBSCRIPTIONS.get(player.getUuid());
+        if (sequences == null) return;
+        String key = key(listType, generation);
+        Long sequence = sequences.computeIfPresent(key, (k, current) -> current + 1);
+        if (sequence != null) {
+            ServerPlayNetworking.send(player, PlayerListSyncPayload.invalidate(listType, generation, sequence));
+        }
+    }
+
+    /**
+     * Invalidates every mirrored caught set of the player, e.g. after a rollback or PC sync.
+     */
+    public static void invalidateAllCaught(ServerPlayerEntity player) {
+        Map<String, Long> sequences = SUBSCRIPTIONS.get(player.getUuid());
+        if (sequences == null) return;
+        for (String key : Set.copyOf(sequences.keySet())) {
+            if (key.startsWith(ListType.CAUGHT.name())) {
+                invalidate(player, ListType.CAUGHT, key.substring(ListType.CAUGHT.name().length() + 1));
+            }
+        }
+    }
+
+    public static void onPlayerDisconnect(UUID playerUuid) {
+        SUBSCRIPTIONS.remove(playerUuid);
+    }
+
+    public static void clear() {
+        SUBSCRIPTIONS.clear();
+    }
+
+    private static void sendDelta(ServerPlayerEntity player, ListType listType, String generation, List<String> added, List<String> removed) {
+        Map<String, Long> sequences = SUBSCRIPTIONS.get(player.getUuid());
+        if (sequences == null) return;
+        Long sequence = sequences.computeIfPresent(key(listType, generation), (k, current) -> current + 1);
+        if (sequence != null) {
+            ServerPlayNetworking.send(player, PlayerListSyncPayload.delta(listType, generation, sequence, added, removed));
+        }
+    }
+
+    private static Collection<String> currentEntries(UUID playerUuid, ListType listType, String generation) {
+        return switch (listType) {
+            case CUSTOM_LIST -> ConfigManager.getPlayerConfig(playerUuid).tracked_pokemon;
+            case CAUGHT -> ConfigManager.getPlayerCatchProgress(playerUuid).caught_pokemon.getOrDefault(generation, Set.of());
+        };
+    }
+
+    private static String key(ListType listType, String generation) {
+        return listType.name() + ":" + generation;
+    }
+}
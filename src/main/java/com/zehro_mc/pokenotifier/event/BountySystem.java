@@ -12,7 +12,7 @@ import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.ConfigPokemon;
 import com.zehro_mc.pokenotifier.ConfigServer;
 import com.zehro_mc.pokenotifier.networking.ModeStatusPayload;
-import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import com.zehro_mc.pokenotifier.networking.PayloadBroadcaster;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
@@ -138,10 +138,9 @@ public class BountySystem {
 
         ModeStatusPayload payload = new ModeStatusPayload("New Bounty!", true);
         server.getPlayerManager().broadcast(message, false);
-        server.getPlayerManager().getPlayerList().forEach(player -> {
-            player.playSoundToPlayer(SoundEvents.BLOCK_BELL_USE, SoundCategory.NEUTRAL, 1.0F, 1.2F);
-            ServerPlayNetworking.send(player, payload);
-        });
+        server.getPlayerManager().getPlayerList().forEach(player ->
+                player.playSoundToPlayer(SoundEvents.BLOCK_BELL_USE, SoundCategory.NEUTRAL, 1.0F, 1.2F));
+        PayloadBroadcaster.broadcast(server, payload);
 
         LOGGER.info("[Bounty System] New bounty started for: {}", newBounty);
     }
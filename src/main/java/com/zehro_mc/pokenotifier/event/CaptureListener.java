@@ -20,8 +20,12 @@ import com.zehro_mc.pokenotifier.model.GenerationData;
 import com.zehro_mc.pokenotifier.item.ModItems;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
 import com.zehro_mc.pokenotifier.networking.GlobalAnnouncementPayload;
+import com.zehro_mc.pokenotifier.data.PlayerListSync;
+import com.zehro_mc.pokenotifier.networking.PayloadBroadcaster;
 import com.zehro_mc.pokenotifier.networking.StatusUpdatePayload;
+import com.zehro_mc.pokenotifier.util.NotificationBatcher;
 import com.zehro_mc.pokenotifier.util.RarityUtil;
+import com.zehro_mc.pokenotifier.util.TrackedPokemonManager;
 import com.zehro_mc.pokenotifier.util.PrestigeEffects;
 import com.zehro_mc.pokenotifier.util.PlayerRankManager;
 import com.zehro_mc.pokenotifier.globalhunt.GlobalHuntManager;
@@ -36,13 +40,18 @@ import net.minecraft.util.Identifier;
 
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * Listens for Pokémon capture events to update "Catch 'em All" progress and grant rewards.
  */
 public class CaptureListener {
 
-    public static void onPokemonCaptured(PokemonCapturedEvent event) {
+    /**
+     * @param captured The players who received a spawn alert for this Pokémon, and the rarity it was sent with.
+     */
+    public static void onPokemonCaptured(PokemonCapturedEvent event, TrackedPokemonManager.CapturedPokemon captured) {
         Pokemon pokemon = event.getPokemon();
         ServerPlayerEntity player = event.getPlayer();
         String pokemonName = pokemon.getSpecies().getResourceIdentifier().getPath();
@@ -67,7 +76,9 @@ public class CaptureListener {
             // If the captured Pokémon belongs to the active generation...
             if (genData != null && genData.pokemon.contains(pokemonName)) {
                 // ...add it to the caught list for that generation.
-                progress.caught_pokemon.computeIfAbsent(activeGen, k -> new java.util.HashSet<>()).add(pokemonName);
+                if (progress.caught_pokemon.computeIfAbsent(activeGen, k -> new java.util.HashSet<>()).add(pokemonName)) {
+                    PlayerListSync.onCaught(player, activeGen, pokemonName);
+                }
 
                 int caughtCount = progress.caught_pokemon.get(activeGen).size();
                 int totalCount = genData.pokemon.size();
@@ -79,7 +90,7 @@ public class CaptureListener {
                     // 1. Global Announcement
                     String regionName = genData.region.substring(0, 1).toUpperCase() + genData.region.substring(1);
                     GlobalAnnouncementPayload announcement = new GlobalAnnouncementPayload(player.getName().getString(), regionName);
-                    player.getServer().getPlayerManager().getPlayerList().forEach(p -> ServerPlayNetworking.send(p, announcement));
+                    PayloadBroadcaster.broadcast(player.getServer(), announcement);
 
                     // Special announcement for completing all 9 generations.
                     if (progress.completed_generations.size() >= 9) {
@@ -192,25 +203,31 @@ public class CaptureListener {
         }
 
         // Standard capture notification logic.
-        RarityUtil.RarityCategory rarity = RarityUtil.getRarity(pokemon, player);
+        MinecraftServer server = event.getPlayer().getServer();
+        if (server == null) return;
 
-        if (rarity == RarityUtil.RarityCategory.COMMON) {
+        // Players who were alerted about this Pokémon always hear about the capture, with the rarity of their alert;
+        // the catcher's view of it (e.g. a custom-list entry) can differ. Common captures only skip the capture feed.
+        Set<UUID> notifiedPlayers = captured.notifiedPlayers();
+        RarityUtil.RarityCategory rarity = captured.rarity() != null ? captured.rarity() : RarityUtil.getRarity(pokemon, player);
+        boolean showInFeed = rarity != RarityUtil.RarityCategory.COMMON;
+        if (notifiedPlayers.isEmpty() && !showInFeed) {
             return;
         }
 
-        MinecraftServer server = event.getPlayer().getServer();
-        if (server == null) return;
-
         StatusUpdatePayload payload = new StatusUpdatePayload(
-                pokemon.getUuid().toString(),
+                pokemon.getUuid(),
                 pokemon.getDisplayName(true).getString(),
-                rarity.name(),
+                rarity,
                 StatusUpdatePayload.UpdateType.CAPTURED,
                 player.getName().getString()
         );
 
+        // Only players who were told about this Pokémon need to clear it, plus anyone following the capture feed.
         for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
-            ServerPlayNetworking.send(p, payload);
+            if (notifiedPlayers.contains(p.getUuid()) || (showInFeed && ConfigManager.getPlayerConfig(p.getUuid()).capture_feed_enabled)) {
+                NotificationBatcher.queue(p, payload);
+            }
         }
     }
 
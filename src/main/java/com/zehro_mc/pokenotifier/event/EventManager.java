@@ -8,20 +8,17 @@
 
 package com.zehro_mc.pokenotifier.event;
 
+import com.zehro_mc.pokenotifier.util.ServerTaskQueue;
 import net.minecraft.server.MinecraftServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Central event management system for Poke Notifier.
  * Coordinates all event systems including bounty, swarm, and scheduled tasks.
  */
 public class EventManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(EventManager.class);
-    private static final List<Runnable> PENDING_TASKS = new ArrayList<>();
     
     private static BountySystem bountySystem;
     private static SwarmSystem swarmSystem;
@@ -42,13 +39,7 @@ public class EventManager {
      * @param server The minecraft server instance
      */
     public static void tick(MinecraftServer server) {
-        // Process pending tasks
-        if (!PENDING_TASKS.isEmpty()) {
-            for (Runnable task : new ArrayList<>(PENDING_TASKS)) {
-                task.run();
-            }
-            PENDING_TASKS.clear();
-        }
+        // Scheduled tasks run from the shared ServerTaskQueue, drained by the main server tick.
         
         // Tick event systems
         if (bountySystem != null) {
@@ -62,11 +53,11 @@ public class EventManager {
     }
     
     /**
-     * Schedules a task to be executed on the next server tick.
+     * Schedules a task to be executed on the next server tick. Safe to call from any thread.
      * @param task The task to schedule
      */
     public static void scheduleTask(Runnable task) {
-        PENDING_TASKS.add(task);
+        ServerTaskQueue.submit(task);
     }
     
     /**
@@ -89,7 +80,6 @@ public class EventManager {
      * Shuts down all event systems.
      */
     public static void shutdown() {
-        PENDING_TASKS.clear();
         bountySystem = null;
         swarmSystem = null;
         LOGGER.info("Event systems shut down");
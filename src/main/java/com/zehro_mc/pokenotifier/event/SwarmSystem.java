@@ -45,7 +45,7 @@ public class SwarmSystem {
      * @param server The minecraft server instance
      */
     public void tick(MinecraftServer server) {
-        SwarmConfig config = SwarmConfig.load();
+        SwarmConfig config = SwarmConfig.get();
         if (!config.system_enabled) {
             return;
         }
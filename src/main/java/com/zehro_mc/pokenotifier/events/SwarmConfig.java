@@ -16,7 +16,21 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+/**
+ * Swarm system settings. The current settings are kept in memory and read through {@link #get()};
+ * the file is only read again when it changes on disk (seen by a {@link WatchService}) or when an admin reloads.
+ * A snapshot is never modified once published: {@link #update(Consumer)} changes a copy and swaps it in.
+ */
 public class SwarmConfig {
     public int config_version = 1;
     
@@ -63,7 +77,131 @@ public class SwarmConfig {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final String CONFIG_DIR = "config/poke-notifier/events";
     private static final String CONFIG_FILE = "config-swarm.json";
-    
+    // Editors often write a file in several steps; wait for them to finish before reading it.
+    private static final long RELOAD_SETTLE_MS = 200;
+
+    private static final AtomicReference<SwarmConfig> CURRENT = new AtomicReference<>();
+    private static volatile WatchService watchService;
+    // Modification time of our own last save, so the watcher doesn't reload what we just wrote.
+    private static volatile long lastSavedModified = -1;
+
+    /**
+     * @return The current swarm settings. Do not modify the returned object; use {@link #update(Consumer)}.
+     */
+    public static SwarmConfig get() {
+        SwarmConfig config = CURRENT.get();
+        if (config == null) {
+            CURRENT.compareAndSet(null, load());
+            config = CURRENT.get();
+        }
+        return config;
+    }
+
+    /**
+     * Reads the file again and publishes it as the current settings.
+     * @return The settings now in use.
+     */
+    public static SwarmConfig reload() {
+        SwarmConfig config = load();
+        CURRENT.set(config);
+        return config;
+    }
+
+    /**
+     * Applies a change to a copy of the current settings, saves it and publishes it.
+     * Called from the server thread only.
+     * @return The settings now in use.
+     */
+    public static SwarmConfig update(Consumer<SwarmConfig> change) {
+        SwarmConfig copy = GSON.fromJson(GSON.toJson(get()), SwarmConfig.class);
+        change.accept(copy);
+        copy.save();
+        CURRENT.set(copy);
+        return copy;
+    }
+
+    /**
+     * Starts watching the config folder so edits to the file take effect without a reload command.
+     */
+    public static synchronized void startWatching() {
+        if (watchService != null) return;
+        Path configDir = new File(CONFIG_DIR).toPath();
+        configDir.toFile().mkdirs();
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            configDir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+        } catch (IOException e) {
+            PokeNotifier.LOGGER.warn("[SwarmConfig] Could not watch {} for changes; use the reload command after editing it.", CONFIG_FILE, e);
+            return;
+        }
+
+        Thread watcher = new Thread(SwarmConfig::watchLoop, "Poke Notifier Swarm Config Watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public static synchronized void stopWatching() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            PokeNotifier.LOGGER.warn("[SwarmConfig] Failed to close the config watcher", e);
+        }
+        watchService = null;
+    }
+
+    private static void watchLoop() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path && path.getFileName().toString().equals(CONFIG_FILE)) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (!changed) continue;
+
+                Thread.sleep(RELOAD_SETTLE_MS);
+                // Drop the events the rest of the write produced.
+                WatchKey pending;
+                while ((pending = service.poll()) != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+
+                File configFile = new File(CONFIG_DIR, CONFIG_FILE);
+                if (configFile.lastModified() == lastSavedModified) continue;
+                SwarmConfig config = readFile(configFile);
+                if (config != null) {
+                    CURRENT.set(config);
+                    PokeNotifier.LOGGER.info("[SwarmConfig] Reloaded {} after it changed on disk", CONFIG_FILE);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped.
+        }
+    }
+
+    /**
+     * @return The parsed file, or null if it could not be read. The current settings are kept in that case.
+     */
+    private static SwarmConfig readFile(File configFile) {
+        try (FileReader reader = new FileReader(configFile)) {
+            return GSON.fromJson(reader, SwarmConfig.class);
+        } catch (Exception e) {
+            PokeNotifier.LOGGER.error("[SwarmConfig] Failed to read edited {}; keeping the previous settings", CONFIG_FILE, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the settings from disk, creating the file with defaults if it doesn't exist.
+     * Prefer {@link #get()}, which doesn't touch the disk.
+     */
     public static SwarmConfig load() {
         File configDir = new File(CONFIG_DIR);
         if (!configDir.exists()) {
@@ -112,5 +250,6 @@ public class SwarmConfig {
         } catch (IOException e) {
             PokeNotifier.LOGGER.error("Failed to save swarm config", e);
         }
+        lastSavedModified = configFile.lastModified();
     }
 }
\ No newline at end of file
@@ -12,8 +12,10 @@ import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.ConfigServer;
 import com.zehro_mc.pokenotifier.PokeNotifier;
 import com.zehro_mc.pokenotifier.api.PokeNotifierApi;
+import com.zehro_mc.pokenotifier.networking.PayloadBroadcaster;
 import com.zehro_mc.pokenotifier.networking.SwarmStatusPayload;
 import com.zehro_mc.pokenotifier.events.SwarmStatistics;
+import com.zehro_mc.pokenotifier.util.LocationFinder;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -37,12 +39,14 @@ public class SwarmEventManager {
     
     // Lazy loading system
     private boolean entitiesSpawned = false;
+    private LocationFinder.Search pendingLocationSearch;
     private static final int PLAYER_DETECTION_RADIUS = 64; // blocks
 
     public SwarmEventManager(MinecraftServer server) {
         this.server = server;
         this.config = ConfigManager.getServerConfig();
-        this.swarmConfig = SwarmConfig.load();
+        this.swarmConfig = SwarmConfig.reload();
+        SwarmConfig.startWatching();
         instance = this;
         
         // Initialize statistics system
@@ -53,7 +57,7 @@ public class SwarmEventManager {
         SwarmStatistics.saveStatistics();
         
         PokeNotifier.LOGGER.info("[SwarmManager] SwarmEventManager initialized - System enabled: {}, Active swarm: {}", 
-            swarmConfig.system_enabled, SwarmStatistics.hasActiveSwarm());
+            SwarmConfig.get().system_enabled, SwarmStatistics.hasActiveSwarm());
     }
 
     public static SwarmEventManager getInstance() {
@@ -61,14 +65,8 @@ public class SwarmEventManager {
     }
 
     public void tick() {
-        // Reload config every few ticks to ensure sync (not every tick for performance)
-        if (swarmCheckTimer % 100 == 0) { // Every 5 seconds
-            SwarmConfig newConfig = SwarmConfig.load();
-            if (newConfig.system_enabled != swarmConfig.system_enabled) {
-                // Reduced logging
-            }
-            swarmConfig = newConfig;
-        }
+        // Take the current snapshot once per tick; edits to the file are picked up by SwarmConfig's watcher.
+        swarmConfig = SwarmConfig.get();
         
         if (!swarmConfig.system_enabled) return;
 
@@ -96,7 +94,7 @@ public class SwarmEventManager {
     }
 
     private void attemptSwarmGeneration() {
-        if (SwarmStatistics.hasActiveSwarm()) return;
+        if (SwarmStatistics.hasActiveSwarm() || isSearchingLocation()) return;
 
         long currentTime = System.currentTimeMillis();
         long timeSinceLastSwarm = currentTime - lastSwarmEndTime;
@@ -116,14 +114,11 @@ public class SwarmEventManager {
             if (allPokemon.isEmpty()) return;
 
             String selectedPokemon = allPokemon.get(ThreadLocalRandom.current().nextInt(allPokemon.size()));
-            BlockPos swarmLocation = generateRemoteLocation();
-            if (swarmLocation == null) return;
-
-            ServerWorld overworld = server.getOverworld();
-            Biome biome = overworld.getBiome(swarmLocation).value();
-            String biomeName = getBiomeName(overworld, swarmLocation);
-
-            startSwarm(selectedPokemon, swarmLocation, biomeName);
+            findRemoteLocation(swarmLocation -> {
+                if (SwarmStatistics.hasActiveSwarm()) return;
+                String biomeName = getBiomeName(server.getOverworld(), swarmLocation);
+                startSwarm(selectedPokemon, swarmLocation, biomeName);
+            });
             
         } catch (Exception e) {
             PokeNotifier.LOGGER.error("Error generating swarm", e);
@@ -164,24 +159,36 @@ public class SwarmEventManager {
         return startManualSwarm(pokemonName, adminName, false);
     }
     
+    /**
+     * Starts looking for a remote location and starts the swarm once one is found, a few ticks later.
+     * @return true once the search has started.
+     */
     public boolean startManualSwarm(String pokemonName, String adminName, boolean forceShiny) {
         // Manual swarms are independent of automatic system - force start even if one exists
         if (SwarmStatistics.hasActiveSwarm()) {
             endCurrentSwarm("admin");
         }
+        cancelLocationSearch();
 
-        BlockPos location = generateRemoteLocation();
-        if (location == null) {
-            PokeNotifier.LOGGER.warn("[SwarmManager] Could not generate remote location for swarm");
-            return false;
-        }
+        findRemoteLocation(location -> {
+            if (SwarmStatistics.hasActiveSwarm()) {
+                endCurrentSwarm("admin");
+            }
+            String biomeName = getBiomeName(server.getOverworld(), location);
+            startSwarmWithShiny(pokemonName, location, biomeName, adminName, forceShiny);
+        });
+        return true;
+    }
 
-        ServerWorld overworld = server.getOverworld();
-        Biome biome = overworld.getBiome(location).value();
-        String biomeName = getBiomeName(overworld, location);
+    public boolean isSearchingLocation() {
+        return pendingLocationSearch != null && !pendingLocationSearch.isDone();
+    }
 
-        startSwarmWithShiny(pokemonName, location, biomeName, adminName, forceShiny);
-        return true;
+    private void cancelLocationSearch() {
+        if (pendingLocationSearch != null) {
+            pendingLocationSearch.cancel();
+            pendingLocationSearch = null;
+        }
     }
     
     public boolean startManualSwarmAt(String pokemonName, BlockPos playerPos, String adminName) {
@@ -193,6 +200,7 @@ public class SwarmEventManager {
         if (SwarmStatistics.hasActiveSwarm()) {
             endCurrentSwarm("admin");
         }
+        cancelLocationSearch();
 
         ServerWorld overworld = server.getOverworld();
         
@@ -241,51 +249,45 @@ public class SwarmEventManager {
         PokeNotifier.LOGGER.info("[SwarmManager] Ended swarm (reason: {})", reason);
     }
 
-    private BlockPos generateRemoteLocation() {
+    /**
+     * Looks for a location far from every player, without loading chunks on the server thread.
+     * Tries up to 100 spots around random players, then 20 anywhere within 5000 blocks of the origin.
+     * @param onFound Called on the server thread with the location, some ticks later.
+     */
+    private void findRemoteLocation(java.util.function.Consumer<BlockPos> onFound) {
         ServerWorld overworld = server.getOverworld();
-        List<ServerPlayerEntity> players = server.getPlayerManager().getPlayerList().stream()
-                .filter(p -> p.getServerWorld().getRegistryKey() == net.minecraft.server.world.ServerWorld.OVERWORLD)
-                .toList();
-        
-        if (players.isEmpty()) {
-            return generateFallbackLocation(overworld);
-        }
-
-        for (int attempt = 0; attempt < 100; attempt++) {
-            ServerPlayerEntity randomPlayer = players.get(ThreadLocalRandom.current().nextInt(players.size()));
-            BlockPos playerPos = randomPlayer.getBlockPos();
-            
-            double angle = ThreadLocalRandom.current().nextDouble() * 2 * Math.PI;
-            int distance = ThreadLocalRandom.current().nextInt(swarmConfig.min_distance, swarmConfig.max_distance);
-            
-            int x = playerPos.getX() + (int) (Math.cos(angle) * distance);
-            int z = playerPos.getZ() + (int) (Math.sin(angle) * distance);
-            
-            BlockPos candidate = validateAndAdjustLocation(overworld, x, z);
-            if (candidate != null && isValidSwarmLocation(candidate, players)) {
-                return candidate;
+        int[] drawn = {0};
+        java.util.function.Supplier<BlockPos> candidates = () -> {
+            List<ServerPlayerEntity> players = getOverworldPlayers();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (drawn[0]++ >= 100 || players.isEmpty()) {
+                return new BlockPos(random.nextInt(-5000, 5000), 0, random.nextInt(-5000, 5000));
             }
-        }
-        
-        return generateFallbackLocation(overworld);
-    }
-    
-    private BlockPos generateFallbackLocation(ServerWorld world) {
-        for (int attempt = 0; attempt < 20; attempt++) {
-            int x = ThreadLocalRandom.current().nextInt(-5000, 5000);
-            int z = ThreadLocalRandom.current().nextInt(-5000, 5000);
+            BlockPos playerPos = players.get(random.nextInt(players.size())).getBlockPos();
+            double angle = random.nextDouble() * 2 * Math.PI;
+            int distance = random.nextInt(swarmConfig.min_distance, swarmConfig.max_distance);
+            return new BlockPos(playerPos.getX() + (int) (Math.cos(angle) * distance), 0, playerPos.getZ() + (int) (Math.sin(angle) * distance));
+        };
+
+        pendingLocationSearch = LocationFinder.find(overworld, candidates, 120, (world, x, z) -> {
             BlockPos candidate = validateAndAdjustLocation(world, x, z);
-            if (candidate != null) {
-                return candidate;
-            }
-        }
-        return new BlockPos(0, 64, 0); // Ultimate fallback
+            return candidate != null && isValidSwarmLocation(candidate, getOverworldPlayers()) ? candidate : null;
+        }, onFound, () -> {
+            PokeNotifier.LOGGER.warn("[SwarmManager] Could not find a valid remote location for swarm, using the origin");
+            onFound.accept(new BlockPos(0, 64, 0)); // Ultimate fallback
+        });
+    }
+
+    private List<ServerPlayerEntity> getOverworldPlayers() {
+        return server.getPlayerManager().getPlayerList().stream()
+                .filter(p -> p.getServerWorld().getRegistryKey() == net.minecraft.server.world.ServerWorld.OVERWORLD)
+                .toList();
     }
     
+    /**
+     * Only called by the LocationFinder once the chunks around (x, z) are loaded.
+     */
     private BlockPos validateAndAdjustLocation(ServerWorld world, int x, int z) {
-        // Force chunk loading to get accurate terrain data
-        world.getChunk(x >> 4, z >> 4);
-        
         int y = world.getTopY(net.minecraft.world.Heightmap.Type.WORLD_SURFACE, x, z);
         BlockPos pos = new BlockPos(x, y, z);
         
@@ -442,9 +444,7 @@ public class SwarmEventManager {
 
     public boolean hasActiveSwarm() { return SwarmStatistics.hasActiveSwarm(); }
     public boolean isSystemEnabled() { 
-        // Always get fresh config state
-        SwarmConfig currentConfig = SwarmConfig.load();
-        return currentConfig.system_enabled; 
+        return SwarmConfig.get().system_enabled; 
     }
     public String getActiveSwarmPokemon() { 
         SwarmStatistics.CurrentSwarm current = SwarmStatistics.getCurrentSwarm();
@@ -482,8 +482,7 @@ public class SwarmEventManager {
     }
     
     public void toggleSystem() {
-        swarmConfig.system_enabled = !swarmConfig.system_enabled;
-        swarmConfig.save();
+        swarmConfig = SwarmConfig.update(config -> config.system_enabled = !config.system_enabled);
         PokeNotifier.LOGGER.info("[SwarmManager] System toggled to: {}", swarmConfig.system_enabled);
     }
     
@@ -611,9 +610,7 @@ public class SwarmEventManager {
         
 
         
-        for (net.minecraft.server.network.ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-            net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking.send(player, payload);
-        }
+        PayloadBroadcaster.broadcast(server, payload);
     }
     
     /**
@@ -29,18 +29,16 @@ import net.minecraft.block.BeaconBlock;
 import net.minecraft.block.entity.BeaconBlockEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.util.math.random.Random;
-import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import com.zehro_mc.pokenotifier.PokeNotifier;
 import com.zehro_mc.pokenotifier.networking.GlobalHuntPayload;
+import com.zehro_mc.pokenotifier.networking.PayloadBroadcaster;
 import com.zehro_mc.pokenotifier.util.RarityUtil;
+import com.zehro_mc.pokenotifier.util.LocationFinder;
 import com.zehro_mc.pokenotifier.util.MessageUtils;
+import com.zehro_mc.pokenotifier.util.TickScheduler;
 
 import java.util.Iterator;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 public class GlobalHuntEvent {
     private final ServerWorld world;
@@ -52,8 +50,9 @@ public class GlobalHuntEvent {
     private PokemonEntity spawnedPokemon;
     private boolean isActive = false;
     private boolean isCaptured = false;
-    private ScheduledFuture<?> timeoutTask;
-    private ScheduledExecutorService scheduler;
+    private TickScheduler.ScheduledTask timeoutTask;
+    private TickScheduler.ScheduledTask statusTask;
+    private TickScheduler.ScheduledTask positionTask;
     private BlockPos beaconPos;
     
     public GlobalHuntEvent(ServerWorld world, BlockPos coordinates, String pokemonName, boolean isShiny, int durationMinutes) {
@@ -62,7 +61,6 @@ public class GlobalHuntEvent {
         this.pokemonName = pokemonName;
         this.isShiny = isShiny;
         this.durationMinutes = durationMinutes;
-        this.scheduler = Executors.newSingleThreadScheduledExecutor();
     }
     
     public void start() {
@@ -80,13 +78,13 @@ public class GlobalHuntEvent {
         spawnPokemon();
         
         // Schedule timeout
-        timeoutTask = scheduler.schedule(this::timeout, durationMinutes, TimeUnit.MINUTES);
+        timeoutTask = TickScheduler.schedule((long) durationMinutes * TickScheduler.TICKS_PER_MINUTE, this::timeout);
         
         // Schedule periodic Pokemon status checks (every 30 seconds)
-        scheduler.scheduleAtFixedRate(this::checkPokemonStatus, 30, 30, TimeUnit.SECONDS);
+        statusTask = TickScheduler.scheduleRepeating(30 * TickScheduler.TICKS_PER_SECOND, 30 * TickScheduler.TICKS_PER_SECOND, this::checkPokemonStatus);
         
         // Schedule position maintenance (every 5 seconds)
-        scheduler.scheduleAtFixedRate(this::maintainPokemonPosition, 5, 5, TimeUnit.SECONDS);
+        positionTask = TickScheduler.scheduleRepeating(5 * TickScheduler.TICKS_PER_SECOND, 5 * TickScheduler.TICKS_PER_SECOND, this::maintainPokemonPosition);
         
         PokeNotifier.LOGGER.info("Global Hunt Event fully started: {} at {}", pokemonName, coordinates);
     }
@@ -199,9 +197,7 @@ public class GlobalHuntEvent {
             durationMinutes
         );
         
-        world.getServer().getPlayerManager().getPlayerList().forEach(player -> {
-            ServerPlayNetworking.send(player, payload);
-        });
+        PayloadBroadcaster.broadcast(world.getServer(), payload);
     }
     
     private String getWorldDisplayName() {
@@ -241,9 +237,7 @@ public class GlobalHuntEvent {
             0 // Duration not needed for completion
         );
         
-        world.getServer().getPlayerManager().getPlayerList().forEach(player -> {
-            ServerPlayNetworking.send(player, payload);
-        });
+        PayloadBroadcaster.broadcast(world.getServer(), payload);
         
         PokeNotifier.LOGGER.info("Global Hunt completed: {} captured by {}", pokemonName, playerName);
         
@@ -280,9 +274,7 @@ public class GlobalHuntEvent {
             0
         );
         
-        world.getServer().getPlayerManager().getPlayerList().forEach(player -> {
-            ServerPlayNetworking.send(player, payload);
-        });
+        PayloadBroadcaster.broadcast(world.getServer(), payload);
         
         PokeNotifier.LOGGER.info("Global Hunt timed out: {} escaped", pokemonName);
         
@@ -308,13 +300,9 @@ public class GlobalHuntEvent {
         
         isActive = false;
         
-        if (timeoutTask != null && !timeoutTask.isDone()) {
-            timeoutTask.cancel(false);
-        }
-        
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
-        }
+        if (timeoutTask != null) timeoutTask.cancel();
+        if (statusTask != null) statusTask.cancel();
+        if (positionTask != null) positionTask.cancel();
         
         PokeNotifier.LOGGER.info("Global Hunt Event cancelled");
     }
@@ -369,6 +357,7 @@ public class GlobalHuntEvent {
             GlobalHuntManager.getInstance().onEventCompleted(false);
             
             cancel();
+            return;
         }
         
         // Check if Pokemon was permanently removed (not just chunk unloading)
@@ -457,6 +446,17 @@ public class GlobalHuntEvent {
     private BlockPos findGroundLevel(ServerWorld world, BlockPos pos) {
         int seaLevel = world.getSeaLevel();
         
+        // Under a bedrock roof (the Nether) the top-down search below would land on the roof
+        if (world.getDimension().hasCeiling()) {
+            BlockPos groundPos = findGroundBelowCeiling(world, pos.getX(), pos.getZ());
+            if (groundPos != null) {
+                return groundPos;
+            }
+            BlockPos fallbackPos = new BlockPos(pos.getX(), Math.max(seaLevel + 5, 70), pos.getZ());
+            PokeNotifier.LOGGER.warn("No safe ground found below the ceiling, creating platform at {}", fallbackPos);
+            return fallbackPos;
+        }
+        
         // First try to find land within a reasonable radius (prefer land 80% of the time)
         if (world.getRandom().nextFloat() < 0.8f) {
             BlockPos landPos = findNearbyLand(world, pos, 100);
@@ -529,6 +529,9 @@ public class GlobalHuntEvent {
             int x = center.getX() + random.nextInt(radius * 2) - radius;
             int z = center.getZ() + random.nextInt(radius * 2) - radius;
             
+            // Only look where the terrain is already loaded; checking elsewhere would load chunks on the server thread
+            if (!LocationFinder.isAreaLoaded(world, new net.minecraft.util.math.ChunkPos(x >> 4, z >> 4))) continue;
+            
             BlockPos testPos = new BlockPos(x, world.getSeaLevel() + 5, z);
             
             // Check if this position is over land
@@ -551,6 +554,24 @@ public class GlobalHuntEvent {
         return null; // No land found
     }
     
+    /**
+     * Finds the highest safe ground below a dimension's ceiling, leaving room for the roof.
+     * @return The air block standing on that ground, or null if the column has none.
+     */
+    static BlockPos findGroundBelowCeiling(ServerWorld world, int x, int z) {
+        int startY = world.getBottomY() + world.getLogicalHeight() - 10;
+        for (int y = startY; y >= world.getBottomY() + 10; y--) {
+            BlockPos checkPos = new BlockPos(x, y, z);
+            if (isSafeGroundBlock(world.getBlockState(checkPos.down()).getBlock()) &&
+                isSafeAirBlock(world.getBlockState(checkPos).getBlock()) &&
+                isSafeAirBlock(world.getBlockState(checkPos.up()).getBlock()) &&
+                isSafeAirBlock(world.getBlockState(checkPos.up(2)).getBlock())) {
+                return checkPos;
+            }
+        }
+        return null;
+    }
+    
     private boolean hasOpenSky(ServerWorld world, BlockPos pos) {
         // Check if there's a clear path to sky (no solid blocks above for at least 10 blocks)
         for (int y = 1; y <= 10; y++) {
@@ -562,7 +583,7 @@ public class GlobalHuntEvent {
         return true;
     }
     
-    private boolean isSafeGroundBlock(Block block) {
+    private static boolean isSafeGroundBlock(Block block) {
         return block != Blocks.AIR && 
                block != Blocks.LAVA && 
                block != Blocks.WATER && 
@@ -571,7 +592,7 @@ public class GlobalHuntEvent {
                block.getDefaultState().isOpaque();
     }
     
-    private boolean isSafeAirBlock(Block block) {
+    private static boolean isSafeAirBlock(Block block) {
         return block == Blocks.AIR || 
                block == Blocks.SHORT_GRASS || 
                block == Blocks.TALL_GRASS ||
@@ -16,24 +16,23 @@ import net.minecraft.world.World;
 import com.zehro_mc.pokenotifier.PokeNotifier;
 import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.model.EventsConfig;
+import com.zehro_mc.pokenotifier.util.LocationFinder;
+import com.zehro_mc.pokenotifier.util.TickScheduler;
 
 import java.util.ArrayList;
 import java.util.Random;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import net.minecraft.world.Heightmap;
 
 public class GlobalHuntManager {
     private static GlobalHuntManager instance;
     private MinecraftServer server;
     private GlobalHuntEvent currentEvent;
-    private ScheduledExecutorService scheduler;
+    private TickScheduler.ScheduledTask nextEventTask;
+    private LocationFinder.Search pendingLocationSearch;
     private GlobalHuntConfig config;
     private Random random = new Random();
     
     private GlobalHuntManager() {
-        this.scheduler = Executors.newSingleThreadScheduledExecutor();
         this.config = new GlobalHuntConfig();
     }
     
@@ -54,15 +53,22 @@ public class GlobalHuntManager {
     }
     
     public void shutdown() {
-        if (scheduler != null && !scheduler.isShutdown()) {
-            scheduler.shutdown();
+        if (nextEventTask != null) {
+            nextEventTask.cancel();
+            nextEventTask = null;
         }
+        cancelLocationSearch();
         if (currentEvent != null) {
             currentEvent.cancel();
         }
     }
     
     private void scheduleNextEvent() {
+        // Only one pending event at a time, however many paths ask for the next one.
+        if (nextEventTask != null) {
+            nextEventTask.cancel();
+            nextEventTask = null;
+        }
         EventsConfig eventsConfig = ConfigManager.getEventsConfig();
         if (server == null || !eventsConfig.globalHuntEnabled) return;
         
@@ -73,15 +79,12 @@ public class GlobalHuntManager {
         
         PokeNotifier.LOGGER.info("Next Global Hunt scheduled in {} hours", delayHours);
         
-        scheduler.schedule(() -> {
-            if (server != null && !server.isStopped()) {
-                server.execute(this::startRandomEvent);
-            }
-        }, delayHours, TimeUnit.HOURS);
+        // Counted in server ticks, so it runs on the server thread and pauses while the server is paused.
+        nextEventTask = TickScheduler.schedule(delayHours * 60L * TickScheduler.TICKS_PER_MINUTE, this::startRandomEvent);
     }
     
     public void startRandomEvent() {
-        if (currentEvent != null && currentEvent.isActive()) {
+        if ((currentEvent != null && currentEvent.isActive()) || isSearchingLocation()) {
             PokeNotifier.LOGGER.warn("Attempted to start Global Hunt while one is already active");
             return;
         }
@@ -94,35 +97,36 @@ public class GlobalHuntManager {
             return;
         }
         
-        // Generate random coordinates near active players
-        BlockPos coordinates = generateRandomCoordinatesNearPlayers(world);
-        if (coordinates == null) {
-            PokeNotifier.LOGGER.error("Failed to generate valid coordinates for Global Hunt");
-            scheduleNextEvent();
-            return;
-        }
-        
         // Select random Pokemon
         String pokemon = config.getRandomPokemon();
         boolean isShiny = random.nextDouble() < config.getShinyChance();
         
-        startEvent(world, coordinates, pokemon, isShiny, false);
+        // Find random coordinates near active players; the event starts once they are confirmed
+        findCoordinatesNearPlayers(world, coordinates -> startEvent(world, coordinates, pokemon, isShiny, false), this::scheduleNextEvent);
     }
     
+    /**
+     * Starts looking for challenging coordinates and starts the event once they are confirmed, a few ticks later.
+     */
     public void startManualEvent(ServerWorld world, String pokemon, boolean isShiny) {
-        if (currentEvent != null && currentEvent.isActive()) {
+        if ((currentEvent != null && currentEvent.isActive()) || isSearchingLocation()) {
             PokeNotifier.LOGGER.warn("Cannot start manual Global Hunt while one is already active");
             return;
         }
         
         // Generate challenging coordinates for manual events too
-        BlockPos coordinates = generateRandomCoordinatesNearPlayers(world);
-        if (coordinates == null) {
-            PokeNotifier.LOGGER.error("Failed to generate coordinates for manual Global Hunt");
-            return;
+        findCoordinatesNearPlayers(world, coordinates -> startEvent(world, coordinates, pokemon, isShiny, true), () -> {});
+    }
+
+    public boolean isSearchingLocation() {
+        return pendingLocationSearch != null && !pendingLocationSearch.isDone();
+    }
+
+    private void cancelLocationSearch() {
+        if (pendingLocationSearch != null) {
+            pendingLocationSearch.cancel();
+            pendingLocationSearch = null;
         }
-        
-        startEvent(world, coordinates, pokemon, isShiny, true);
     }
     
     public void startManualEventAtLocation(ServerWorld world, BlockPos coordinates, String pokemon, boolean isShiny) {
@@ -170,7 +174,14 @@ public class GlobalHuntManager {
         return validWorlds.get(random.nextInt(validWorlds.size()));
     }
     
-    private BlockPos generateRandomCoordinatesNearPlayers(ServerWorld world) {
+    /**
+     * Looks for coordinates at a challenging distance from a random player in the world, without loading
+     * chunks on the server thread. Falls back to 2000-3000 blocks from world spawn when no player is around
+     * or the first 20 tries fail. If no candidate can be confirmed at all, an unchecked spot 2000-3000 blocks
+     * from spawn is used; its chunks are still loaded through {@link LocationFinder} before the event starts there,
+     * and {@code onFailed} only runs if even that times out.
+     */
+    private void findCoordinatesNearPlayers(ServerWorld world, java.util.function.Consumer<BlockPos> onFound, Runnable onFailed) {
         // Get active players in this world
         var playersInWorld = new ArrayList<net.minecraft.server.network.ServerPlayerEntity>();
         for (var player : server.getPlayerManager().getPlayerList()) {
@@ -178,60 +189,67 @@ public class GlobalHuntManager {
                 playersInWorld.add(player);
             }
         }
-            
-        if (playersInWorld.isEmpty()) {
-            return generateFallbackCoordinates(world);
-        }
         
         // Pick a random player as reference
-        var referencePlayer = playersInWorld.get(random.nextInt(playersInWorld.size()));
+        var referencePlayer = playersInWorld.isEmpty() ? null : playersInWorld.get(random.nextInt(playersInWorld.size()));
+        BlockPos spawn = world.getSpawnPos();
         
         // Use distances from EventsConfig
         EventsConfig eventsConfig = ConfigManager.getEventsConfig();
         int minDistance = eventsConfig.globalHuntMinDistance;
         int maxDistance = eventsConfig.globalHuntMaxDistance;
         
-        for (int attempts = 0; attempts < 20; attempts++) {
+        int[] attempts = {0};
+        java.util.function.Supplier<BlockPos> candidates = () -> {
             // Generate random angle
             double angle = random.nextDouble() * 2 * Math.PI;
-            
-            // Generate random distance within range
-            int distance = minDistance + random.nextInt(maxDistance - minDistance);
-            
-            // Calculate coordinates
-            int x = (int) (referencePlayer.getX() + Math.cos(angle) * distance);
-            int z = (int) (referencePlayer.getZ() + Math.sin(angle) * distance);
-            int y = world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z);
-            
-            BlockPos pos = new BlockPos(x, y, z);
-            
+            if (referencePlayer != null && attempts[0]++ < 20) {
+                // Generate random distance within range
+                int distance = minDistance + random.nextInt(maxDistance - minDistance);
+                return new BlockPos((int) (referencePlayer.getX() + Math.cos(angle) * distance), 0,
+                        (int) (referencePlayer.getZ() + Math.sin(angle) * distance));
+            }
+            // Even fallback should be challenging (2000-3000 blocks from spawn)
+            int distance = 2000 + random.nextInt(1000);
+            return new BlockPos((int) (spawn.getX() + Math.cos(angle) * distance), 0, (int) (spawn.getZ() + Math.sin(angle) * distance));
+        };
+        
+        pendingLocationSearch = LocationFinder.find(world, candidates, 30, (searchWorld, x, z) -> {
+            BlockPos pos = findSurface(searchWorld, x, z);
             // Verify it's a valid spawn location
-            if (isValidSpawnLocation(world, pos)) {
+            return pos != null && isValidSpawnLocation(searchWorld, pos) ? pos : null;
+        }, coordinates -> {
+            if (referencePlayer != null) {
                 PokeNotifier.LOGGER.info("Generated Global Hunt coordinates {} blocks from player {}", 
-                    (int) Math.sqrt(Math.pow(x - referencePlayer.getX(), 2) + Math.pow(z - referencePlayer.getZ(), 2)),
+                    (int) Math.sqrt(Math.pow(coordinates.getX() - referencePlayer.getX(), 2) + Math.pow(coordinates.getZ() - referencePlayer.getZ(), 2)),
                     referencePlayer.getName().getString());
-                return pos;
             }
-        }
-        
-        PokeNotifier.LOGGER.warn("Failed to generate challenging coordinates, using fallback");
-        return generateFallbackCoordinates(world);
+            onFound.accept(coordinates);
+        }, () -> {
+            // Last resort, unchecked like the old fallback, but its chunk is still loaded before the event starts
+            double angle = random.nextDouble() * 2 * Math.PI;
+            int distance = 2000 + random.nextInt(1000);
+            BlockPos fallback = new BlockPos((int) (spawn.getX() + Math.cos(angle) * distance), 0,
+                    (int) (spawn.getZ() + Math.sin(angle) * distance));
+            PokeNotifier.LOGGER.warn("Could not confirm Global Hunt coordinates, using unchecked fallback {} blocks from world spawn", distance);
+            pendingLocationSearch = LocationFinder.find(world, () -> fallback, 1, (searchWorld, x, z) -> {
+                BlockPos pos = findSurface(searchWorld, x, z);
+                return pos != null ? pos : new BlockPos(x, searchWorld.getSeaLevel(), z);
+            }, onFound, () -> {
+                PokeNotifier.LOGGER.error("Global Hunt fallback location {} did not load in time; no event started", fallback);
+                onFailed.run();
+            });
+        });
     }
     
-    private BlockPos generateFallbackCoordinates(ServerWorld world) {
-        // Fallback: spawn at challenging distance from world spawn
-        BlockPos spawn = world.getSpawnPos();
-        
-        // Even fallback should be challenging (2000-3000 blocks from spawn)
-        double angle = random.nextDouble() * 2 * Math.PI;
-        int distance = 2000 + random.nextInt(1000);
-        
-        int x = (int) (spawn.getX() + Math.cos(angle) * distance);
-        int z = (int) (spawn.getZ() + Math.sin(angle) * distance);
-        int y = world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z);
-        
-        PokeNotifier.LOGGER.info("Using fallback coordinates {} blocks from world spawn", distance);
-        return new BlockPos(x, y, z);
+    /**
+     * @return The surface of a column, or null if a dimension with a ceiling has no room below it there.
+     */
+    private static BlockPos findSurface(ServerWorld world, int x, int z) {
+        if (world.getDimension().hasCeiling()) {
+            return GlobalHuntEvent.findGroundBelowCeiling(world, x, z);
+        }
+        return new BlockPos(x, world.getTopY(Heightmap.Type.WORLD_SURFACE, x, z), z);
     }
     
     private boolean isValidSpawnLocation(ServerWorld world, BlockPos pos) {
@@ -268,6 +286,7 @@ public class GlobalHuntManager {
     }
     
     public void cancelCurrentEvent() {
+        cancelLocationSearch();
         if (currentEvent != null && currentEvent.isActive()) {
             currentEvent.cancel();
             PokeNotifier.LOGGER.info("Global Hunt event cancelled by admin");
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.mixin;
+
+import com.zehro_mc.pokenotifier.networking.PayloadTrafficStats;
+import net.minecraft.network.PacketCallbacks;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.common.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerCommonNetworkHandler;
+import net.minecraft.server.network.ServerPlayNetworkHandler;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Counts the Poke Notifier payloads sent to each player for the network traffic stats.
+ */
+@Mixin(ServerCommonNetworkHandler.class)
+public abstract class ServerCommonNetworkHandlerMixin {
+
+    @Inject(method = "send(Lnet/minecraft/network/packet/Packet;Lnet/minecraft/network/PacketCallbacks;)V", at = @At("HEAD"))
+    private void countPokeNotifierPayload(Packet<?> packet, @Nullable PacketCallbacks callbacks, CallbackInfo ci) {
+        if (packet instanceof CustomPayloadS2CPacket customPayloadPacket
+                && (Object) this instanceof ServerPlayNetworkHandler playNetworkHandler) {
+            PayloadTrafficStats.recordSend(playNetworkHandler.player, customPayloadPacket.payload());
+        }
+    }
+}
@@ -19,5 +19,7 @@ public class CustomListConfig {
     // --- FIX: Add config_version for migration compatibility ---
     public int config_version = 1; 
     public Set<String> tracked_pokemon = new HashSet<>();
+    // Opt-in: also hear about rare captures of Pokémon this player was never notified about.
+    public boolean capture_feed_enabled = false;
 
 }
\ No newline at end of file
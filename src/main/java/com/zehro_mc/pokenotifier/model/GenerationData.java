@@ -8,14 +8,59 @@
 
 package com.zehro_mc.pokenotifier.model;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Represents the data for a single Pokémon generation, including its region name
  * and the set of Pokémon belonging to it. Loaded from resource JSON files.
+ * <p>
+ * The position of each Pokémon in its file is used as its index in saved catch progress,
+ * so new Pokémon must only ever be appended to the end of a generation file.
  */
 public class GenerationData {
     public String region = "Unknown";
-    public Set<String> pokemon = new HashSet<>();
+    public Set<String> pokemon = new LinkedHashSet<>();
+
+    private transient volatile List<String> speciesByIndex;
+    private transient volatile Map<String, Integer> indexBySpecies;
+
+    /**
+     * @param speciesName The Pokémon's name as written in the generation file.
+     * @return Its index within this generation, or -1 if it does not belong to it.
+     */
+    public int indexOf(String speciesName) {
+        buildIndex();
+        return indexBySpecies.getOrDefault(speciesName, -1);
+    }
+
+    /**
+     * @param index An index previously returned by {@link #indexOf(String)}.
+     * @return The Pokémon's name, or null if the index is out of range.
+     */
+    public String speciesAt(int index) {
+        buildIndex();
+        return index >= 0 && index < speciesByIndex.size() ? speciesByIndex.get(index) : null;
+    }
+
+    public int size() {
+        buildIndex();
+        return speciesByIndex.size();
+    }
+
+    private void buildIndex() {
+        if (indexBySpecies != null) return;
+        // Gson fills Set fields with a LinkedHashSet, so iteration follows the file order.
+        List<String> order = new ArrayList<>(pokemon);
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            indices.put(order.get(i), i);
+        }
+        speciesByIndex = order;
+        indexBySpecies = indices;
+    }
 }
\ No newline at end of file
@@ -28,4 +28,17 @@ public class PlayerCatchProgress {
     public Map<String, Set<String>> caught_pokemon = new HashMap<>();
     /** A set of generation IDs that the player has already completed. */
     public Set<String> completed_generations = new HashSet<>();
+
+    /**
+     * Creates a deep copy of this progress, safe to serialize off the server thread.
+     * @return A new, independent PlayerCatchProgress.
+     */
+    public PlayerCatchProgress copy() {
+        PlayerCatchProgress copy = new PlayerCatchProgress();
+        copy.initialPcSyncCompleted = initialPcSyncCompleted;
+        copy.active_generations = new HashSet<>(active_generations);
+        caught_pokemon.forEach((gen, caught) -> copy.caught_pokemon.put(gen, new HashSet<>(caught)));
+        copy.completed_generations = new HashSet<>(completed_generations);
+        return copy;
+    }
 }
\ No newline at end of file
@@ -39,6 +39,8 @@ public record AdminCommandPayload(Action action, String parameter) implements Cu
         TOGGLE_TEST_MODE,
         TOGGLE_BOUNTY_SYSTEM,
         SERVER_STATUS,
+        NETWORK_STATS,
+        TICK_TIMES,
         RELOAD_CONFIG,
         RESET_CONFIG,
         
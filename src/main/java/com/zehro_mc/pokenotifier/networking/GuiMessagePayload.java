@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.networking;
+
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An S2C payload answering a GUI action with structured lines instead of serialized text.
+ * Each line carries a translation key and plain string arguments; the client builds the styled text
+ * (colors, ON/OFF markers, clickable list entries) itself, so only a few short strings cross the wire.
+ */
+public record GuiMessagePayload(List<Line> lines) implements CustomPayload {
+    public static final Id<GuiMessagePayload> ID = new Id<>(Identifier.of(PokeNotifier.MOD_ID, "gui_message_payload"));
+
+    public static final PacketCodec<RegistryByteBuf, GuiMessagePayload> CODEC = PacketCodec.of(
+            (payload, buf) -> {
+                buf.writeVarInt(payload.lines.size());
+                for (Line line : payload.lines) {
+                    buf.writeEnumConstant(line.kind());
+                    buf.writeEnumConstant(line.tone());
+                    buf.writeString(line.key());
+                    buf.writeVarInt(line.args().size());
+                    for (String arg : line.args()) {
+                        buf.writeString(arg);
+                    }
+                }
+            },
+            buf -> {
+                int size = buf.readVarInt();
+                List<Line> lines = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    Kind kind = buf.readEnumConstant(Kind.class);
+                    Tone tone = buf.readEnumConstant(Tone.class);
+                    String key = buf.readString();
+                    int argCount = buf.readVarInt();
+                    List<String> args = new ArrayList<>(argCount);
+                    for (int a = 0; a < argCount; a++) {
+                        args.add(buf.readString());
+                    }
+                    lines.add(new Line(kind, tone, key, args));
+                }
+                return new GuiMessagePayload(lines);
+            });
+
+    public enum Kind {
+        /** A translated sentence; arguments are highlighted. */
+        MESSAGE,
+        /** "Label = ON/OFF"; the tone is SUCCESS for ON and ERROR for OFF. */
+        STATUS,
+        /** "Label: value"; the tone colors the value. */
+        VALUE,
+        /** A custom list entry the player can click to remove; the key is the Pokémon name. */
+        REMOVABLE_ENTRY
+    }
+
+    public enum Tone {
+        HEADER(Formatting.GOLD),
+        INFO(Formatting.AQUA),
+        PLAIN(Formatting.WHITE),
+        MUTED(Formatting.GRAY),
+        SUCCESS(Formatting.GREEN),
+        WARNING(Formatting.YELLOW),
+        ERROR(Formatting.RED);
+
+        private final Formatting formatting;
+
+        Tone(Formatting formatting) {
+            this.formatting = formatting;
+        }
+
+        public Formatting getFormatting() {
+            return formatting;
+        }
+    }
+
+    public record Line(Kind kind, Tone tone, String key, List<String> args) {
+        public static Line message(Tone tone, String key, String... args) {
+            return new Line(Kind.MESSAGE, tone, key, List.of(args));
+        }
+
+        public static Line status(String labelKey, boolean enabled) {
+            return new Line(Kind.STATUS, enabled ? Tone.SUCCESS : Tone.ERROR, labelKey, List.of());
+        }
+
+        public static Line value(String labelKey, String value, Tone valueTone) {
+            return new Line(Kind.VALUE, valueTone, labelKey, List.of(value));
+        }
+
+        public static Line removableEntry(String pokemonName) {
+            return new Line(Kind.REMOVABLE_ENTRY, Tone.HEADER, pokemonName, List.of());
+        }
+    }
+
+    public static GuiMessagePayload of(Line... lines) {
+        return new GuiMessagePayload(List.of(lines));
+    }
+
+    public static GuiMessagePayload message(Tone tone, String key, String... args) {
+        return of(Line.message(tone, key, args));
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -19,6 +19,10 @@ import net.minecraft.util.Identifier;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * An S2C payload with pre-styled text lines for the GUI response panel.
+ * Prefer {@link GuiMessagePayload}, which sends message keys and arguments instead of serialized text.
+ */
 public record GuiResponsePayload(List<Text> lines) implements CustomPayload {
     public static final Id<GuiResponsePayload> ID = new Id<>(Identifier.of(PokeNotifier.MOD_ID, "gui_response_payload"));
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.networking;
+
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An S2C payload carrying everything queued for one player during a server tick:
+ * spawn alerts, status updates and the latest "Catch 'em All" progress.
+ * The client hands each entry to the same handler as the standalone payload.
+ */
+public record NotificationBatchPayload(
+        List<WaypointPayload> waypoints,
+        List<StatusUpdatePayload> statusUpdates,
+        Optional<CatchProgressPayload> progress
+) implements CustomPayload {
+    public static final Id<NotificationBatchPayload> ID = new Id<>(Identifier.of(PokeNotifier.MOD_ID, "notification_batch_payload"));
+    public static final PacketCodec<RegistryByteBuf, NotificationBatchPayload> CODEC = PacketCodec.tuple(
+            WaypointPayload.CODEC.collect(PacketCodecs.toList()), NotificationBatchPayload::waypoints,
+            StatusUpdatePayload.CODEC.collect(PacketCodecs.toList()), NotificationBatchPayload::statusUpdates,
+            PacketCodecs.optional(CatchProgressPayload.CODEC), NotificationBatchPayload::progress,
+            NotificationBatchPayload::new
+    );
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
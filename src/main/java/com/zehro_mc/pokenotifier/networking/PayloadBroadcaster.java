@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.networking;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends one S2C payload to every online player. The payload is encoded once into a shared buffer and each
+ * connection copies those bytes into its own packet, instead of running the payload's codec per recipient.
+ * Compression and encryption happen later in each connection's pipeline, on the whole frame, so they are not
+ * affected by where the payload bytes came from.
+ */
+public class PayloadBroadcaster {
+
+    private static final Map<Identifier, PacketCodec<? super RegistryByteBuf, ? extends CustomPayload>> CODECS = new ConcurrentHashMap<>();
+
+    /**
+     * A payload that was already encoded. It keeps the original payload's id, so the registered codec for that id
+     * is picked on the way out; {@link PayloadTrafficStats#instrument} then writes {@link #body} instead of encoding.
+     * Each pending send holds one reference to the buffer and gives it back once its bytes are written.
+     */
+    public record Encoded(Id<?> id, ByteBuf body) implements CustomPayload {
+        void writeTo(ByteBuf buf) {
+            try {
+                buf.writeBytes(body, body.readerIndex(), body.readableBytes());
+            } finally {
+                body.release();
+            }
+        }
+
+        @Override
+        public Id<? extends CustomPayload> getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Remembers the codec of an S2C payload so broadcasts of it can be encoded up front.
+     */
+    public static <T extends CustomPayload> void registerCodec(CustomPayload.Id<T> id, PacketCodec<? super RegistryByteBuf, T> codec) {
+        CODECS.put(id.id(), codec);
+    }
+
+    /**
+     * Sends the payload to every online player.
+     */
+    public static void broadcast(MinecraftServer server, CustomPayload payload) {
+        List<ServerPlayerEntity> players = server.getPlayerManager().getPlayerList();
+        if (players.isEmpty()) return;
+
+        ByteBuf body = encode(server, payload);
+        if (body == null) {
+            Packet<?> packet = ServerPlayNetworking.createS2CPacket(payload);
+            for (ServerPlayerEntity player : players) {
+                player.networkHandler.sendPacket(packet);
+            }
+            return;
+        }
+
+        try {
+            Packet<?> shared = ServerPlayNetworking.createS2CPacket(new Encoded(payload.getId(), body));
+            Packet<?> local = null;
+            for (ServerPlayerEntity player : players) {
+                // The host of an integrated server is on an in-memory connection that hands packets over
+                // without serializing them, so it has to get the real payload object.
+                if (server.isHost(player.getGameProfile())) {
+                    if (local == null) local = ServerPlayNetworking.createS2CPacket(payload);
+                    player.networkHandler.sendPacket(local);
+                    continue;
+                }
+                body.retain();
+                player.networkHandler.sendPacket(shared);
+            }
+        } finally {
+            body.release();
+        }
+    }
+
+    /**
+     * Encodes the payload body with its registered codec.
+     * @return The encoded bytes, holding one reference owned by the caller, or null if the payload type is unknown.
+     */
+    @SuppressWarnings("unchecked")
+    private static ByteBuf encode(MinecraftServer server, CustomPayload payload) {
+        PacketCodec<? super RegistryByteBuf, CustomPayload> codec =
+                (PacketCodec<? super RegistryByteBuf, CustomPayload>) CODECS.get(payload.getId().id());
+        if (codec == null) return null;
+
+        // Heap buffer: a send that never gets written (the player left first) leaves its reference behind,
+        // and the garbage collector takes care of it.
+        ByteBuf body = Unpooled.buffer();
+        try {
+            codec.encode(new RegistryByteBuf(body, server.getRegistryManager()), payload);
+        } catch (RuntimeException e) {
+            body.release();
+            throw e;
+        }
+        return body;
+    }
+}
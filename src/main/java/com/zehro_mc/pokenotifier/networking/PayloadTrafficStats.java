@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.networking;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.ConfigServer;
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import io.netty.buffer.ByteBuf;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the packets and bytes of every Poke Notifier payload type, and the packets sent to each player.
+ * Byte counts come from wrapping each payload's codec when it is registered, so they are the encoded payload
+ * size (before compression) and are measured on the Netty threads where encoding happens.
+ * Per-player sends are counted when a packet is handed to the player's connection; since the encoded size
+ * isn't known yet at that point, per-player bytes are estimated from the average size of that payload type.
+ * Per-player counters only cover online players and are dropped when a player disconnects.
+ * Totals are cumulative until {@link #reset()}; the periodic log reports only what happened since the last one.
+ */
+public class PayloadTrafficStats {
+
+    private static final File STATS_DIR = FabricLoader.getInstance().getConfigDir().resolve(PokeNotifier.MOD_ID).resolve("stats").toFile();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private static final class PayloadCounters {
+        final LongAdder packetsSent = new LongAdder();
+        final LongAdder bytesSent = new LongAdder();
+        final LongAdder encodeNanos = new LongAdder();
+        final LongAdder packetsReceived = new LongAdder();
+        final LongAdder bytesReceived = new LongAdder();
+    }
+
+    private static final class PlayerCounters {
+        final LongAdder packets = new LongAdder();
+        final LongAdder estimatedBytes = new LongAdder();
+        final String name;
+
+        PlayerCounters(String name) {
+            this.name = name;
+        }
+    }
+
+    public record PayloadTotals(Identifier id, long packetsSent, long bytesSent, long encodeNanos, long packetsReceived, long bytesReceived) {
+        PayloadTotals minus(PayloadTotals previous) {
+            if (previous == null) return this;
+            return new PayloadTotals(id, packetsSent - previous.packetsSent, bytesSent - previous.bytesSent,
+                    encodeNanos - previous.encodeNanos, packetsReceived - previous.packetsReceived, bytesReceived - previous.bytesReceived);
+        }
+    }
+
+    public record PlayerTotals(UUID uuid, String name, long packets, long estimatedBytes) {}
+
+    private static final Map<Identifier, PayloadCounters> PAYLOADS = new ConcurrentHashMap<>();
+    private static final Map<UUID, PlayerCounters> PLAYERS = new ConcurrentHashMap<>();
+
+    // Only touched on the server thread.
+    private static Map<Identifier, PayloadTotals> lastLogged = new HashMap<>();
+    private static long nextLogAt = 0;
+    private static long countingSince = System.currentTimeMillis();
+
+    /**
+     * Wraps a payload codec so every encode and decode is counted.
+     * Encoding counts as sent and decoding as received, from the point of view of the side running it.
+     * Payloads already encoded by {@link PayloadBroadcaster} are copied as they are.
+     */
+    public static <B extends ByteBuf, T extends CustomPayload> PacketCodec<B, T> instrument(PacketCodec<? super B, T> codec) {
+        return new PacketCodec<>() {
+            @Override
+            public T decode(B buf) {
+                int start = buf.readerIndex();
+                T value = codec.decode(buf);
+                PayloadCounters counters = counters(value.getId().id());
+                counters.packetsReceived.increment();
+                counters.bytesReceived.add(buf.readerIndex() - start);
+                return value;
+            }
+
+            @Override
+            public void encode(B buf, T value) {
+                int start = buf.writerIndex();
+                long began = System.nanoTime();
+                if (value instanceof PayloadBroadcaster.Encoded encoded) {
+                    encoded.writeTo(buf);
+                } else {
+                    codec.encode(buf, value);
+                }
+                PayloadCounters counters = counters(value.getId().id());
+                counters.encodeNanos.add(System.nanoTime() - began);
+                counters.packetsSent.increment();
+                counters.bytesSent.add(buf.writerIndex() - start);
+            }
+        };
+    }
+
+    /**
+     * Counts a Poke Notifier payload handed to a player's connection.
+     */
+    public static void recordSend(ServerPlayerEntity player, CustomPayload payload) {
+        Identifier id = payload.getId().id();
+        if (!PokeNotifier.MOD_ID.equals(id.getNamespace()) || player.isDisconnected()) return;
+        PlayerCounters counters = PLAYERS.computeIfAbsent(player.getUuid(), uuid -> new PlayerCounters(player.getName().getString()));
+        counters.packets.increment();
+        PayloadCounters payloadCounters = PAYLOADS.get(id);
+        if (payloadCounters != null) {
+            long packets = payloadCounters.packetsSent.sum();
+            if (packets > 0) counters.estimatedBytes.add(payloadCounters.bytesSent.sum() / packets);
+        }
+    }
+
+    /**
+     * Forgets a player's counters when they leave.
+     */
+    public static void onPlayerDisconnect(UUID playerUuid) {
+        PLAYERS.remove(playerUuid);
+    }
+
+    /**
+     * @return Cumulative totals per payload type, largest byte count first.
+     */
+    public static List<PayloadTotals> getPayloadTotals() {
+        return PAYLOADS.entrySet().stream()
+                .map(entry -> totals(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong((PayloadTotals totals) -> totals.bytesSent() + totals.bytesReceived()).reversed())
+                .toList();
+    }
+
+    /**
+     * @return The online players who were sent the most Poke Notifier packets.
+     */
+    public static List<PlayerTotals> getTopPlayers(int limit) {
+        return PLAYERS.entrySet().stream()
+                .map(entry -> new PlayerTotals(entry.getKey(), entry.getValue().name, entry.getValue().packets.sum(), entry.getValue().estimatedBytes.sum()))
+                .sorted(Comparator.comparingLong(PlayerTotals::estimatedBytes).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * @return When the current totals started counting, in epoch milliseconds.
+     */
+    public static long getCountingSince() {
+        return countingSince;
+    }
+
+    public static void reset() {
+        PAYLOADS.clear();
+        PLAYERS.clear();
+        lastLogged = new HashMap<>();
+        countingSince = System.currentTimeMillis();
+    }
+
+    /**
+     * Writes the current totals to a timestamped JSON file in the stats folder.
+     * @return The file written, or null if writing failed.
+     */
+    public static File dumpJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("counting_since", countingSince);
+        root.addProperty("written_at", System.currentTimeMillis());
+
+        JsonArray payloads = new JsonArray();
+        for (PayloadTotals totals : getPayloadTotals()) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("id", totals.id().toString());
+            entry.addProperty("packets_sent", totals.packetsSent());
+            entry.addProperty("bytes_sent", totals.bytesSent());
+            entry.addProperty("encode_micros", totals.encodeNanos() / 1000);
+            entry.addProperty("packets_received", totals.packetsReceived());
+            entry.addProperty("bytes_received", totals.bytesReceived());
+            payloads.add(entry);
+        }
+        root.add("payloads", payloads);
+
+        JsonArray players = new JsonArray();
+        for (PlayerTotals totals : getTopPlayers(Integer.MAX_VALUE)) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("uuid", totals.uuid().toString());
+            entry.addProperty("name", totals.name());
+            entry.addProperty("packets_sent", totals.packets());
+            entry.addProperty("estimated_bytes_sent", totals.estimatedBytes());
+            players.add(entry);
+        }
+        root.add("players", players);
+
+        if (!STATS_DIR.exists()) {
+            STATS_DIR.mkdirs();
+        }
+        File file = new File(STATS_DIR, "network-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+        try (Writer writer = new FileWriter(file)) {
+            GSON.toJson(root, writer);
+            return file;
+        } catch (IOException e) {
+            PokeNotifier.LOGGER.error("[NetStats] Failed to write " + file.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Logs what was sent and received since the last summary, every network_stats_log_interval_minutes.
+     * Called at the end of every server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        ConfigServer config = ConfigManager.getServerConfig();
+        if (config.network_stats_log_interval_minutes <= 0) return;
+        long now = System.currentTimeMillis();
+        if (nextLogAt == 0) {
+            nextLogAt = now + config.network_stats_log_interval_minutes * 60_000L;
+            return;
+        }
+        if (now < nextLogAt) return;
+        nextLogAt = now + config.network_stats_log_interval_minutes * 60_000L;
+
+        Map<Identifier, PayloadTotals> current = new HashMap<>();
+        List<PayloadTotals> window = getPayloadTotals().stream()
+                .peek(totals -> current.put(totals.id(), totals))
+                .map(totals -> totals.minus(lastLogged.get(totals.id())))
+                .filter(totals -> totals.packetsSent() > 0 || totals.packetsReceived() > 0)
+                .sorted(Comparator.comparingLong(PayloadTotals::bytesSent).reversed())
+                .toList();
+        lastLogged = current;
+
+        long packets = window.stream().mapToLong(PayloadTotals::packetsSent).sum();
+        long bytes = window.stream().mapToLong(PayloadTotals::bytesSent).sum();
+        PokeNotifier.LOGGER.info("[NetStats] Last {} min: {} packets / {} sent to {} online players",
+                config.network_stats_log_interval_minutes, packets, formatBytes(bytes), server.getPlayerManager().getCurrentPlayerCount());
+        window.stream().limit(5).forEach(totals -> PokeNotifier.LOGGER.info("[NetStats]   {}: {} packets, {} sent, {} received",
+                totals.id().getPath(), totals.packetsSent(), formatBytes(totals.bytesSent()), formatBytes(totals.bytesReceived())));
+
+        if (config.network_stats_json_dump) {
+            dumpJson();
+        }
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static PayloadCounters counters(Identifier id) {
+        return PAYLOADS.computeIfAbsent(id, key -> new PayloadCounters());
+    }
+
+    private static PayloadTotals totals(Identifier id, PayloadCounters counters) {
+        return new PayloadTotals(id, counters.packetsSent.sum(), counters.bytesSent.sum(), counters.encodeNanos.sum(),
+                counters.packetsReceived.sum(), counters.bytesReceived.sum());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.networking;
+
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * A C2S payload asking for one snapshot page of a player list (see {@link PlayerListSyncPayload}).
+ * Requesting page 0 also subscribes the client to deltas for that list.
+ * @param sequence The sequence of the snapshot being paged, or -1 when asking for page 0.
+ */
+public record PlayerListRequestPayload(
+        PlayerListSyncPayload.ListType listType,
+        String generation,
+        int page,
+        long sequence
+) implements CustomPayload {
+
+    public static final Id<PlayerListRequestPayload> ID = new Id<>(Identifier.of(PokeNotifier.MOD_ID, "player_list_request_payload"));
+
+    public static final PacketCodec<PacketByteBuf, PlayerListRequestPayload> CODEC = PacketCodec.of(
+            PlayerListRequestPayload::write,
+            PlayerListRequestPayload::new
+    );
+
+    public PlayerListRequestPayload(PacketByteBuf buf) {
+        this(buf.readEnumConstant(PlayerListSyncPayload.ListType.class), buf.readString(), buf.readVarInt(), buf.readVarLong());
+    }
+
+    private void write(PacketByteBuf buf) {
+        buf.writeEnumConstant(listType);
+        buf.writeString(generation);
+        buf.writeVarInt(page);
+        buf.writeVarLong(sequence);
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
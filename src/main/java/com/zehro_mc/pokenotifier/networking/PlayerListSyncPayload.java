@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.networking;
+
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An S2C payload keeping the client's mirror of one of the player's lists current:
+ * the custom hunt list, or the caught set of one "Catch 'em All" generation.
+ * A list is first sent as numbered snapshot pages; afterwards each change arrives as a delta whose
+ * sequence number is exactly one above the last one the client applied. A client that sees a gap,
+ * or an INVALIDATE, requests a fresh snapshot.
+ */
+public record PlayerListSyncPayload(
+        ListType listType,
+        String generation,
+        Mode mode,
+        long sequence,
+        int page,
+        int pageCount,
+        List<String> added,
+        List<String> removed
+) implements CustomPayload {
+
+    public enum ListType {
+        CUSTOM_LIST,
+        CAUGHT
+    }
+
+    public enum Mode {
+        SNAPSHOT_PAGE,
+        DELTA,
+        INVALIDATE
+    }
+
+    public static final Id<PlayerListSyncPayload> ID = new Id<>(Identifier.of(PokeNotifier.MOD_ID, "player_list_sync_payload"));
+
+    public static final PacketCodec<PacketByteBuf, PlayerListSyncPayload> CODEC = PacketCodec.of(
+            PlayerListSyncPayload::write,
+            PlayerListSyncPayload::new
+    );
+
+    public PlayerListSyncPayload(PacketByteBuf buf) {
+        this(
+                buf.readEnumConstant(ListType.class),
+                buf.readString(),
+                buf.readEnumConstant(Mode.class),
+                buf.readVarLong(),
+                buf.readVarInt(),
+                buf.readVarInt(),
+                buf.readList(PacketByteBuf::readString),
+                buf.readList(PacketByteBuf::readString)
+        );
+    }
+
+    private void write(PacketByteBuf buf) {
+        buf.writeEnumConstant(listType);
+        buf.writeString(generation);
+        buf.writeEnumConstant(mode);
+        buf.writeVarLong(sequence);
+        buf.writeVarInt(page);
+        buf.writeVarInt(pageCount);
+        buf.writeCollection(added, PacketByteBuf::writeString);
+        buf.writeCollection(removed, PacketByteBuf::writeString);
+    }
+
+    public static PlayerListSyncPayload snapshotPage(ListType listType, String generation, long sequence, int page, int pageCount, List<String> entries) {
+        return new PlayerListSyncPayload(listType, generation, Mode.SNAPSHOT_PAGE, sequence, page, pageCount, entries, List.of());
+    }
+
+    public static PlayerListSyncPayload delta(ListType listType, String generation, long sequence, List<String> added, List<String> removed) {
+        return new PlayerListSyncPayload(listType, generation, Mode.DELTA, sequence, 0, 0, added, removed);
+    }
+
+    public static PlayerListSyncPayload invalidate(ListType listType, String generation, long sequence) {
+        return new PlayerListSyncPayload(listType, generation, Mode.INVALIDATE, sequence, 0, 0, new ArrayList<>(), new ArrayList<>());
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
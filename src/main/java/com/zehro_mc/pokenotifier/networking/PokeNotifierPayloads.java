@@ -2,36 +2,48 @@ package com.zehro_mc.pokenotifier.networking;
 
 import com.zehro_mc.pokenotifier.PokeNotifier;
 import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
 
 public class PokeNotifierPayloads {
 
     public static void register() {
         // These payloads are sent from the server to the client.
         // They must be registered on both sides.
-        PayloadTypeRegistry.playS2C().register(StatusUpdatePayload.ID, StatusUpdatePayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(WaypointPayload.ID, WaypointPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(CatchProgressPayload.ID, CatchProgressPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(ModeStatusPayload.ID, ModeStatusPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(GlobalAnnouncementPayload.ID, GlobalAnnouncementPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(RankSyncPayload.ID, RankSyncPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(ServerDebugStatusPayload.ID, ServerDebugStatusPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(OpenGuiPayload.ID, OpenGuiPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(GuiResponsePayload.ID, GuiResponsePayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(AdminStatusPayload.ID, AdminStatusPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(GlobalHuntPayload.ID, GlobalHuntPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(UpdateSourceSyncPayload.ID, UpdateSourceSyncPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(SwarmStatusPayload.ID, SwarmStatusPayload.CODEC);
-        PayloadTypeRegistry.playS2C().register(EventConfigSyncPayload.ID, EventConfigSyncPayload.CODEC);
+        registerS2C(StatusUpdatePayload.ID, StatusUpdatePayload.CODEC);
+        registerS2C(WaypointPayload.ID, WaypointPayload.CODEC);
+        registerS2C(NotificationBatchPayload.ID, NotificationBatchPayload.CODEC);
+        registerS2C(CatchProgressPayload.ID, CatchProgressPayload.CODEC);
+        registerS2C(ModeStatusPayload.ID, ModeStatusPayload.CODEC);
+        registerS2C(GlobalAnnouncementPayload.ID, GlobalAnnouncementPayload.CODEC);
+        registerS2C(RankSyncPayload.ID, RankSyncPayload.CODEC);
+        registerS2C(ServerDebugStatusPayload.ID, ServerDebugStatusPayload.CODEC);
+        registerS2C(OpenGuiPayload.ID, OpenGuiPayload.CODEC);
+        registerS2C(GuiResponsePayload.ID, GuiResponsePayload.CODEC);
+        registerS2C(GuiMessagePayload.ID, GuiMessagePayload.CODEC);
+        registerS2C(PlayerListSyncPayload.ID, PlayerListSyncPayload.CODEC);
+        registerS2C(AdminStatusPayload.ID, AdminStatusPayload.CODEC);
+        registerS2C(GlobalHuntPayload.ID, GlobalHuntPayload.CODEC);
+        registerS2C(UpdateSourceSyncPayload.ID, UpdateSourceSyncPayload.CODEC);
+        registerS2C(SwarmStatusPayload.ID, SwarmStatusPayload.CODEC);
+        registerS2C(EventConfigSyncPayload.ID, EventConfigSyncPayload.CODEC);
 
         // These payloads are sent from the client to the server.
         // They must also be registered on both sides.
-        PayloadTypeRegistry.playC2S().register(CustomListUpdatePayload.ID, CustomListUpdatePayload.CODEC);
-        PayloadTypeRegistry.playC2S().register(CatchemallUpdatePayload.ID, CatchemallUpdatePayload.CODEC);
-        PayloadTypeRegistry.playC2S().register(UpdateSourcePayload.ID, UpdateSourcePayload.CODEC);
-        PayloadTypeRegistry.playC2S().register(AdminCommandPayload.ID, AdminCommandPayload.PACKET_CODEC);
-        PayloadTypeRegistry.playC2S().register(GlobalHuntCommandPayload.ID, GlobalHuntCommandPayload.CODEC);
-        PayloadTypeRegistry.playC2S().register(EventConfigPayload.ID, EventConfigPayload.CODEC);
+        PayloadTypeRegistry.playC2S().register(CustomListUpdatePayload.ID, PayloadTrafficStats.instrument(CustomListUpdatePayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(PlayerListRequestPayload.ID, PayloadTrafficStats.instrument(PlayerListRequestPayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(CatchemallUpdatePayload.ID, PayloadTrafficStats.instrument(CatchemallUpdatePayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(UpdateSourcePayload.ID, PayloadTrafficStats.instrument(UpdateSourcePayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(AdminCommandPayload.ID, PayloadTrafficStats.instrument(AdminCommandPayload.PACKET_CODEC));
+        PayloadTypeRegistry.playC2S().register(GlobalHuntCommandPayload.ID, PayloadTrafficStats.instrument(GlobalHuntCommandPayload.CODEC));
+        PayloadTypeRegistry.playC2S().register(EventConfigPayload.ID, PayloadTrafficStats.instrument(EventConfigPayload.CODEC));
 
         PokeNotifier.LOGGER.info("[Networking] All Poke Notifier payloads registered successfully.");
     }
+
+    private static <T extends CustomPayload> void registerS2C(CustomPayload.Id<T> id, PacketCodec<? super RegistryByteBuf, T> codec) {
+        PayloadTypeRegistry.playS2C().register(id, PayloadTrafficStats.instrument(codec));
+        PayloadBroadcaster.registerCodec(id, codec);
+    }
 }
@@ -15,14 +15,17 @@ import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.util.Identifier;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.HashMap;
 
 /**
- * An S2C payload to synchronize player ranks (as integers) to all clients.
+ * An S2C payload to synchronize player ranks (as integers) to clients.
+ * A snapshot replaces the client's whole rank table and is only sent when a player joins;
+ * afterwards, deltas carry just the ranks that changed and the players that left.
  */
-public record RankSyncPayload(HashMap<UUID, Integer> ranks) implements CustomPayload {
+public record RankSyncPayload(boolean snapshot, HashMap<UUID, Integer> ranks, List<UUID> removed) implements CustomPayload {
     public static final Id<RankSyncPayload> ID = new Id<>(Identifier.of(PokeNotifier.MOD_ID, "rank_sync"));
 
     // Manually define the UUID codec to prevent potential compilation issues.
@@ -30,11 +33,29 @@ public record RankSyncPayload(HashMap<UUID, Integer> ranks) implements CustomPay
             (uuid, buf) -> buf.writeLong(uuid.getMostSignificantBits()).writeLong(uuid.getLeastSignificantBits()),
             buf -> new UUID(buf.readLong(), buf.readLong())
     );
+    private static final PacketCodec<ByteBuf, HashMap<UUID, Integer>> RANKS_CODEC = PacketCodecs.map(HashMap::new, UUID_CODEC, PacketCodecs.VAR_INT);
+    private static final PacketCodec<ByteBuf, List<UUID>> REMOVED_CODEC = UUID_CODEC.collect(PacketCodecs.toList());
 
-    public static final PacketCodec<ByteBuf, RankSyncPayload> CODEC = PacketCodec.of(
-            (value, buf) -> PacketCodecs.map(HashMap::new, UUID_CODEC, PacketCodecs.VAR_INT).encode(buf, value.ranks()),
-            buf -> new RankSyncPayload(PacketCodecs.map(HashMap::new, UUID_CODEC, PacketCodecs.VAR_INT).decode(buf))
+    public static final PacketCodec<ByteBuf, RankSyncPayload> CODEC = PacketCodec.tuple(
+            PacketCodecs.BOOL, RankSyncPayload::snapshot,
+            RANKS_CODEC, RankSyncPayload::ranks,
+            REMOVED_CODEC, RankSyncPayload::removed,
+            RankSyncPayload::new
     );
 
+    public static RankSyncPayload snapshot(Map<UUID, Integer> ranks) {
+        return new RankSyncPayload(true, new HashMap<>(ranks), List.of());
+    }
+
+    public static RankSyncPayload update(UUID playerUuid, int rank) {
+        HashMap<UUID, Integer> ranks = new HashMap<>();
+        ranks.put(playerUuid, rank);
+        return new RankSyncPayload(false, ranks, List.of());
+    }
+
+    public static RankSyncPayload removal(UUID playerUuid) {
+        return new RankSyncPayload(false, new HashMap<>(), List.of(playerUuid));
+    }
+
     @Override public Id<? extends CustomPayload> getId() { return ID; }
-}
\ No newline at end of file
+}
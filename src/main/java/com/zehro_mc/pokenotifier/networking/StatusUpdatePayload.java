@@ -1,18 +1,22 @@
 package com.zehro_mc.pokenotifier.networking;
 
+import com.zehro_mc.pokenotifier.util.RarityUtil;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.util.Identifier;
 
+import java.util.UUID;
+
 /**
  * Synchronizes Pokémon status updates between server and client.
+ * The UUID is sent as two longs and the rarity and update type as ordinals.
  * Compatible with Fabric Loader 0.17.x (Minecraft 1.21.1)
  */
 public record StatusUpdatePayload(
-        String uuid,
+        UUID uuid,
         String name,
-        String rarity,
+        RarityUtil.RarityCategory rarity,
         UpdateType updateType,
         String playerName
 ) implements CustomPayload {
@@ -23,16 +27,16 @@ public record StatusUpdatePayload(
     public static final PacketCodec<RegistryByteBuf, StatusUpdatePayload> CODEC =
             PacketCodec.of(
                     (payload, buf) -> {
-                        buf.writeString(payload.uuid);
+                        buf.writeUuid(payload.uuid);
                         buf.writeString(payload.name);
-                        buf.writeString(payload.rarity);
+                        buf.writeEnumConstant(payload.rarity);
                         buf.writeEnumConstant(payload.updateType);
                         buf.writeNullable(payload.playerName, (b, s) -> b.writeString(s));
                     },
                     buf -> new StatusUpdatePayload(
+                            buf.readUuid(),
                             buf.readString(),
-                            buf.readString(),
-                            buf.readString(),
+                            buf.readEnumConstant(RarityUtil.RarityCategory.class),
                             buf.readEnumConstant(UpdateType.class),
                             buf.readNullable((b) -> b.readString())
                     )
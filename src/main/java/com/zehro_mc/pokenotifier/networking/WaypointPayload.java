@@ -9,65 +9,93 @@
 package com.zehro_mc.pokenotifier.networking;
 
 import com.zehro_mc.pokenotifier.PokeNotifier;
-import net.minecraft.network.PacketByteBuf;
+import com.zehro_mc.pokenotifier.util.RarityUtil;
+import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.biome.Biome;
+
+import java.util.UUID;
 
 /**
  * An S2C payload containing all necessary information to notify a client about a rare spawn.
+ * This is the mod's most frequent packet, so it is kept compact: the UUID travels as two longs,
+ * enums as ordinals, the level as a varint and the biome as its synced registry id.
+ * The color and sprite are derived on the client from the rarity and species.
  */
 public record WaypointPayload(
-        String uuid,
+        UUID uuid,
         String name,
         BlockPos pos,
-        int color,
-        String status,
-        String rarityCategoryName,
-        String level,
-        double distance,
-        Identifier biomeId,
-        Identifier spriteIdentifier
+        Status status,
+        RarityUtil.RarityCategory rarity,
+        int level,
+        float distance,
+        RegistryEntry<Biome> biome,
+        String species,
+        boolean shiny
 ) implements CustomPayload {
     public static final CustomPayload.Id<WaypointPayload> ID = new CustomPayload.Id<>(
             Identifier.of(PokeNotifier.MOD_ID, "waypoint_payload"));
 
-    public static final PacketCodec<PacketByteBuf, WaypointPayload> CODEC = PacketCodec.of(
+    private static final PacketCodec<RegistryByteBuf, RegistryEntry<Biome>> BIOME_CODEC = PacketCodecs.registryEntry(RegistryKeys.BIOME);
+
+    public static final PacketCodec<RegistryByteBuf, WaypointPayload> CODEC = PacketCodec.of(
             WaypointPayload::write,
             WaypointPayload::new
     );
 
-    public WaypointPayload(PacketByteBuf buf) {
+    /** Whether the receiving player already owns this species. */
+    public enum Status {
+        NEW,
+        CAUGHT
+    }
+
+    public WaypointPayload(RegistryByteBuf buf) {
         this(
-                buf .readString(),
+                buf.readUuid(),
                 buf.readString(),
                 buf.readBlockPos(),
-                buf.readInt(),
-                buf.readString(),
+                buf.readEnumConstant(Status.class),
+                buf.readEnumConstant(RarityUtil.RarityCategory.class),
+                buf.readVarInt(),
+                buf.readFloat(),
+                BIOME_CODEC.decode(buf),
                 buf.readString(),
-                buf.readString(),
-                buf.readDouble(),
-                buf.readIdentifier(),
-                buf.readIdentifier()
+                buf.readBoolean()
         );
     }
 
-    private void write(PacketByteBuf buf) {
-        buf.writeString(uuid);
+    private void write(RegistryByteBuf buf) {
+        buf.writeUuid(uuid);
         buf.writeString(name);
         buf.writeBlockPos(pos);
-        buf.writeInt(color);
-        buf.writeString(status);
-        buf.writeString(rarityCategoryName);
-        buf.writeString(level);
-        buf.writeDouble(distance);
-        buf.writeIdentifier(biomeId);
-        buf.writeIdentifier(spriteIdentifier);
+        buf.writeEnumConstant(status);
+        buf.writeEnumConstant(rarity);
+        buf.writeVarInt(level);
+        buf.writeFloat(distance);
+        BIOME_CODEC.encode(buf, biome);
+        buf.writeString(species);
+        buf.writeBoolean(shiny);
+    }
+
+    public int color() {
+        return rarity.getWaypointColor();
+    }
+
+    public Identifier spriteIdentifier() {
+        // Shiny sprites live in the /shiny/ subfolder with a "shiny" suffix.
+        String spritePath = shiny ? "textures/pokemon/shiny/" + species + "shiny" : "textures/pokemon/" + species;
+        return Identifier.of(PokeNotifier.MOD_ID, spritePath + ".png");
     }
 
     @Override
     public Id<? extends CustomPayload> getId() {
         return ID;
     }
-}
\ No newline at end of file
+}
@@ -8,26 +8,41 @@
 
 package com.zehro_mc.pokenotifier.networking.handlers;
 
+import com.cobblemon.mod.common.api.pokemon.PokemonProperties;
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.ConfigServer;
-import com.zehro_mc.pokenotifier.data.BackupManager;
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import com.zehro_mc.pokenotifier.RarePokemonNotifier;
+import com.zehro_mc.pokenotifier.api.PokeNotifierApi;
+import com.zehro_mc.pokenotifier.data.ConfigSyncHandler;
 import com.zehro_mc.pokenotifier.data.DataManager;
-import com.zehro_mc.pokenotifier.event.EventManager;
-// import com.zehro_mc.pokenotifier.globalhunt.GlobalHuntManager;
+import com.zehro_mc.pokenotifier.events.SwarmConfig;
+import com.zehro_mc.pokenotifier.events.SwarmEventManager;
+import com.zehro_mc.pokenotifier.globalhunt.GlobalHuntManager;
 import com.zehro_mc.pokenotifier.model.GenerationData;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
 import com.zehro_mc.pokenotifier.networking.AdminCommandPayload;
-import com.zehro_mc.pokenotifier.networking.GuiResponsePayload;
+import com.zehro_mc.pokenotifier.networking.AdminStatusPayload;
+import com.zehro_mc.pokenotifier.networking.GuiMessagePayload;
+import com.zehro_mc.pokenotifier.networking.GuiMessagePayload.Line;
+import com.zehro_mc.pokenotifier.networking.GuiMessagePayload.Tone;
+import com.zehro_mc.pokenotifier.networking.PayloadTrafficStats;
+import com.zehro_mc.pokenotifier.util.ServerTaskQueue;
+import com.zehro_mc.pokenotifier.util.TickProfiler;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 import net.fabricmc.loader.api.ModContainer;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.text.MutableText;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import net.minecraft.util.math.BlockPos;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,25 +51,41 @@ import java.util.List;
 public class AdminCommandProcessor {
     
     /**
-     * Processes an admin command payload.
+     * Processes an admin command payload. Must be called on the server thread.
      * @param player The player who sent the command
      * @param payload The command payload
      * @param server The minecraft server instance
      */
     public static void processCommand(ServerPlayerEntity player, AdminCommandPayload payload, MinecraftServer server) {
+        // Informational commands are open to everyone, the rest need admin permissions
+        boolean requiresAdmin = switch (payload.action()) {
+            case HELP, VERSION, STATUS -> false;
+            default -> true;
+        };
+        if (requiresAdmin && !player.hasPermissionLevel(2)) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.no_permission"));
+            return;
+        }
+
         switch (payload.action()) {
             case TOGGLE_DEBUG_MODE -> toggleDebugMode(player);
             case TOGGLE_TEST_MODE -> toggleTestMode(player);
             case TOGGLE_BOUNTY_SYSTEM -> toggleBountySystem(player);
             case SERVER_STATUS -> sendServerStatus(player);
+            case NETWORK_STATS -> networkStats(player, payload.parameter());
+            case TICK_TIMES -> tickTimes(player, payload.parameter());
             case RELOAD_CONFIG -> reloadConfig(player);
             case RESET_CONFIG -> resetConfig(player);
-            case START_SWARM -> startSwarm(player, payload.parameter(), server);
-            case CANCEL_SWARM -> cancelSwarm(player);
+            case START_SWARM -> startSwarm(player, payload.parameter());
+            case CANCEL_SWARM -> cancelSwarm(player, server);
             case SWARM_STATUS -> swarmStatus(player);
-            case TOGGLE_SWARM_SYSTEM -> toggleSwarmSystem(player);
-            case AUTOCOMPLETE_PLAYER -> autocompletePlayer(player, payload.parameter());
-            case ROLLBACK_PLAYER -> rollbackPlayer(player, payload.parameter());
+            case TOGGLE_SWARM_SYSTEM -> toggleSwarmSystem(player, server);
+            case START_GLOBAL_HUNT -> startGlobalHunt(player, payload.parameter());
+            case CANCEL_GLOBAL_HUNT -> cancelGlobalHunt(player, server);
+            case TOGGLE_GLOBAL_HUNT_SYSTEM -> toggleGlobalHuntSystem(player, server);
+            case GLOBAL_HUNT_STATUS -> globalHuntStatus(player);
+            case AUTOCOMPLETE_PLAYER -> autocompletePlayer(player, payload.parameter(), server);
+            case ROLLBACK_PLAYER -> rollbackPlayer(player, payload.parameter(), server);
             case SPAWN_POKEMON -> spawnPokemon(player, payload.parameter());
             case HELP -> sendHelp(player);
             case VERSION -> sendVersion(player);
@@ -66,264 +97,429 @@ public class AdminCommandProcessor {
         ConfigServer config = ConfigManager.getServerConfig();
         config.debug_mode_enabled = !config.debug_mode_enabled;
         ConfigManager.saveServerConfigToFile();
-        List<Text> lines = new ArrayList<>(List.of(Text.literal("Debug mode ").append(config.debug_mode_enabled ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        ServerPlayNetworking.send(player, GuiMessagePayload.of(Line.status("poke-notifier.gui.admin.debug_mode", config.debug_mode_enabled)));
     }
     
     private static void toggleTestMode(ServerPlayerEntity player) {
         ConfigServer config = ConfigManager.getServerConfig();
         config.enable_test_mode = !config.enable_test_mode;
         ConfigManager.saveServerConfigToFile();
-        List<Text> lines = new ArrayList<>(List.of(Text.literal("Test mode ").append(config.enable_test_mode ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        ServerPlayNetworking.send(player, GuiMessagePayload.of(Line.status("poke-notifier.gui.admin.test_mode", config.enable_test_mode)));
     }
     
     private static void toggleBountySystem(ServerPlayerEntity player) {
         ConfigServer config = ConfigManager.getServerConfig();
         config.bounty_system_enabled = !config.bounty_system_enabled;
         ConfigManager.saveServerConfigToFile();
-        List<Text> lines = new ArrayList<>(List.of(Text.literal("Bounty system ").append(config.bounty_system_enabled ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        ServerPlayNetworking.send(player, GuiMessagePayload.of(Line.status("poke-notifier.gui.admin.bounty_system", config.bounty_system_enabled)));
         if (!config.bounty_system_enabled) {
-            EventManager.getBountySystem().clearActiveBounty(false);
+            PokeNotifier.clearActiveBounty(false);
         }
     }
     
     private static void sendServerStatus(ServerPlayerEntity player) {
         ConfigServer config = ConfigManager.getServerConfig();
-        List<Text> lines = new ArrayList<>();
-        lines.add(Text.literal("--- Poke Notifier Server Status ---").formatted(Formatting.GOLD));
-        lines.add(createServerStatusLine("Debug Mode", config.debug_mode_enabled));
-        lines.add(createServerStatusLine("Bounty System", config.bounty_system_enabled));
+        List<Line> lines = new ArrayList<>();
+        lines.add(Line.message(Tone.HEADER, "poke-notifier.gui.admin.status_header"));
+        lines.add(Line.status("poke-notifier.gui.admin.debug_mode", config.debug_mode_enabled));
+        lines.add(Line.status("poke-notifier.gui.admin.bounty_system", config.bounty_system_enabled));
         if (config.bounty_system_enabled) {
-            String currentBounty = EventManager.getBountySystem().getActiveBounty();
-            MutableText bountyStatus = Text.literal("  Current Bounty = ").formatted(Formatting.WHITE);
-            bountyStatus.append(currentBounty == null ? Text.literal("None").formatted(Formatting.GRAY) : Text.literal(currentBounty).formatted(Formatting.GOLD));
-            lines.add(bountyStatus);
+            String currentBounty = PokeNotifier.getActiveBounty();
+            lines.add(currentBounty == null
+                    ? Line.message(Tone.MUTED, "poke-notifier.gui.admin.current_bounty_none")
+                    : Line.value("poke-notifier.gui.admin.current_bounty", currentBounty, Tone.HEADER));
+        }
+        lines.add(Line.status("poke-notifier.gui.admin.test_mode", config.enable_test_mode));
+        ServerPlayNetworking.send(player, new GuiMessagePayload(lines));
+    }
+    
+    /**
+     * Shows the payload traffic totals. The parameter can be "reset" to start counting again,
+     * or "dump" to also write them to a JSON file.
+     */
+    public static void networkStats(ServerPlayerEntity player, String parameter) {
+        String option = parameter == null ? "" : parameter.trim().toLowerCase();
+        if (option.equals("reset")) {
+            PayloadTrafficStats.reset();
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.netstats_reset"));
+            return;
+        }
+        ServerPlayNetworking.send(player, new GuiMessagePayload(buildNetworkStatsLines(8, 5)));
+        if (option.equals("dump")) {
+            File file = PayloadTrafficStats.dumpJson();
+            ServerPlayNetworking.send(player, file != null
+                    ? GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.netstats_dumped", file.getName())
+                    : GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.netstats_dump_failed"));
+        }
+    }
+
+    /**
+     * Builds the payload traffic report shown in the admin GUI.
+     */
+    private static List<Line> buildNetworkStatsLines(int maxPayloads, int maxPlayers) {
+        List<Line> lines = new ArrayList<>();
+        long minutes = (System.currentTimeMillis() - PayloadTrafficStats.getCountingSince()) / 60_000L;
+        lines.add(Line.message(Tone.HEADER, "poke-notifier.gui.admin.netstats_header", String.valueOf(minutes)));
+
+        List<PayloadTrafficStats.PayloadTotals> payloads = PayloadTrafficStats.getPayloadTotals();
+        if (payloads.isEmpty()) {
+            lines.add(Line.message(Tone.MUTED, "poke-notifier.gui.admin.netstats_empty"));
+            return lines;
+        }
+        long packets = payloads.stream().mapToLong(PayloadTrafficStats.PayloadTotals::packetsSent).sum();
+        long bytes = payloads.stream().mapToLong(PayloadTrafficStats.PayloadTotals::bytesSent).sum();
+        lines.add(Line.message(Tone.INFO, "poke-notifier.gui.admin.netstats_total", String.valueOf(packets), PayloadTrafficStats.formatBytes(bytes)));
+        for (PayloadTrafficStats.PayloadTotals totals : payloads.stream().limit(maxPayloads).toList()) {
+            long averageMicros = totals.packetsSent() > 0 ? totals.encodeNanos() / totals.packetsSent() / 1000 : 0;
+            lines.add(Line.message(Tone.PLAIN, "poke-notifier.gui.admin.netstats_payload", totals.id().getPath(),
+                    String.valueOf(totals.packetsSent()), PayloadTrafficStats.formatBytes(totals.bytesSent()),
+                    String.valueOf(totals.packetsReceived()), PayloadTrafficStats.formatBytes(totals.bytesReceived()),
+                    String.valueOf(averageMicros)));
+        }
+
+        List<PayloadTrafficStats.PlayerTotals> players = PayloadTrafficStats.getTopPlayers(maxPlayers);
+        if (!players.isEmpty()) {
+            lines.add(Line.message(Tone.HEADER, "poke-notifier.gui.admin.netstats_players_header"));
+            for (PayloadTrafficStats.PlayerTotals totals : players) {
+                lines.add(Line.message(Tone.PLAIN, "poke-notifier.gui.admin.netstats_player", totals.name(),
+                        String.valueOf(totals.packets()), PayloadTrafficStats.formatBytes(totals.estimatedBytes())));
+            }
+        }
+        return lines;
+    }
+    
+    /**
+     * Shows how long each part of the tick work takes. The parameter picks the window ("1m", "5m" or "15m"),
+     * or can be "reset" to forget the recorded timings.
+     */
+    public static void tickTimes(ServerPlayerEntity player, String parameter) {
+        String option = parameter == null ? "" : parameter.trim().toLowerCase();
+        if (option.equals("reset")) {
+            TickProfiler.reset();
+            ServerTaskQueue.resetCounters();
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.ticktimes_reset"));
+            return;
+        }
+        TickProfiler.Window window = TickProfiler.Window.fromId(option);
+        ServerPlayNetworking.send(player, new GuiMessagePayload(buildTickTimesLines(window != null ? window : TickProfiler.Window.ONE_MINUTE)));
+    }
+
+    /**
+     * Builds the tick timing report shown in the admin GUI.
+     */
+    private static List<Line> buildTickTimesLines(TickProfiler.Window window) {
+        List<Line> lines = new ArrayList<>();
+        lines.add(Line.message(Tone.HEADER, "poke-notifier.gui.admin.ticktimes_header", window.getId()));
+        for (TickProfiler.SectionTimings timings : TickProfiler.getTimings(window)) {
+            if (timings.ticks() == 0) continue;
+            lines.add(Line.message(timings.p99Nanos() * 100 >= TickProfiler.TICK_NANOS * 5 ? Tone.ERROR : Tone.PLAIN,
+                    "poke-notifier.gui.admin.ticktimes_section", timings.section().getId(),
+                    String.valueOf(timings.p50Nanos() / 1000), String.valueOf(timings.p99Nanos() / 1000),
+                    String.valueOf(timings.maxNanos() / 1000)));
         }
-        lines.add(createServerStatusLine("Test Mode", config.enable_test_mode));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        lines.add(Line.message(Tone.INFO, "poke-notifier.gui.admin.ticktimes_queue",
+                String.valueOf(ServerTaskQueue.getDepth()), String.valueOf(ServerTaskQueue.getExecutedCount()),
+                String.format("%.2f", ServerTaskQueue.getAverageLatencyMillis()), String.valueOf(ServerTaskQueue.getSpilledTicks())));
+        return lines;
     }
     
     private static void reloadConfig(ServerPlayerEntity player) {
         try {
             ConfigManager.loadConfig();
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Poke Notifier configurations reloaded successfully.").formatted(Formatting.GREEN)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            SwarmConfig.reload();
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.reloaded"));
         } catch (ConfigManager.ConfigReadException e) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Error reloading configs: " + e.getMessage()).formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            PokeNotifier.LOGGER.error("Failed to reload Poke Notifier configuration: {}", e.getMessage());
+            String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.reload_failed", reason));
         }
     }
     
     private static void resetConfig(ServerPlayerEntity player) {
         try {
             ConfigManager.resetToDefault();
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("All Poke Notifier configurations have been reset to default.").formatted(Formatting.GREEN)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.reset"));
         } catch (Exception e) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Failed to generate new configs. Check server logs.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            PokeNotifier.LOGGER.error("Failed to generate new default configurations.", e);
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.reset_failed"));
         }
     }
     
-    private static void startSwarm(ServerPlayerEntity player, String parameter, MinecraftServer server) {
-        String[] parts = parameter.split(" ");
-        String pokemonName = parts[0].trim();
-        boolean spawnHere = parameter.contains(" here");
+    private static void startSwarm(ServerPlayerEntity player, String parameter) {
+        List<String> parts = Arrays.asList(parameter.trim().split(" "));
+        String pokemonName = parts.get(0);
+        if (pokemonName.isEmpty()) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.swarm_missing_pokemon"));
+            return;
+        }
+        boolean isShiny = parts.contains("shiny");
+        boolean spawnHere = parts.contains("here");
         
-        if (!pokemonName.isEmpty()) {
-            com.zehro_mc.pokenotifier.events.SwarmEventManager swarmManager = 
-                com.zehro_mc.pokenotifier.events.SwarmEventManager.getInstance();
-            if (swarmManager != null) {
-                try {
-                    boolean success;
-                    if (spawnHere) {
-                        success = swarmManager.startManualSwarmAt(pokemonName, player.getBlockPos(), player.getName().getString());
-                    } else {
-                        success = swarmManager.startManualSwarm(pokemonName, player.getName().getString());
-                    }
-                    
-                    if (success) {
-                        String location = spawnHere ? " at your location" : "";
-                        List<Text> lines = new ArrayList<>(List.of(Text.literal("Starting manual swarm of ").append(Text.literal(pokemonName).formatted(Formatting.GOLD)).append(location + " (shiny guaranteed)...").formatted(Formatting.GREEN)));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    } else {
-                        List<Text> lines = new ArrayList<>(List.of(Text.literal("Failed to start swarm - another swarm is already active.").formatted(Formatting.RED)));
-                        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                    }
-                } catch (Exception e) {
-                    List<Text> lines = new ArrayList<>(List.of(Text.literal("Error starting swarm: " + e.getMessage()).formatted(Formatting.RED)));
-                    ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-                }
-            } else {
-                List<Text> lines = new ArrayList<>(List.of(Text.literal("Swarm system not available.").formatted(Formatting.RED)));
-                ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-            }
+        SwarmEventManager swarmManager = SwarmEventManager.getInstance();
+        if (swarmManager == null) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.swarm_unavailable"));
+            return;
+        }
+        
+        String adminName = player.getName().getString();
+        boolean success = spawnHere
+                ? swarmManager.startManualSwarmAt(pokemonName, player.getBlockPos(), adminName, isShiny)
+                : swarmManager.startManualSwarm(pokemonName, adminName, isShiny);
+        String displayName = (isShiny ? "Shiny " : "") + pokemonName;
+        if (!success) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.swarm_already_active"));
+        } else if (spawnHere) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.swarm_started_here", displayName));
         } else {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Please specify a Pokemon name.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            // Remote swarms start once their location has been found, a few ticks later
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.swarm_finding", displayName));
         }
     }
     
-    private static void cancelSwarm(ServerPlayerEntity player) {
-        com.zehro_mc.pokenotifier.events.SwarmEventManager swarmManager = 
-            com.zehro_mc.pokenotifier.events.SwarmEventManager.getInstance();
-        if (swarmManager != null) {
-            if (swarmManager.hasActiveSwarm()) {
-                swarmManager.endCurrentSwarm("admin");
-                List<Text> lines = new ArrayList<>(List.of(Text.literal("Swarm cancelled successfully.").formatted(Formatting.GREEN)));
-                ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-            } else {
-                List<Text> lines = new ArrayList<>(List.of(Text.literal("No active swarm to cancel.").formatted(Formatting.YELLOW)));
-                ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-            }
-        } else {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Swarm system not available.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+    private static void cancelSwarm(ServerPlayerEntity player, MinecraftServer server) {
+        SwarmEventManager swarmManager = SwarmEventManager.getInstance();
+        if (swarmManager == null || !swarmManager.hasActiveSwarm()) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.swarm_none_active"));
+            return;
         }
+        swarmManager.endCurrentSwarm();
+        ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.WARNING, "poke-notifier.gui.admin.swarm_cancelled"));
+        server.getPlayerManager().broadcast(Text.literal("The active swarm has been cancelled by an administrator.").formatted(Formatting.YELLOW), false);
     }
     
     private static void swarmStatus(ServerPlayerEntity player) {
-        com.zehro_mc.pokenotifier.events.SwarmEventManager swarmManager = 
-            com.zehro_mc.pokenotifier.events.SwarmEventManager.getInstance();
-        com.zehro_mc.pokenotifier.events.SwarmConfig swarmConfig = com.zehro_mc.pokenotifier.events.SwarmConfig.load();
-        
-        List<Text> lines = new ArrayList<>();
-        lines.add(Text.literal("--- Swarm System Status ---").formatted(Formatting.GOLD));
-        lines.add(Text.literal("Automatic Mode: ").append(swarmConfig.system_enabled ? Text.literal("ENABLED").formatted(Formatting.GREEN) : Text.literal("DISABLED").formatted(Formatting.RED)));
+        List<Line> lines = new ArrayList<>();
+        lines.add(Line.message(Tone.HEADER, "poke-notifier.gui.admin.swarm_status_header"));
         
-        com.zehro_mc.pokenotifier.events.SwarmStatistics.CurrentSwarm current = com.zehro_mc.pokenotifier.events.SwarmStatistics.getCurrentSwarm();
-        if (current != null) {
-            lines.add(Text.literal("Current Swarm: ").append(Text.literal(current.pokemonName).formatted(Formatting.GOLD)));
-            lines.add(Text.literal("Type: ").append(Text.literal(current.swarmType).formatted(Formatting.AQUA)));
-            lines.add(Text.literal("Triggered by: ").append(Text.literal(current.triggeredBy).formatted(Formatting.AQUA)));
-            lines.add(Text.literal("Location: ").append(Text.literal(current.location.x + ", " + current.location.y + ", " + current.location.z).formatted(Formatting.WHITE)));
-            lines.add(Text.literal("Entities Alive: ").append(Text.literal(String.valueOf(current.entitiesAlive)).formatted(Formatting.GREEN)));
-            lines.add(Text.literal("Entities Captured: ").append(Text.literal(String.valueOf(current.entitiesCaptured)).formatted(Formatting.YELLOW)));
-            if (swarmManager != null) {
-                int remaining = swarmManager.getRemainingMinutes();
-                lines.add(Text.literal("Time Remaining: ").append(Text.literal(remaining + " minutes").formatted(Formatting.AQUA)));
-            }
+        SwarmEventManager swarmManager = SwarmEventManager.getInstance();
+        if (swarmManager == null) {
+            lines.add(Line.message(Tone.ERROR, "poke-notifier.gui.admin.swarm_unavailable"));
         } else {
-            lines.add(Text.literal("Current Swarm: ").append(Text.literal("None").formatted(Formatting.GRAY)));
+            lines.add(Line.status("poke-notifier.gui.admin.swarm_system", swarmManager.isSystemEnabled()));
+            if (swarmManager.hasActiveSwarm()) {
+                BlockPos location = swarmManager.getActiveSwarmLocation();
+                lines.add(Line.value("poke-notifier.gui.admin.swarm_current", swarmManager.getActiveSwarmPokemon(), Tone.HEADER));
+                lines.add(Line.value("poke-notifier.gui.admin.swarm_location", "X: " + location.getX() + ", Z: " + location.getZ(), Tone.INFO));
+                lines.add(Line.value("poke-notifier.gui.admin.swarm_biome", swarmManager.getActiveSwarmBiome(), Tone.SUCCESS));
+                lines.add(Line.value("poke-notifier.gui.admin.swarm_time_remaining", String.valueOf(swarmManager.getRemainingMinutes()), Tone.WARNING));
+                lines.add(Line.value("poke-notifier.gui.admin.swarm_remaining_entities", String.valueOf(swarmManager.getRemainingEntities()), Tone.INFO));
+                lines.add(Line.value("poke-notifier.gui.admin.swarm_total_spawned", String.valueOf(swarmManager.getTotalSpawnedCount()), Tone.MUTED));
+            } else {
+                lines.add(Line.value("poke-notifier.gui.admin.swarm_current", "-", Tone.MUTED));
+            }
         }
         
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        ServerPlayNetworking.send(player, new GuiMessagePayload(lines));
     }
     
-    private static void toggleSwarmSystem(ServerPlayerEntity player) {
-        com.zehro_mc.pokenotifier.events.SwarmEventManager swarmManager = 
-            com.zehro_mc.pokenotifier.events.SwarmEventManager.getInstance();
-        if (swarmManager != null) {
-            swarmManager.toggleSystem();
-            com.zehro_mc.pokenotifier.events.SwarmConfig config = com.zehro_mc.pokenotifier.events.SwarmConfig.load();
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Swarm automatic mode ").append(config.system_enabled ? Text.literal("enabled").formatted(Formatting.GREEN) : Text.literal("disabled").formatted(Formatting.RED))));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-        } else {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Swarm system not available.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+    private static void toggleSwarmSystem(ServerPlayerEntity player, MinecraftServer server) {
+        SwarmEventManager swarmManager = SwarmEventManager.getInstance();
+        if (swarmManager == null) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.swarm_unavailable"));
+            return;
+        }
+        swarmManager.toggleSystem();
+        boolean isEnabled = swarmManager.isSystemEnabled();
+        ServerPlayNetworking.send(player, GuiMessagePayload.of(Line.status("poke-notifier.gui.admin.swarm_system", isEnabled)));
+        
+        // Sync the new state with every player's admin screen
+        ConfigServer config = ConfigManager.getServerConfig();
+        GlobalHuntManager huntManager = GlobalHuntManager.getInstance();
+        boolean hasActiveHunt = huntManager.hasActiveEvent();
+        String activeHuntPokemon = hasActiveHunt
+                ? (huntManager.getCurrentEvent().isShiny() ? "Shiny " : "") + huntManager.getCurrentEvent().getPokemonName()
+                : "";
+        boolean hasActiveSwarm = swarmManager.hasActiveSwarm();
+        String activeSwarmPokemon = hasActiveSwarm ? swarmManager.getActiveSwarmPokemon() : "";
+        for (ServerPlayerEntity onlinePlayer : server.getPlayerManager().getPlayerList()) {
+            ServerPlayNetworking.send(onlinePlayer, new AdminStatusPayload(
+                    onlinePlayer.hasPermissionLevel(2),
+                    config.debug_mode_enabled,
+                    config.enable_test_mode,
+                    config.bounty_system_enabled,
+                    config.global_hunt_system_enabled,
+                    isEnabled,
+                    hasActiveHunt,
+                    activeHuntPokemon,
+                    hasActiveSwarm,
+                    activeSwarmPokemon));
         }
     }
     
-    private static void autocompletePlayer(ServerPlayerEntity player, String playerName) {
-        ServerPlayerEntity targetPlayer = player.getServer().getPlayerManager().getPlayer(playerName.trim());
-        if (targetPlayer == null) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Player " + playerName + " is not online.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+    private static void startGlobalHunt(ServerPlayerEntity player, String parameter) {
+        String[] parts = parameter.trim().split(" ");
+        String pokemonName = parts[0];
+        if (pokemonName.isEmpty()) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.swarm_missing_pokemon"));
             return;
         }
+        boolean isShiny = parts.length > 1 && "shiny".equals(parts[1]);
         
-        PlayerCatchProgress progress = ConfigManager.getPlayerCatchProgress(targetPlayer.getUuid());
-        if (progress.active_generations.isEmpty()) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Player " + playerName + " does not have Catch 'em All mode active.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        GlobalHuntManager huntManager = GlobalHuntManager.getInstance();
+        if (huntManager.hasActiveEvent() || huntManager.isSearchingLocation()) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.hunt_already_active"));
             return;
         }
         
-        String genName = progress.active_generations.iterator().next();
-        GenerationData genData = ConfigManager.getGenerationData(genName);
-        if (genData == null) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Internal error: Could not find data for generation '" + genName + "'.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        huntManager.startManualEvent(player.getServerWorld(), pokemonName, isShiny);
+        ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.hunt_finding", (isShiny ? "Shiny " : "") + pokemonName));
+    }
+    
+    private static void cancelGlobalHunt(ServerPlayerEntity player, MinecraftServer server) {
+        GlobalHuntManager huntManager = GlobalHuntManager.getInstance();
+        if (!huntManager.hasActiveEvent()) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.hunt_none_active"));
             return;
         }
+        huntManager.getCurrentEvent().cancel();
+        ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.WARNING, "poke-notifier.gui.admin.hunt_cancelled"));
+        server.getPlayerManager().broadcast(Text.literal("The Global Hunt has been cancelled by an administrator.").formatted(Formatting.YELLOW), false);
+    }
+    
+    private static void toggleGlobalHuntSystem(ServerPlayerEntity player, MinecraftServer server) {
+        ConfigServer config = ConfigManager.getServerConfig();
+        config.global_hunt_system_enabled = !config.global_hunt_system_enabled;
+        ConfigManager.saveServerConfigToFile();
+        ServerPlayNetworking.send(player, GuiMessagePayload.of(Line.status("poke-notifier.gui.admin.hunt_system", config.global_hunt_system_enabled)));
+        ConfigSyncHandler.syncConfigurationChange(server, ConfigSyncHandler.ConfigType.ADMIN_STATUS);
+    }
+    
+    private static void globalHuntStatus(ServerPlayerEntity player) {
+        GlobalHuntManager huntManager = GlobalHuntManager.getInstance();
+        List<Line> lines = new ArrayList<>();
+        lines.add(Line.message(Tone.HEADER, "poke-notifier.gui.admin.hunt_status_header"));
+        lines.add(Line.status("poke-notifier.gui.admin.hunt_system", huntManager.getConfig().isEnabled()));
         
-        BackupManager.createPlayerProgressBackup(targetPlayer);
-        String missingPokemon = DataManager.autocompleteGenerationForPlayer(targetPlayer, genName, genData);
-        List<Text> response = new ArrayList<>();
-        response.add(Text.literal("Autocompleted " + formatGenName(genName) + " for player " + targetPlayer.getName().getString()).formatted(Formatting.GREEN));
-        response.add(Text.literal("To complete the list, capture: ").append(Text.literal(missingPokemon).formatted(Formatting.GOLD)).formatted(Formatting.AQUA));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(response));
+        if (huntManager.hasActiveEvent()) {
+            var event = huntManager.getCurrentEvent();
+            BlockPos coordinates = event.getCoordinates();
+            lines.add(Line.value("poke-notifier.gui.admin.hunt_active_event", (event.isShiny() ? "Shiny " : "") + event.getPokemonName(), Tone.HEADER));
+            lines.add(Line.value("poke-notifier.gui.admin.hunt_location", coordinates.getX() + ", " + coordinates.getY() + ", " + coordinates.getZ(), Tone.INFO));
+            lines.add(Line.value("poke-notifier.gui.admin.hunt_world", event.getWorld().getRegistryKey().getValue().toString(), Tone.INFO));
+        } else {
+            lines.add(Line.value("poke-notifier.gui.admin.hunt_active_event", "-", Tone.MUTED));
+        }
+        
+        ServerPlayNetworking.send(player, new GuiMessagePayload(lines));
     }
     
-    private static void rollbackPlayer(ServerPlayerEntity player, String playerName) {
-        ServerPlayerEntity targetPlayer = player.getServer().getPlayerManager().getPlayer(playerName.trim());
+    private static void autocompletePlayer(ServerPlayerEntity player, String parameter, MinecraftServer server) {
+        String playerName = parameter.trim();
+        ServerPlayerEntity targetPlayer = server.getPlayerManager().getPlayer(playerName);
         if (targetPlayer == null) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Player " + playerName + " is not online.").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.player_offline", playerName));
             return;
         }
         
-        boolean success = DataManager.rollbackPlayerProgress(targetPlayer);
-        if (success) {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("Successfully rolled back progress for " + playerName).formatted(Formatting.GREEN)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-        } else {
-            List<Text> lines = new ArrayList<>(List.of(Text.literal("No backup file found for " + playerName + ".").formatted(Formatting.RED)));
-            ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        ConfigManager.whenPlayerDataReady(targetPlayer.getUuid(), () -> {
+            PlayerCatchProgress progress = ConfigManager.getPlayerCatchProgress(targetPlayer.getUuid());
+            if (progress.active_generations.isEmpty()) {
+                ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.catchemall_inactive", playerName));
+                return;
+            }
+
+            String genName = progress.active_generations.iterator().next();
+            GenerationData genData = ConfigManager.getGenerationData(genName);
+            if (genData == null) {
+                ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.generation_missing", genName));
+                return;
+            }
+
+            ConfigManager.backupPlayerCatchProgress(targetPlayer.getUuid(), false);
+            String missingPokemon = DataManager.autocompleteGenerationForPlayer(targetPlayer, genName, genData);
+            ServerPlayNetworking.send(player, GuiMessagePayload.of(
+                    Line.message(Tone.SUCCESS, "poke-notifier.gui.admin.autocompleted", formatGenName(genName), targetPlayer.getName().getString()),
+                    Line.message(Tone.INFO, "poke-notifier.gui.admin.autocomplete_missing", missingPokemon)));
+        });
+    }
+    
+    private static void rollbackPlayer(ServerPlayerEntity player, String parameter, MinecraftServer server) {
+        String playerName = parameter.trim();
+        ServerPlayerEntity targetPlayer = server.getPlayerManager().getPlayer(playerName);
+        if (targetPlayer == null) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.player_offline", playerName));
+            return;
         }
+        
+        ConfigManager.whenPlayerDataReady(targetPlayer.getUuid(), () -> {
+            if (DataManager.rollbackPlayerProgress(targetPlayer)) {
+                ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.rolled_back", playerName));
+            } else {
+                ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.no_backup", playerName));
+            }
+        });
     }
     
     private static void spawnPokemon(ServerPlayerEntity player, String parameter) {
-        // Implementation would go here - spawn pokemon logic
-        List<Text> lines = new ArrayList<>(List.of(Text.literal("Pokemon spawning not yet implemented in processor.").formatted(Formatting.YELLOW)));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        String[] parts = parameter.trim().split(" ");
+        String pokemonName = parts[0].toLowerCase();
+        boolean isShiny = parts.length > 1 && "shiny".equals(parts[1]);
+        
+        if (!ConfigManager.getServerConfig().enable_test_mode) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.test_mode_disabled"));
+            return;
+        }
+        
+        // Strict validation: the name must exist in Cobblemon's official list
+        if (PokeNotifierApi.getAllPokemonNames().noneMatch(name -> name.equals(pokemonName))) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.spawn_invalid_name", pokemonName));
+            return;
+        }
+        
+        try {
+            ServerWorld world = player.getServerWorld();
+            PokemonProperties props = PokemonProperties.Companion.parse(pokemonName);
+            if (isShiny) {
+                props.setShiny(true);
+            }
+            
+            PokemonEntity pokemonEntity = props.createEntity(world);
+            pokemonEntity.refreshPositionAndAngles(player.getX(), player.getY(), player.getZ(), player.getYaw(), player.getPitch());
+            
+            // Tag it so the notifier and the capture handlers can tell it is a test spawn
+            pokemonEntity.getPokemon().getPersistentData().putBoolean("pokenotifier_test_spawn", true);
+            
+            world.spawnEntity(pokemonEntity);
+            
+            // world.spawnEntity does not fire Cobblemon's spawn event, so notify manually
+            RarePokemonNotifier.onPokemonSpawn(pokemonEntity);
+            
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.SUCCESS, "poke-notifier.gui.admin.spawned", (isShiny ? "Shiny " : "") + pokemonName));
+        } catch (Exception e) {
+            ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.ERROR, "poke-notifier.gui.admin.spawn_not_found", pokemonName));
+        }
     }
     
     private static void sendHelp(ServerPlayerEntity player) {
-        List<Text> lines = new ArrayList<>();
-        lines.add(Text.literal("--- Poke Notifier Admin Help ---").formatted(Formatting.GOLD));
-        lines.add(Text.literal("Use the GUI to manage all mod settings.").formatted(Formatting.WHITE));
-        lines.add(Text.literal("Server Control: Toggle debug/test modes, reload configs").formatted(Formatting.AQUA));
-        lines.add(Text.literal("Event Management: Control bounty system and swarms").formatted(Formatting.AQUA));
-        lines.add(Text.literal("Player Data: Manage player progress and backups").formatted(Formatting.AQUA));
-        lines.add(Text.literal("Testing: Spawn Pokémon for testing purposes").formatted(Formatting.AQUA));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        ServerPlayNetworking.send(player, GuiMessagePayload.of(
+                Line.message(Tone.HEADER, "poke-notifier.gui.admin.help_header"),
+                Line.message(Tone.PLAIN, "poke-notifier.gui.admin.help_gui"),
+                Line.message(Tone.INFO, "poke-notifier.gui.admin.help_server"),
+                Line.message(Tone.INFO, "poke-notifier.gui.admin.help_events"),
+                Line.message(Tone.INFO, "poke-notifier.gui.admin.help_player_data"),
+                Line.message(Tone.INFO, "poke-notifier.gui.admin.help_testing")));
     }
     
     private static void sendVersion(ServerPlayerEntity player) {
         String modVersion = FabricLoader.getInstance()
-                .getModContainer("poke-notifier")
+                .getModContainer(PokeNotifier.MOD_ID)
                 .map(ModContainer::getMetadata)
                 .map(meta -> meta.getVersion().getFriendlyString())
                 .orElse("Unknown");
-        List<Text> lines = new ArrayList<>(List.of(Text.literal("Poke Notifier ver. " + modVersion).formatted(Formatting.AQUA)));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
+        ServerPlayNetworking.send(player, GuiMessagePayload.message(Tone.INFO, "poke-notifier.gui.admin.version", modVersion));
     }
     
     private static void sendStatus(ServerPlayerEntity player) {
         ConfigServer config = ConfigManager.getServerConfig();
-        List<Text> lines = new ArrayList<>();
-        lines.add(Text.literal("--- Poke Notifier Server Status ---").formatted(Formatting.GOLD));
-        lines.add(createServerStatusLine("Debug Mode", config.debug_mode_enabled));
-        lines.add(createServerStatusLine("Bounty System", config.bounty_system_enabled));
-        lines.add(createServerStatusLine("Test Mode", config.enable_test_mode));
-        ServerPlayNetworking.send(player, new GuiResponsePayload(lines));
-    }
-    
-    private static MutableText createServerStatusLine(String label, boolean isEnabled) {
-        MutableText message = Text.literal(label + " = ").formatted(Formatting.WHITE);
-        if (isEnabled) {
-            message.append(Text.literal("ON").formatted(Formatting.GREEN));
-        } else {
-            message.append(Text.literal("OFF").formatted(Formatting.RED));
-        }
-        return message;
+        ServerPlayNetworking.send(player, GuiMessagePayload.of(
+                Line.message(Tone.HEADER, "poke-notifier.gui.admin.status_header"),
+                Line.status("poke-notifier.gui.admin.debug_mode", config.debug_mode_enabled),
+                Line.status("poke-notifier.gui.admin.bounty_system", config.bounty_system_enabled),
+                Line.status("poke-notifier.gui.admin.test_mode", config.enable_test_mode)));
     }
     
     private static String formatGenName(String genName) {
         if (genName == null || !genName.toLowerCase().startsWith("gen")) return genName;
         return "Gen" + genName.substring(3);
     }
-}
\ No newline at end of file
+}
@@ -10,12 +10,26 @@ package com.zehro_mc.pokenotifier.util;
 
 import com.zehro_mc.pokenotifier.PokeNotifier;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
-import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -48,6 +62,31 @@ public class DataSecurityUtil {
         }
     }
 
+    // Cipher.getInstance does a provider lookup on every call, so each thread keeps its own instances.
+    // They are re-initialized on every use, which also discards state left over from a failed operation.
+    private static final ThreadLocal<Cipher> ENCRYPT_CIPHER = ThreadLocal.withInitial(DataSecurityUtil::newCipher);
+    private static final ThreadLocal<Cipher> DECRYPT_CIPHER = ThreadLocal.withInitial(DataSecurityUtil::newCipher);
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (Exception e) {
+            throw new IllegalStateException("AES is not available", e);
+        }
+    }
+
+    private static Cipher encryptCipher() throws GeneralSecurityException {
+        Cipher cipher = ENCRYPT_CIPHER.get();
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivParameterSpec);
+        return cipher;
+    }
+
+    private static Cipher decryptCipher() throws GeneralSecurityException {
+        Cipher cipher = DECRYPT_CIPHER.get();
+        cipher.init(Cipher.DECRYPT_MODE, secretKey, ivParameterSpec);
+        return cipher;
+    }
+
     /**
      * Encrypts a plain text string.
      * @param plainText The string to encrypt.
@@ -56,9 +95,7 @@ public class DataSecurityUtil {
     public static String encrypt(String plainText) {
         if (secretKey == null) return plainText; // Fail gracefully if crypto init failed
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivParameterSpec);
-            byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
+            byte[] cipherText = encryptCipher().doFinal(plainText.getBytes(StandardCharsets.UTF_8));
             return Base64.getEncoder().encodeToString(cipherText);
         } catch (Exception e) {
             PokeNotifier.LOGGER.error("Failed to encrypt data", e);
@@ -74,9 +111,7 @@ public class DataSecurityUtil {
     public static String decrypt(String cipherText) {
         if (secretKey == null) return cipherText; // Fail gracefully
         try {
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, ivParameterSpec);
-            byte[] plainText = cipher.doFinal(Base64.getDecoder().decode(cipherText));
+            byte[] plainText = decryptCipher().doFinal(Base64.getDecoder().decode(cipherText));
             return new String(plainText, StandardCharsets.UTF_8);
         } catch (Exception e) {
             // This is expected if the file was tampered with or is from a different version.
@@ -84,4 +119,163 @@ public class DataSecurityUtil {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Wraps a stream so everything written to it is encrypted on the way through.
+     * Closing the returned stream writes the final block but leaves {@code out} open.
+     * Only one encrypting stream per thread may be open at a time.
+     * @param out The stream that receives the raw encrypted bytes.
+     */
+    public static OutputStream encryptingStream(OutputStream out) throws IOException {
+        if (secretKey == null) return new NonClosingOutputStream(out);
+        try {
+            return new CipherOutputStream(new NonClosingOutputStream(out), encryptCipher());
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to initialize encryption", e);
+        }
+    }
+
+    /**
+     * Wraps a stream of bytes produced by {@link #encryptingStream(OutputStream)} so reads return the plain bytes.
+     * A tampered or truncated input surfaces as an IOException while reading.
+     * Only one decrypting stream per thread may be open at a time.
+     * @param in The stream of raw encrypted bytes.
+     */
+    public static InputStream decryptingStream(InputStream in) throws IOException {
+        if (secretKey == null) return in;
+        try {
+            return new CipherInputStream(in, decryptCipher());
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to initialize decryption", e);
+        }
+    }
+
+    /**
+     * Serializes an object with Gson straight into the {"data": "<Base64 AES>"} format used by progress files,
+     * without building the JSON, the encrypted bytes or the Base64 text in memory.
+     * @param gson The Gson instance to serialize with.
+     * @param value The object to write.
+     * @param out The destination. It is flushed but not closed.
+     */
+    public static void writeEncryptedJson(Gson gson, Object value, OutputStream out) throws IOException {
+        out.write(DATA_PREFIX);
+        OutputStream base64 = Base64.getEncoder().wrap(new NonClosingOutputStream(out));
+        try (Writer writer = new OutputStreamWriter(encryptingStream(base64), StandardCharsets.UTF_8)) {
+            gson.toJson(value, writer);
+        } catch (JsonIOException e) {
+            throw new IOException(e);
+        }
+        base64.close(); // Writes the Base64 padding; the encrypting stream deliberately leaves it open.
+        out.write(DATA_SUFFIX);
+        out.flush();
+    }
+
+    /**
+     * Checks whether a stream starts with the {"data": "..."} wrapper written by {@link #writeEncryptedJson},
+     * without consuming anything.
+     * @param in A stream that supports mark/reset.
+     */
+    public static boolean isEncryptedJson(InputStream in) throws IOException {
+        in.mark(DATA_HEADER_SCAN_LIMIT);
+        try {
+            return skipDataHeader(in);
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Reads data written by {@link #writeEncryptedJson}, decrypting the Base64 payload as it streams into Gson.
+     * @param gson The Gson instance to deserialize with.
+     * @param in The source. It is not closed.
+     * @param type The class to deserialize.
+     * @return The object, or null if the data is not in the encrypted format or could not be decrypted or parsed.
+     */
+    public static <T> T readEncryptedJson(Gson gson, InputStream in, Class<T> type) throws IOException {
+        if (!skipDataHeader(in)) return null;
+        InputStream base64 = new Base64FieldStream(in);
+        try {
+            Reader reader = new InputStreamReader(decryptingStream(Base64.getDecoder().wrap(base64)), StandardCharsets.UTF_8);
+            return gson.fromJson(reader, type);
+        } catch (JsonParseException | IOException | IllegalArgumentException e) {
+            // Tampered, truncated or foreign data. Callers treat this like a failed decrypt.
+            return null;
+        }
+    }
+
+    private static final byte[] DATA_PREFIX = "{\"data\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DATA_SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+    private static final int DATA_HEADER_SCAN_LIMIT = 64;
+
+    /**
+     * Consumes {@code {"data":"} (with whitespace between the tokens) and returns true if the stream starts with it.
+     */
+    private static boolean skipDataHeader(InputStream in) throws IOException {
+        String[] tokens = {"{", "\"data\"", ":", "\""};
+        for (String token : tokens) {
+            int c = in.read();
+            while (c >= 0 && Character.isWhitespace(c)) {
+                c = in.read();
+            }
+            for (int i = 0; i < token.length(); i++) {
+                if (i > 0) c = in.read();
+                if (c != token.charAt(i)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Yields the bytes of a JSON string value up to its closing quote. Base64 never contains quotes or escapes.
+     */
+    private static final class Base64FieldStream extends InputStream {
+        private final InputStream in;
+        private boolean ended;
+
+        Base64FieldStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (ended) return -1;
+            int c = in.read();
+            if (c == '"' || c < 0) {
+                ended = true;
+                return -1;
+            }
+            return c;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            int count = 0;
+            while (count < length) {
+                int c = read();
+                if (c < 0) break;
+                buffer[offset + count++] = (byte) c;
+            }
+            return count == 0 ? -1 : count;
+        }
+    }
+
+    /**
+     * Lets a wrapping stream be closed (to finish its own output) without closing the underlying stream.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import net.minecraft.server.world.ChunkTicketType;
+import net.minecraft.server.world.ServerChunkManager;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Finds a spot for an event (a swarm or a Global Hunt) without loading chunks on the server thread.
+ * Candidates whose chunks are already loaded are checked straight away. The others are requested through
+ * the chunk ticket system, so the chunk is read from disk or generated off the server thread, and are checked
+ * once they have loaded. A validator only ever sees a candidate whose surrounding 3x3 chunks are loaded,
+ * so its block and heightmap reads never block.
+ * The search runs a few steps per tick on the {@link TickScheduler} and reports back on the server thread.
+ */
+public class LocationFinder {
+
+    /**
+     * Checks a candidate column and returns the exact spot to use, or null to reject it.
+     * Only reads within 16 blocks of (x, z) are guaranteed not to load chunks.
+     */
+    @FunctionalInterface
+    public interface Validator {
+        BlockPos validate(ServerWorld world, int x, int z);
+    }
+
+    // Radius 1 brings the candidate's chunk and its 8 neighbours to full status.
+    // Tickets expire on their own after 30 seconds, so a forgotten one can't keep chunks loaded.
+    private static final int TICKET_RADIUS = 1;
+    private static final ChunkTicketType<ChunkPos> TICKET_TYPE =
+            ChunkTicketType.create("poke_notifier_location_search", Comparator.comparingLong(ChunkPos::toLong), 30 * TickScheduler.TICKS_PER_SECOND);
+
+    private static final int MAX_CANDIDATES_PER_TICK = 16;
+    private static final int MAX_TICKETS_IN_FLIGHT = 4;
+    private static final int LOAD_TIMEOUT_TICKS = 15 * TickScheduler.TICKS_PER_SECOND;
+
+    private record PendingCandidate(int x, int z, ChunkPos chunk, long requestedAt) {}
+
+    /**
+     * A running search. Cancelling it releases every chunk it requested; the callbacks are not called.
+     */
+    public static final class Search {
+        private final ServerWorld world;
+        private final Supplier<BlockPos> candidates;
+        private final int maxAttempts;
+        private final Validator validator;
+        private final Consumer<BlockPos> onFound;
+        private final Runnable onFailed;
+        private final Deque<BlockPos> backlog = new ArrayDeque<>();
+        private final List<PendingCandidate> loading = new ArrayList<>();
+        private TickScheduler.ScheduledTask task;
+        private int attempts = 0;
+        private long ticks = 0;
+        private boolean exhausted = false;
+        private boolean done = false;
+
+        private Search(ServerWorld world, Supplier<BlockPos> candidates, int maxAttempts, Validator validator,
+                       Consumer<BlockPos> onFound, Runnable onFailed) {
+            this.world = world;
+            this.candidates = candidates;
+            this.maxAttempts = maxAttempts;
+            this.validator = validator;
+            this.onFound = onFound;
+            this.onFailed = onFailed;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public void cancel() {
+            if (done) return;
+            done = true;
+            if (task != null) task.cancel();
+            releaseAll();
+        }
+
+        private void step() {
+            if (done) return;
+            ticks++;
+
+            // Candidates requested earlier that have finished loading.
+            for (Iterator<PendingCandidate> it = loading.iterator(); it.hasNext(); ) {
+                PendingCandidate pending = it.next();
+                if (isAreaLoaded(world, pending.chunk())) {
+                    it.remove();
+                    BlockPos found = validator.validate(world, pending.x(), pending.z());
+                    if (found != null) {
+                        // This candidate's ticket is kept and left to expire, so the area stays loaded
+                        // while the event sets itself up.
+                        finish(found);
+                        return;
+                    }
+                    release(pending.chunk());
+                } else if (ticks - pending.requestedAt() > LOAD_TIMEOUT_TICKS) {
+                    it.remove();
+                    release(pending.chunk());
+                }
+            }
+
+            // New candidates: loaded ones are checked now, the rest wait for a ticket.
+            for (int drawn = 0; drawn < MAX_CANDIDATES_PER_TICK && !exhausted; drawn++) {
+                BlockPos candidate = attempts < maxAttempts ? candidates.get() : null;
+                if (candidate == null) {
+                    exhausted = true;
+                    break;
+                }
+                attempts++;
+                if (isAreaLoaded(world, new ChunkPos(candidate))) {
+                    BlockPos found = validator.validate(world, candidate.getX(), candidate.getZ());
+                    if (found != null) {
+                        finish(found);
+                        return;
+                    }
+                } else {
+                    backlog.add(candidate);
+                }
+            }
+
+            while (loading.size() < MAX_TICKETS_IN_FLIGHT && !backlog.isEmpty()) {
+                BlockPos candidate = backlog.poll();
+                ChunkPos chunk = new ChunkPos(candidate);
+                world.getChunkManager().addTicket(TICKET_TYPE, chunk, TICKET_RADIUS, chunk);
+                loading.add(new PendingCandidate(candidate.getX(), candidate.getZ(), chunk, ticks));
+            }
+
+            if (exhausted && backlog.isEmpty() && loading.isEmpty()) {
+                finish(null);
+            }
+        }
+
+        private void finish(BlockPos found) {
+            done = true;
+            task.cancel();
+            releaseAll();
+            if (found != null) {
+                onFound.accept(found);
+            } else {
+                onFailed.run();
+            }
+        }
+
+        private void releaseAll() {
+            for (PendingCandidate pending : loading) {
+                release(pending.chunk());
+            }
+            loading.clear();
+            backlog.clear();
+        }
+
+        private void release(ChunkPos chunk) {
+            world.getChunkManager().removeTicket(TICKET_TYPE, chunk, TICKET_RADIUS, chunk);
+        }
+    }
+
+    /**
+     * Starts looking for a spot. Must be called on the server thread.
+     * @param candidates Supplies random candidate columns (only x and z are used); returning null ends the search early.
+     * @param maxAttempts The most candidates to try before giving up.
+     * @param onFound Called on the server thread with the validated spot. The spot's chunks stay loaded for a while after it runs.
+     * @param onFailed Called on the server thread if no candidate was valid.
+     * @return The running search, which can be cancelled.
+     */
+    public static Search find(ServerWorld world, Supplier<BlockPos> candidates, int maxAttempts, Validator validator,
+                              Consumer<BlockPos> onFound, Runnable onFailed) {
+        Search search = new Search(world, candidates, maxAttempts, validator, onFound, onFailed);
+        search.task = TickScheduler.scheduleRepeating(1, 1, () -> {
+            try {
+                search.step();
+            } catch (Exception e) {
+                PokeNotifier.LOGGER.error("[LocationFinder] Location search failed", e);
+                // If the exception came from a callback, the search already reported its result.
+                boolean reported = search.done;
+                search.cancel();
+                if (!reported) onFailed.run();
+            }
+        });
+        return search;
+    }
+
+    /**
+     * @return true if the chunk and its 8 neighbours are loaded, so reads around it won't load anything.
+     */
+    public static boolean isAreaLoaded(ServerWorld world, ChunkPos center) {
+        ServerChunkManager chunkManager = world.getChunkManager();
+        for (int dx = -TICKET_RADIUS; dx <= TICKET_RADIUS; dx++) {
+            for (int dz = -TICKET_RADIUS; dz <= TICKET_RADIUS; dz++) {
+                if (!chunkManager.isChunkLoaded(center.x + dx, center.z + dz)) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the chunk containing the position is loaded.
+     */
+    public static boolean isLoaded(ServerWorld world, int x, int z) {
+        return world.getChunkManager().isChunkLoaded(x >> 4, z >> 4);
+    }
+}
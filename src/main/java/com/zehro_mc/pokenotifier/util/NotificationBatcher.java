@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.zehro_mc.pokenotifier.networking.CatchProgressPayload;
+import com.zehro_mc.pokenotifier.networking.NotificationBatchPayload;
+import com.zehro_mc.pokenotifier.networking.StatusUpdatePayload;
+import com.zehro_mc.pokenotifier.networking.WaypointPayload;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the notifications each player receives during a server tick and sends them as one packet
+ * at the end of the tick. During swarms or crowded spawns this turns dozens of packets (and Netty flushes)
+ * per player into a single one. Only the latest progress update is kept, since each one replaces the last.
+ */
+public class NotificationBatcher {
+
+    private static final class PendingBatch {
+        List<WaypointPayload> waypoints = new ArrayList<>();
+        final List<StatusUpdatePayload> statusUpdates = new ArrayList<>();
+        CatchProgressPayload progress;
+
+        int size() {
+            return waypoints.size() + statusUpdates.size() + (progress != null ? 1 : 0);
+        }
+    }
+
+    private static final Map<UUID, PendingBatch> PENDING = new ConcurrentHashMap<>();
+
+    public static void queue(ServerPlayerEntity player, WaypointPayload payload) {
+        batchFor(player).waypoints.add(payload);
+    }
+
+    public static void queue(ServerPlayerEntity player, StatusUpdatePayload payload) {
+        batchFor(player).statusUpdates.add(payload);
+    }
+
+    public static void queue(ServerPlayerEntity player, CatchProgressPayload payload) {
+        batchFor(player).progress = payload;
+    }
+
+    /**
+     * Sends everything queued this tick. Called at the end of every server tick, after all other tick work.
+     * Spawn alerts go through the {@link NotificationRateLimiter} first.
+     * A batch holding a single notification is sent as the plain payload to skip the wrapper.
+     */
+    public static void flush(MinecraftServer server) {
+        // Players with held-back alerts are visited even if nothing new was queued for them.
+        for (UUID playerUuid : NotificationRateLimiter.getPlayersWithBacklog()) {
+            PENDING.computeIfAbsent(playerUuid, uuid -> new PendingBatch());
+        }
+        if (PENDING.isEmpty()) return;
+        for (Map.Entry<UUID, PendingBatch> entry : PENDING.entrySet()) {
+            PENDING.remove(entry.getKey());
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(entry.getKey());
+            if (player == null) continue; // Disconnected during the tick.
+
+            PendingBatch batch = entry.getValue();
+            batch.waypoints = NotificationRateLimiter.admit(player, batch.waypoints, batch.statusUpdates);
+            if (batch.size() == 0) continue;
+            if (batch.size() == 1) {
+                sendSingle(player, batch);
+            } else {
+                ServerPlayNetworking.send(player, new NotificationBatchPayload(
+                        batch.waypoints, batch.statusUpdates, Optional.ofNullable(batch.progress)));
+            }
+        }
+    }
+
+    public static void clear() {
+        PENDING.clear();
+    }
+
+    private static PendingBatch batchFor(ServerPlayerEntity player) {
+        return PENDING.computeIfAbsent(player.getUuid(), uuid -> new PendingBatch());
+    }
+
+    private static void sendSingle(ServerPlayerEntity player, PendingBatch batch) {
+        if (!batch.waypoints.isEmpty()) {
+            ServerPlayNetworking.send(player, batch.waypoints.get(0));
+        } else if (!batch.statusUpdates.isEmpty()) {
+            ServerPlayNetworking.send(player, batch.statusUpdates.get(0));
+        } else {
+            ServerPlayNetworking.send(player, batch.progress);
+        }
+    }
+}
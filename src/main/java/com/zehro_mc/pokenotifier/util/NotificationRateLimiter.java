@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.ConfigServer;
+import com.zehro_mc.pokenotifier.networking.StatusUpdatePayload;
+import com.zehro_mc.pokenotifier.networking.WaypointPayload;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Limits how many spawn alerts each player receives, using a token bucket per player.
+ * When the bucket runs dry, alerts the player asked for or that are hard to come by (shiny, legendary, mythical,
+ * ultra beast, paradox, custom list and Catch 'em All) are held back and delivered as tokens come back, highest
+ * priority first; once the backlog is full, a new alert pushes out a held-back one of lower priority.
+ * Everything else is folded into a single summary chat line and the player stops tracking that Pokémon.
+ * A rate of 0 turns the limiter off.
+ */
+public class NotificationRateLimiter {
+
+    private static final int MAX_DEFERRED = 8;
+    // Alerts below this priority are never held back.
+    private static final int MIN_DEFERRED_PRIORITY = 2;
+    private static final long SUMMARY_INTERVAL_MILLIS = 5000;
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefill;
+        final List<WaypointPayload> deferred = new ArrayList<>();
+        int suppressed;
+        long lastSummary;
+
+        Bucket(int burst, long now) {
+            this.tokens = burst;
+            this.lastRefill = now;
+        }
+
+        boolean hasBacklog() {
+            return !deferred.isEmpty() || suppressed > 0;
+        }
+    }
+
+    private static final Map<UUID, Bucket> BUCKETS = new ConcurrentHashMap<>();
+
+    /**
+     * Decides which of a player's spawn alerts for this tick are sent now.
+     * Alerts held back from earlier ticks are reconsidered first, unless the Pokémon is already gone.
+     * @param player The player the alerts are for.
+     * @param queued The alerts queued this tick.
+     * @param statusUpdates The status updates queued this tick, used to drop held-back alerts that are stale.
+     * @return The alerts to send now, highest priority first.
+     */
+    public static List<WaypointPayload> admit(ServerPlayerEntity player, List<WaypointPayload> queued, List<StatusUpdatePayload> statusUpdates) {
+        ConfigServer config = ConfigManager.getServerConfig();
+        if (config.notification_rate_per_second <= 0) {
+            BUCKETS.remove(player.getUuid());
+            return queued;
+        }
+        long now = System.currentTimeMillis();
+        Bucket bucket = BUCKETS.computeIfAbsent(player.getUuid(), uuid -> new Bucket(config.notification_burst, now));
+        bucket.tokens = Math.min(config.notification_burst, bucket.tokens + (now - bucket.lastRefill) / 1000.0 * config.notification_rate_per_second);
+        bucket.lastRefill = now;
+
+        List<WaypointPayload> candidates = new ArrayList<>(bucket.deferred);
+        bucket.deferred.clear();
+        if (!statusUpdates.isEmpty()) {
+            Set<UUID> gone = statusUpdates.stream().map(StatusUpdatePayload::uuid).collect(Collectors.toSet());
+            candidates.removeIf(payload -> gone.contains(payload.uuid()));
+        }
+        candidates.addAll(queued);
+        // Stable sort, so alerts of the same priority keep their spawn order.
+        candidates.sort(Comparator.comparingInt((WaypointPayload payload) -> priority(payload.rarity())).reversed());
+
+        List<WaypointPayload> admitted = new ArrayList<>();
+        for (WaypointPayload payload : candidates) {
+            if (bucket.tokens >= 1) {
+                bucket.tokens--;
+                admitted.add(payload);
+            } else if (priority(payload.rarity()) >= MIN_DEFERRED_PRIORITY) {
+                WaypointPayload dropped = defer(bucket, payload);
+                if (dropped != null) {
+                    suppress(bucket, dropped, player);
+                }
+            } else {
+                suppress(bucket, payload, player);
+            }
+        }
+
+        if (bucket.suppressed > 0 && now - bucket.lastSummary >= SUMMARY_INTERVAL_MILLIS) {
+            sendSummary(player, bucket.suppressed);
+            bucket.suppressed = 0;
+            bucket.lastSummary = now;
+        }
+        return admitted;
+    }
+
+    /**
+     * @return The players with held-back alerts or an unsent summary, who need a visit even without new alerts.
+     */
+    public static Set<UUID> getPlayersWithBacklog() {
+        return BUCKETS.entrySet().stream()
+                .filter(entry -> entry.getValue().hasBacklog())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    public static void remove(UUID playerUuid) {
+        BUCKETS.remove(playerUuid);
+    }
+
+    public static void clear() {
+        BUCKETS.clear();
+    }
+
+    /**
+     * Holds an alert back. If the backlog is full, the lowest-priority alert in it (the newest, among equals)
+     * makes room for the new one, as long as the new one ranks higher.
+     * @return The alert that didn't fit, or null if nothing had to go.
+     */
+    private static WaypointPayload defer(Bucket bucket, WaypointPayload payload) {
+        if (bucket.deferred.size() < MAX_DEFERRED) {
+            bucket.deferred.add(payload);
+            return null;
+        }
+        int lowest = 0;
+        for (int i = 1; i < bucket.deferred.size(); i++) {
+            if (priority(bucket.deferred.get(i).rarity()) <= priority(bucket.deferred.get(lowest).rarity())) {
+                lowest = i;
+            }
+        }
+        if (priority(bucket.deferred.get(lowest).rarity()) >= priority(payload.rarity())) {
+            return payload;
+        }
+        return bucket.deferred.set(lowest, payload);
+    }
+
+    private static void suppress(Bucket bucket, WaypointPayload payload, ServerPlayerEntity player) {
+        bucket.suppressed++;
+        // The player won't see this alert, so they shouldn't hear about it despawning either.
+        TrackedPokemonManager.unsubscribe(payload.uuid(), player.getUuid());
+    }
+
+    private static int priority(RarityUtil.RarityCategory rarity) {
+        return switch (rarity) {
+            case SHINY, LEGENDARY, MYTHICAL, CUSTOM -> 4;
+            case ULTRA_BEAST, PARADOX -> 3;
+            case HUNT -> 2;
+            case ULTRA_RARE -> 1;
+            default -> 0;
+        };
+    }
+
+    private static void sendSummary(ServerPlayerEntity player, int count) {
+        player.sendMessage(Text.literal("[").formatted(Formatting.GREEN)
+                .append(Text.literal("Poke Notifier").formatted(Formatting.GOLD))
+                .append(Text.literal("] ").formatted(Formatting.GREEN))
+                .append(Text.literal("...and " + count + " more rare Pokémon nearby.").formatted(Formatting.YELLOW)), false);
+    }
+}
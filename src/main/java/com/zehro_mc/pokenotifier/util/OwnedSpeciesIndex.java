@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.cobblemon.mod.common.Cobblemon;
+import com.cobblemon.mod.common.api.Priority;
+import com.cobblemon.mod.common.api.events.CobblemonEvents;
+import com.cobblemon.mod.common.api.storage.PokemonStore;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.cobblemon.mod.common.pokemon.Species;
+import kotlin.Unit;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a per-player bitset of the species they own (party + PC), so "CAUGHT"/"NEW" checks
+ * are a single bit test instead of a walk over every storage slot.
+ * The index is built once per player and then maintained from Cobblemon's storage-level gained
+ * event (captures, starters, gifts, fossils, commands) and its release, trade and evolution events.
+ */
+public class OwnedSpeciesIndex {
+
+    // Dense index assigned to each species the first time it is seen. Keyed by identifier because
+    // Cobblemon replaces its Species instances when datapacks are reloaded.
+    private static final Map<Identifier, Integer> SPECIES_INDICES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_SPECIES_INDEX = new AtomicInteger();
+
+    private static final Map<UUID, OwnedSpecies> OWNED_SPECIES = new ConcurrentHashMap<>();
+
+    /** The species a single player owns, with a per-species count so releases can clear bits safely. */
+    private static class OwnedSpecies {
+        private final BitSet owned = new BitSet();
+        private int[] counts = new int[64];
+
+        void add(int index) {
+            if (index >= counts.length) {
+                int[] grown = new int[Math.max(index + 1, counts.length * 2)];
+                System.arraycopy(counts, 0, grown, 0, counts.length);
+                counts = grown;
+            }
+            counts[index]++;
+            owned.set(index);
+        }
+
+        void remove(int index) {
+            if (index >= counts.length || counts[index] == 0) return;
+            if (--counts[index] == 0) {
+                owned.clear(index);
+            }
+        }
+    }
+
+    /**
+     * Subscribes to the Cobblemon events that change which species a player owns.
+     */
+    public static void register() {
+        // Fired whenever a Pokémon lands in a player's storage, however it got there: captures, starters,
+        // gifts, fossils and commands alike, so this is the only place gains are counted.
+        CobblemonEvents.POKEMON_GAINED.subscribe(Priority.NORMAL, event -> {
+            onPokemonGained(event.getPlayerId(), event.getPokemon());
+            return Unit.INSTANCE;
+        });
+        CobblemonEvents.POKEMON_RELEASED_EVENT_POST.subscribe(Priority.NORMAL, event -> {
+            onPokemonLost(event.getPlayer().getUuid(), event.getPokemon());
+            return Unit.INSTANCE;
+        });
+        // Trades and evolutions swap one species for another; rebuilding on next use is simpler than diffing.
+        CobblemonEvents.TRADE_COMPLETED.subscribe(Priority.NORMAL, event -> {
+            invalidate(event.getTradeParticipant1().getUuid());
+            invalidate(event.getTradeParticipant2().getUuid());
+            return Unit.INSTANCE;
+        });
+        CobblemonEvents.EVOLUTION_COMPLETE.subscribe(Priority.NORMAL, event -> {
+            UUID ownerUuid = event.getPokemon().getOwnerUUID();
+            if (ownerUuid != null) {
+                invalidate(ownerUuid);
+            }
+            return Unit.INSTANCE;
+        });
+    }
+
+    /**
+     * Builds the index for a player from their party and PC. Called on join.
+     * @param player The player to index.
+     */
+    public static void load(ServerPlayerEntity player) {
+        OWNED_SPECIES.put(player.getUuid(), scan(player));
+    }
+
+    /**
+     * Drops a player's index, e.g. when they disconnect.
+     * @param playerUuid The player's UUID.
+     */
+    public static void unload(UUID playerUuid) {
+        OWNED_SPECIES.remove(playerUuid);
+    }
+
+    /**
+     * Forces a rescan of the player's storage the next time their index is queried.
+     * @param playerUuid The player's UUID.
+     */
+    public static void invalidate(UUID playerUuid) {
+        OWNED_SPECIES.remove(playerUuid);
+    }
+
+    /**
+     * Records that a player obtained a Pokémon, however it reached their storage.
+     */
+    public static void onPokemonGained(UUID playerUuid, Pokemon pokemon) {
+        OwnedSpecies owned = OWNED_SPECIES.get(playerUuid);
+        if (owned != null) {
+            synchronized (owned) {
+                owned.add(indexOf(pokemon.getSpecies()));
+            }
+        }
+    }
+
+    /**
+     * Records that a player no longer owns a Pokémon (e.g. it was released).
+     */
+    public static void onPokemonLost(UUID playerUuid, Pokemon pokemon) {
+        OwnedSpecies owned = OWNED_SPECIES.get(playerUuid);
+        if (owned != null) {
+            synchronized (owned) {
+                owned.remove(indexOf(pokemon.getSpecies()));
+            }
+        }
+    }
+
+    /**
+     * Checks whether a player owns at least one Pokémon of the given species.
+     * @param player The player to check.
+     * @param species The species to look for.
+     * @return true if the species is in the player's party or PC.
+     */
+    public static boolean hasSpecies(ServerPlayerEntity player, Species species) {
+        OwnedSpecies owned = OWNED_SPECIES.computeIfAbsent(player.getUuid(), uuid -> scan(player));
+        int index = indexOf(species);
+        synchronized (owned) {
+            return owned.owned.get(index);
+        }
+    }
+
+    private static OwnedSpecies scan(ServerPlayerEntity player) {
+        OwnedSpecies owned = new OwnedSpecies();
+        addAll(owned, Cobblemon.INSTANCE.getStorage().getParty(player));
+        addAll(owned, Cobblemon.INSTANCE.getStorage().getPC(player));
+        return owned;
+    }
+
+    private static void addAll(OwnedSpecies owned, PokemonStore<?> store) {
+        for (Pokemon pokemon : store) {
+            if (pokemon != null) {
+                owned.add(indexOf(pokemon.getSpecies()));
+            }
+        }
+    }
+
+    private static int indexOf(Species species) {
+        return SPECIES_INDICES.computeIfAbsent(species.getResourceIdentifier(), id -> NEXT_SPECIES_INDEX.getAndIncrement());
+    }
+}
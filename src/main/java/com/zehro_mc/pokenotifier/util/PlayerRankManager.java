@@ -11,15 +11,13 @@ package com.zehro_mc.pokenotifier.util;
 import com.zehro_mc.pokenotifier.PokeNotifier;
 import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import com.zehro_mc.pokenotifier.networking.PayloadBroadcaster;
 import com.zehro_mc.pokenotifier.networking.RankSyncPayload;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.text.Text;
-import net.minecraft.util.Formatting;
 
 import java.util.Map;
-import java.util.HashMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -29,28 +27,27 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class PlayerRankManager {
 
-    // Server-side cache for player ranks (number of completed generations).
+    // Server-side cache for the ranks of online players (number of completed generations).
     private static final Map<UUID, Integer> PLAYER_RANKS = new ConcurrentHashMap<>();
 
+    /**
+     * Recalculates a player's rank and, if it changed, sends the new value to everyone online.
+     */
     public static void updateAndSyncRank(ServerPlayerEntity player) {
         PlayerCatchProgress progress = ConfigManager.getPlayerCatchProgress(player.getUuid());
         int completedCount = progress.completed_generations.size();
-        PLAYER_RANKS.put(player.getUuid(), completedCount);
-
-        syncRanksToAll(player.getServer());
-    }
-
-    public static void syncRanksToAll(MinecraftServer server) {
-        if (server == null) return;
-        HashMap<UUID, Integer> ranksToSend = new HashMap<>(PLAYER_RANKS);
-        RankSyncPayload payload = new RankSyncPayload(ranksToSend);
-        for (ServerPlayerEntity p : server.getPlayerManager().getPlayerList()) {
-            ServerPlayNetworking.send(p, payload);
+        Integer previous = PLAYER_RANKS.put(player.getUuid(), completedCount);
+        if (previous == null || previous != completedCount) {
+            broadcast(player.getServer(), RankSyncPayload.update(player.getUuid(), completedCount));
         }
     }
 
+    /**
+     * Sends the joining player a snapshot of every online player's rank and announces their own rank to the others.
+     */
     public static void onPlayerJoin(ServerPlayerEntity player) {
         updateAndSyncRank(player);
+        ServerPlayNetworking.send(player, RankSyncPayload.snapshot(PLAYER_RANKS));
 
         // Schedule Master rank effects to ensure they trigger after the player has fully loaded.
         if (getRank(player.getUuid()) >= 9) {
@@ -58,9 +55,27 @@ public class PlayerRankManager {
                 PrestigeEffects.playMasterEffects(player);
             });
         }
-    }    
+    }
+
+    /**
+     * Forgets a player who left and tells the remaining players to drop them too.
+     */
+    public static void onPlayerDisconnect(ServerPlayerEntity player) {
+        if (PLAYER_RANKS.remove(player.getUuid()) != null) {
+            broadcast(player.getServer(), RankSyncPayload.removal(player.getUuid()));
+        }
+    }
 
     public static int getRank(UUID playerUuid) {
         return PLAYER_RANKS.getOrDefault(playerUuid, 0);
     }
+
+    public static void clear() {
+        PLAYER_RANKS.clear();
+    }
+
+    private static void broadcast(MinecraftServer server, RankSyncPayload payload) {
+        if (server == null) return;
+        PayloadBroadcaster.broadcast(server, payload);
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A per-dimension index of online players, bucketed by the chunk they are standing in.
+ * Spawn notifications use it to only consider players whose notification radius can reach the spawn,
+ * instead of checking every online player. All access must happen on the server thread.
+ */
+public class PlayerSpatialIndex {
+
+    // Extra chunk of padding on queries, since positions are only refreshed once per tick.
+    private static final int QUERY_PADDING_CHUNKS = 1;
+
+    private static final Map<RegistryKey<World>, Long2ObjectMap<List<ServerPlayerEntity>>> BUCKETS = new HashMap<>();
+    private static final Map<UUID, IndexedLocation> LOCATIONS = new HashMap<>();
+
+    private record IndexedLocation(ServerPlayerEntity player, RegistryKey<World> dimension, long chunkKey) {}
+
+    /**
+     * Re-buckets every online player whose dimension or chunk changed since the last refresh.
+     * Called once per server tick; players that did not cross a chunk border cost a single map lookup.
+     * @param server The running server.
+     */
+    public static void refresh(MinecraftServer server) {
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            update(player);
+        }
+    }
+
+    /**
+     * Inserts or moves a single player in the index.
+     * @param player The player to index.
+     */
+    public static void update(ServerPlayerEntity player) {
+        RegistryKey<World> dimension = player.getServerWorld().getRegistryKey();
+        long chunkKey = player.getChunkPos().toLong();
+
+        IndexedLocation current = LOCATIONS.get(player.getUuid());
+        if (current != null) {
+            // The player object is replaced on respawn, so identity matters as much as position.
+            if (current.player() == player && current.dimension() == dimension && current.chunkKey() == chunkKey) {
+                return;
+            }
+            removeFromBucket(current);
+        }
+
+        BUCKETS.computeIfAbsent(dimension, key -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(chunkKey, key -> new ArrayList<>(2))
+                .add(player);
+        LOCATIONS.put(player.getUuid(), new IndexedLocation(player, dimension, chunkKey));
+    }
+
+    /**
+     * Removes a player from the index, e.g. when they disconnect.
+     * @param player The player to remove.
+     */
+    public static void remove(ServerPlayerEntity player) {
+        IndexedLocation current = LOCATIONS.remove(player.getUuid());
+        if (current != null) {
+            removeFromBucket(current);
+        }
+    }
+
+    /**
+     * Clears the whole index. Called when the server stops.
+     */
+    public static void clear() {
+        BUCKETS.clear();
+        LOCATIONS.clear();
+    }
+
+    /**
+     * Returns the players in the given world that are within {@code radius} blocks of a position.
+     * @param world The world the position is in.
+     * @param pos The center of the search.
+     * @param radius The search radius in blocks.
+     * @return A new list of matching players; empty if nobody is in range.
+     */
+    public static List<ServerPlayerEntity> getPlayersInRange(ServerWorld world, BlockPos pos, double radius) {
+        Long2ObjectMap<List<ServerPlayerEntity>> dimensionBuckets = BUCKETS.get(world.getRegistryKey());
+        if (dimensionBuckets == null || dimensionBuckets.isEmpty()) {
+            return List.of();
+        }
+
+        int centerX = ChunkSectionPos.getSectionCoord(pos.getX());
+        int centerZ = ChunkSectionPos.getSectionCoord(pos.getZ());
+        int chunkRadius = (int) Math.ceil(radius / 16.0) + QUERY_PADDING_CHUNKS;
+        double radiusSq = radius * radius;
+        List<ServerPlayerEntity> result = new ArrayList<>();
+
+        long area = (long) (2 * chunkRadius + 1) * (2 * chunkRadius + 1);
+        if (area > dimensionBuckets.size()) {
+            // Fewer occupied chunks than chunks in range: walk the occupied ones instead.
+            for (Long2ObjectMap.Entry<List<ServerPlayerEntity>> entry : dimensionBuckets.long2ObjectEntrySet()) {
+                long key = entry.getLongKey();
+                if (Math.abs(ChunkPos.getPackedX(key) - centerX) <= chunkRadius && Math.abs(ChunkPos.getPackedZ(key) - centerZ) <= chunkRadius) {
+                    collectInRange(entry.getValue(), pos, radiusSq, result);
+                }
+            }
+        } else {
+            for (int x = centerX - chunkRadius; x <= centerX + chunkRadius; x++) {
+                for (int z = centerZ - chunkRadius; z <= centerZ + chunkRadius; z++) {
+                    List<ServerPlayerEntity> bucket = dimensionBuckets.get(ChunkPos.toLong(x, z));
+                    if (bucket != null) {
+                        collectInRange(bucket, pos, radiusSq, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void collectInRange(List<ServerPlayerEntity> bucket, BlockPos pos, double radiusSq, List<ServerPlayerEntity> result) {
+        for (ServerPlayerEntity player : bucket) {
+            if (player.getPos().squaredDistanceTo(pos.toCenterPos()) <= radiusSq) {
+                result.add(player);
+            }
+        }
+    }
+
+    private static void removeFromBucket(IndexedLocation location) {
+        Long2ObjectMap<List<ServerPlayerEntity>> dimensionBuckets = BUCKETS.get(location.dimension());
+        if (dimensionBuckets == null) return;
+
+        List<ServerPlayerEntity> bucket = dimensionBuckets.get(location.chunkKey());
+        if (bucket == null) return;
+
+        bucket.remove(location.player());
+        if (bucket.isEmpty()) {
+            dimensionBuckets.remove(location.chunkKey());
+        }
+    }
+}
@@ -12,7 +12,6 @@ import com.zehro_mc.pokenotifier.ConfigManager;
 import com.zehro_mc.pokenotifier.model.GenerationData;
 import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
 import com.zehro_mc.pokenotifier.networking.CatchProgressPayload;
-import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.server.network.ServerPlayerEntity;
 
 import java.util.Set;
@@ -23,7 +22,7 @@ import java.util.Set;
 public class PokeNotifierServerUtils {
 
     /**
-     * Sends a "Catch 'em All" progress update to a specific player.
+     * Queues a "Catch 'em All" progress update for a specific player. It is sent at the end of the tick.
      * @param player The player to send the update to.
      */
     public static void sendCatchProgressUpdate(ServerPlayerEntity player) {
@@ -31,7 +30,7 @@ public class PokeNotifierServerUtils {
         if (progress.active_generations.isEmpty()) {
             // FIX: Provide all 4 required arguments to the constructor.
             int customHuntListSize = ConfigManager.getPlayerConfig(player.getUuid()).tracked_pokemon.size();
-            ServerPlayNetworking.send(player, new CatchProgressPayload("none", 0, 0, customHuntListSize));
+            NotificationBatcher.queue(player, new CatchProgressPayload("none", 0, 0, customHuntListSize));
         } else {
             String activeGen = progress.active_generations.iterator().next();
             GenerationData genData = ConfigManager.getGenerationData(activeGen);
@@ -39,7 +38,7 @@ public class PokeNotifierServerUtils {
             int totalCount = genData != null ? genData.pokemon.size() : 0;
             int customHuntListSize = ConfigManager.getPlayerConfig(player.getUuid()).tracked_pokemon.size();
 
-            ServerPlayNetworking.send(player, new CatchProgressPayload(
+            NotificationBatcher.queue(player, new CatchProgressPayload(
                     activeGen,
                     caughtCount,
                     totalCount,
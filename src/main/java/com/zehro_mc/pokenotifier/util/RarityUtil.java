@@ -15,6 +15,10 @@ import com.zehro_mc.pokenotifier.model.CustomListConfig;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Formatting;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Determines the rarity of a Pokémon based on a prioritized list of criteria.
  */
@@ -47,42 +51,71 @@ public class RarityUtil {
         }
     }
 
+    // Global rarity of each species path, flattened from the ConfigPokemon lists so a lookup is a single probe.
+    private static volatile Map<String, RarityCategory> rarityTable;
+
+    /**
+     * Rebuilds the species-to-rarity lookup table from the given Pokémon lists.
+     * Called whenever the Pokémon configuration is (re)loaded.
+     * @param configPokemon The rarity lists to flatten.
+     */
+    public static void rebuildRarityTable(ConfigPokemon configPokemon) {
+        Map<String, RarityCategory> table = new HashMap<>();
+        // Insert in priority order; a species listed in several buckets keeps the highest one.
+        putAll(table, configPokemon.LEGENDARY, RarityCategory.LEGENDARY);
+        putAll(table, configPokemon.MYTHICAL, RarityCategory.MYTHICAL);
+        putAll(table, configPokemon.ULTRA_BEAST, RarityCategory.ULTRA_BEAST);
+        putAll(table, configPokemon.PARADOX, RarityCategory.PARADOX);
+        putAll(table, configPokemon.ULTRA_RARE, RarityCategory.ULTRA_RARE);
+        putAll(table, configPokemon.RARE, RarityCategory.RARE);
+        rarityTable = table;
+    }
+
+    private static void putAll(Map<String, RarityCategory> table, Set<String> names, RarityCategory rarity) {
+        for (String name : names) {
+            table.putIfAbsent(name, rarity);
+        }
+    }
+
+    /**
+     * Gets the rarity of a Pokémon for a specific player, including their custom hunt list.
+     */
     public static RarityCategory getRarity(Pokemon pokemon, ServerPlayerEntity player) {
-        // Use the identifier path for a clean, consistent name (e.g., 'nidoran_f', 'mr_mime').
-        String name = pokemon.getForm().getSpecies().getResourceIdentifier().getPath();
+        return getRarity(pokemon, player, getGlobalRarity(pokemon));
+    }
 
+    /**
+     * Layers a player's custom hunt list on top of an already resolved global rarity.
+     * Lets callers that notify many players about the same Pokémon resolve the global rarity only once.
+     */
+    public static RarityCategory getRarity(Pokemon pokemon, ServerPlayerEntity player, RarityCategory globalRarity) {
         if (player != null) {
             CustomListConfig playerConfig = ConfigManager.getPlayerConfig(player.getUuid());
-            if (playerConfig.tracked_pokemon.contains(name)) {
+            if (!playerConfig.tracked_pokemon.isEmpty() && playerConfig.tracked_pokemon.contains(getSpeciesName(pokemon))) {
                 return RarityCategory.CUSTOM;
             }
         }
+        return globalRarity;
+    }
 
+    /**
+     * Gets the rarity of a Pokémon ignoring any player-specific lists.
+     */
+    public static RarityCategory getGlobalRarity(Pokemon pokemon) {
         if (pokemon.getShiny()) {
             return RarityCategory.SHINY;
         }
 
-        ConfigPokemon configPokemon = ConfigManager.getPokemonConfig();
-
-        if (configPokemon.LEGENDARY.contains(name)) {
-            return RarityCategory.LEGENDARY;
-        }
-        if (configPokemon.MYTHICAL.contains(name)) {
-            return RarityCategory.MYTHICAL;
-        }
-        if (configPokemon.ULTRA_BEAST.contains(name)) {
-            return RarityCategory.ULTRA_BEAST;
-        }
-        if (configPokemon.PARADOX.contains(name)) {
-            return RarityCategory.PARADOX;
-        }
-        if (configPokemon.ULTRA_RARE.contains(name)) {
-            return RarityCategory.ULTRA_RARE;
-        }
-        if (configPokemon.RARE.contains(name)) {
-            return RarityCategory.RARE;
+        Map<String, RarityCategory> table = rarityTable;
+        if (table == null) {
+            rebuildRarityTable(ConfigManager.getPokemonConfig());
+            table = rarityTable;
         }
+        return table.getOrDefault(getSpeciesName(pokemon), RarityCategory.COMMON);
+    }
 
-        return RarityCategory.COMMON;
+    private static String getSpeciesName(Pokemon pokemon) {
+        // Use the identifier path for a clean, consistent name (e.g., 'nidoran_f', 'mr_mime').
+        return pokemon.getForm().getSpecies().getResourceIdentifier().getPath();
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.PokeNotifier;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands work from any thread to the server thread, where it runs at the end of the next tick.
+ * Producers never block or lock each other; the server thread is the only consumer.
+ * When scheduled_task_budget_ms is set, tasks that don't fit in this tick's budget wait for the next one
+ * instead of lengthening the tick. Tasks queued while the queue is being drained also wait for the next tick.
+ */
+public class ServerTaskQueue {
+
+    private record QueuedTask(Runnable task, long queuedAt) {}
+
+    private static final Queue<QueuedTask> QUEUE = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the whole queue, so the depth is counted separately.
+    private static final AtomicInteger DEPTH = new AtomicInteger();
+
+    private static final LongAdder EXECUTED = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+    private static final LongAdder TOTAL_LATENCY_NANOS = new LongAdder();
+    private static final AtomicLong MAX_LATENCY_NANOS = new AtomicLong();
+    private static final AtomicInteger MAX_DEPTH = new AtomicInteger();
+    private static final LongAdder SPILLED_TICKS = new LongAdder();
+
+    /**
+     * Queues a task to run on the server thread. Safe to call from any thread.
+     * @param task The task to run.
+     */
+    public static void submit(Runnable task) {
+        QUEUE.add(new QueuedTask(task, System.nanoTime()));
+        int depth = DEPTH.incrementAndGet();
+        MAX_DEPTH.accumulateAndGet(depth, Math::max);
+    }
+
+    /**
+     * Runs queued tasks until the queue is empty or the tick budget is used up. At least one task runs
+     * every tick, so the queue always makes progress. Called at the end of every server tick.
+     */
+    public static void drain() {
+        int available = DEPTH.get();
+        if (available == 0) return;
+
+        long budgetNanos = ConfigManager.getServerConfig().scheduled_task_budget_ms * 1_000_000L;
+        long start = System.nanoTime();
+        int ran = 0;
+        QueuedTask queued;
+        while (ran < available && (queued = QUEUE.poll()) != null) {
+            DEPTH.decrementAndGet();
+            long latency = System.nanoTime() - queued.queuedAt();
+            TOTAL_LATENCY_NANOS.add(latency);
+            MAX_LATENCY_NANOS.accumulateAndGet(latency, Math::max);
+            try {
+                queued.task().run();
+            } catch (Exception e) {
+                FAILED.increment();
+                PokeNotifier.LOGGER.error("[ServerTaskQueue] A scheduled task failed", e);
+            }
+            EXECUTED.increment();
+            ran++;
+
+            if (budgetNanos > 0 && ran < available && System.nanoTime() - start >= budgetNanos) {
+                SPILLED_TICKS.increment();
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return The number of tasks waiting to run.
+     */
+    public static int getDepth() {
+        return DEPTH.get();
+    }
+
+    /**
+     * @return The largest number of tasks that were waiting at once since the counters were reset.
+     */
+    public static int getMaxDepth() {
+        return MAX_DEPTH.get();
+    }
+
+    public static long getExecutedCount() {
+        return EXECUTED.sum();
+    }
+
+    public static long getFailedCount() {
+        return FAILED.sum();
+    }
+
+    /**
+     * @return How many ticks ran out of budget and left tasks for the next tick.
+     */
+    public static long getSpilledTicks() {
+        return SPILLED_TICKS.sum();
+    }
+
+    /**
+     * @return The average time, in milliseconds, between a task being queued and it starting to run.
+     */
+    public static double getAverageLatencyMillis() {
+        long executed = EXECUTED.sum();
+        return executed == 0 ? 0 : TOTAL_LATENCY_NANOS.sum() / (double) executed / 1_000_000.0;
+    }
+
+    /**
+     * @return The longest time, in milliseconds, a task waited before it started to run.
+     */
+    public static double getMaxLatencyMillis() {
+        return MAX_LATENCY_NANOS.get() / 1_000_000.0;
+    }
+
+    public static void resetCounters() {
+        EXECUTED.reset();
+        FAILED.reset();
+        TOTAL_LATENCY_NANOS.reset();
+        MAX_LATENCY_NANOS.set(0);
+        MAX_DEPTH.set(DEPTH.get());
+        SPILLED_TICKS.reset();
+    }
+
+    /**
+     * Drops every queued task. Called when the server stops.
+     */
+    public static void clear() {
+        QUEUE.clear();
+        DEPTH.set(0);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.PokeNotifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long each part of Poke Notifier's per-tick work takes.
+ * Every tick, each section's total time goes into a rolling log-scale histogram, so p50/p99/max
+ * can be read over the last 1, 5 or 15 minutes without keeping every sample.
+ * A section that takes more than tick_profiler_warn_percent of the 50 ms tick is logged, at most once a minute.
+ * Everything here runs on the server thread.
+ */
+public class TickProfiler {
+
+    public enum Section {
+        SPATIAL_INDEX("spatial_index"),
+        TRACKED_POKEMON("tracked_pokemon"),
+        TASK_QUEUE("task_queue"),
+        TICK_SCHEDULER("tick_scheduler"),
+        PLAYER_DATA("player_data"),
+        BOUNTY("bounty"),
+        SWARM("swarm"),
+        NOTIFICATION_BATCHER("notification_batcher"),
+        NETWORK_STATS("network_stats"),
+        TROPHY_ALTAR("trophy_altar");
+
+        private final String id;
+
+        Section(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    public enum Window {
+        ONE_MINUTE("1m", 1),
+        FIVE_MINUTES("5m", 5),
+        FIFTEEN_MINUTES("15m", 15);
+
+        private final String id;
+        private final int minutes;
+
+        Window(String id, int minutes) {
+            this.id = id;
+            this.minutes = minutes;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public static Window fromId(String id) {
+            for (Window window : values()) {
+                if (window.id.equalsIgnoreCase(id)) return window;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Percentiles of one section over a window, in nanoseconds per tick.
+     */
+    public record SectionTimings(Section section, long ticks, long p50Nanos, long p99Nanos, long maxNanos) {}
+
+    public static final long TICK_NANOS = 50_000_000L;
+
+    // Each histogram covers SLOT_TICKS ticks; the oldest one is recycled once the 15 minute window has moved past it.
+    private static final int SLOT_TICKS = 15 * 20;
+    private static final int SLOTS = 15 * 60 * 20 / SLOT_TICKS;
+    // Four buckets per power of two, so a reported percentile is at most 25% above the real value.
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 40 * SUB_BUCKETS;
+    private static final long WARN_COOLDOWN_TICKS = 60 * 20;
+
+    private static final int SECTIONS = Section.values().length;
+    private static final long[] CURRENT_TICK_NANOS = new long[SECTIONS];
+    private static final int[][][] HISTOGRAMS = new int[SECTIONS][SLOTS][BUCKETS];
+    private static final long[][] SLOT_MAX = new long[SECTIONS][SLOTS];
+    private static final long[] LAST_WARNED_TICK = new long[SECTIONS];
+    private static final int[] SUPPRESSED_WARNINGS = new int[SECTIONS];
+
+    private static long tickCount = 0;
+    private static int currentSlot = 0;
+
+    static {
+        Arrays.fill(LAST_WARNED_TICK, -WARN_COOLDOWN_TICKS);
+    }
+
+    /**
+     * Runs a piece of tick work and adds its duration to the section's total for this tick.
+     */
+    public static void time(Section section, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            CURRENT_TICK_NANOS[section.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Adds time measured elsewhere, such as in a block entity ticker, to the section's total for this tick.
+     * @param startNanos The {@link System#nanoTime()} taken when the work started.
+     */
+    public static void record(Section section, long startNanos) {
+        CURRENT_TICK_NANOS[section.ordinal()] += System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Moves this tick's totals into the histograms and warns about sections over the threshold.
+     * Called once at the very end of every server tick.
+     */
+    public static void endTick() {
+        int slot = (int) ((tickCount / SLOT_TICKS) % SLOTS);
+        if (slot != currentSlot) {
+            currentSlot = slot;
+            clearSlot(slot);
+        }
+
+        int warnPercent = ConfigManager.getServerConfig().tick_profiler_warn_percent;
+        long warnNanos = warnPercent > 0 ? TICK_NANOS * warnPercent / 100 : Long.MAX_VALUE;
+        for (int i = 0; i < SECTIONS; i++) {
+            long nanos = CURRENT_TICK_NANOS[i];
+            CURRENT_TICK_NANOS[i] = 0;
+            HISTOGRAMS[i][slot][bucketOf(nanos)]++;
+            if (nanos > SLOT_MAX[i][slot]) SLOT_MAX[i][slot] = nanos;
+            if (nanos > warnNanos) warn(i, nanos);
+        }
+        tickCount++;
+    }
+
+    /**
+     * @return The timings of every section over the given window, in declaration order.
+     */
+    public static List<SectionTimings> getTimings(Window window) {
+        int slotCount = Math.min(SLOTS, window.minutes * 60 * 20 / SLOT_TICKS);
+        List<SectionTimings> result = new ArrayList<>(SECTIONS);
+        int[] merged = new int[BUCKETS];
+        for (Section section : Section.values()) {
+            Arrays.fill(merged, 0);
+            long samples = 0;
+            long max = 0;
+            for (int back = 0; back < slotCount; back++) {
+                int slot = Math.floorMod(currentSlot - back, SLOTS);
+                int[] histogram = HISTOGRAMS[section.ordinal()][slot];
+                for (int b = 0; b < BUCKETS; b++) {
+                    merged[b] += histogram[b];
+                    samples += histogram[b];
+                }
+                max = Math.max(max, SLOT_MAX[section.ordinal()][slot]);
+            }
+            result.add(new SectionTimings(section, samples,
+                    Math.min(max, percentile(merged, samples, 0.50)),
+                    Math.min(max, percentile(merged, samples, 0.99)),
+                    max));
+        }
+        return result;
+    }
+
+    /**
+     * Forgets every recorded timing.
+     */
+    public static void reset() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            clearSlot(slot);
+        }
+        Arrays.fill(CURRENT_TICK_NANOS, 0);
+        Arrays.fill(LAST_WARNED_TICK, -WARN_COOLDOWN_TICKS);
+        Arrays.fill(SUPPRESSED_WARNINGS, 0);
+        tickCount = 0;
+        currentSlot = 0;
+    }
+
+    private static void clearSlot(int slot) {
+        for (int i = 0; i < SECTIONS; i++) {
+            Arrays.fill(HISTOGRAMS[i][slot], 0);
+            SLOT_MAX[i][slot] = 0;
+        }
+    }
+
+    private static void warn(int section, long nanos) {
+        if (tickCount - LAST_WARNED_TICK[section] < WARN_COOLDOWN_TICKS) {
+            SUPPRESSED_WARNINGS[section]++;
+            return;
+        }
+        int suppressed = SUPPRESSED_WARNINGS[section];
+        LAST_WARNED_TICK[section] = tickCount;
+        SUPPRESSED_WARNINGS[section] = 0;
+        PokeNotifier.LOGGER.warn("[TickProfiler] {} took {} ms ({}% of a tick){}",
+                Section.values()[section].getId(), String.format("%.2f", nanos / 1_000_000.0), nanos * 100 / TICK_NANOS,
+                suppressed > 0 ? " - " + suppressed + " more slow ticks since the last warning" : "");
+    }
+
+    private static long percentile(int[] histogram, long samples, double percentile) {
+        if (samples == 0) return 0;
+        long rank = (long) Math.ceil(samples * percentile);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[b];
+            if (seen >= rank) return bucketUpperBound(b);
+        }
+        return bucketUpperBound(BUCKETS - 1);
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) Math.max(0, nanos);
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) ((nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return Math.min(BUCKETS - 1, (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub);
+    }
+
+    private static long bucketUpperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((long) (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
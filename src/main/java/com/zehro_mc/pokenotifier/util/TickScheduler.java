@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.zehro_mc.pokenotifier.PokeNotifier;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A scheduler driven by the server tick, for delayed and repeating work that touches the world.
+ * Every task runs on the server thread at the end of a tick, so it can never race the game loop,
+ * and delays are counted in server ticks, so they stretch along with the server when it lags.
+ * Tasks may be scheduled from any thread; they are picked up at the next tick.
+ */
+public class TickScheduler {
+
+    public static final int TICKS_PER_SECOND = 20;
+    public static final int TICKS_PER_MINUTE = 60 * TICKS_PER_SECOND;
+    // Due tasks beyond this many in one tick wait for the next one, so a pile-up can't stall a tick.
+    private static final int MAX_TASKS_PER_TICK = 64;
+
+    /**
+     * A handle to a scheduled task, used to cancel it.
+     */
+    public static final class ScheduledTask {
+        private final Runnable task;
+        private final long period;
+        private final long sequence;
+        private long dueTick;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        private ScheduledTask(Runnable task, long dueTick, long period, long sequence) {
+            this.task = task;
+            this.dueTick = dueTick;
+            this.period = period;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Stops the task from running again. Safe to call more than once, and from inside the task itself.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @return true once a one-shot task has run, or once any task was cancelled.
+         */
+        public boolean isDone() {
+            return done || cancelled;
+        }
+    }
+
+    private static final Queue<ScheduledTask> INCOMING = new ConcurrentLinkedQueue<>();
+    // Only touched on the server thread.
+    private static final PriorityQueue<ScheduledTask> QUEUE = new PriorityQueue<>(
+            Comparator.comparingLong((ScheduledTask task) -> task.dueTick).thenComparingLong(task -> task.sequence));
+    private static volatile long currentTick = 0;
+    private static long nextSequence = 0;
+
+    /**
+     * Runs a task once, after the given number of server ticks.
+     */
+    public static ScheduledTask schedule(long delayTicks, Runnable task) {
+        return add(task, delayTicks, 0);
+    }
+
+    /**
+     * Runs a task every periodTicks server ticks, starting after initialDelayTicks, until it is cancelled.
+     */
+    public static ScheduledTask scheduleRepeating(long initialDelayTicks, long periodTicks, Runnable task) {
+        if (periodTicks <= 0) throw new IllegalArgumentException("periodTicks must be positive");
+        return add(task, initialDelayTicks, periodTicks);
+    }
+
+    /**
+     * Runs the tasks that are due. Called at the end of every server tick.
+     */
+    public static void tick() {
+        long tick = ++currentTick;
+        ScheduledTask incoming;
+        while ((incoming = INCOMING.poll()) != null) {
+            // Tasks scheduled from other threads count their delay from when they are picked up.
+            incoming.dueTick += tick;
+            QUEUE.add(incoming);
+        }
+
+        int ran = 0;
+        while (ran < MAX_TASKS_PER_TICK && !QUEUE.isEmpty() && QUEUE.peek().dueTick <= tick) {
+            ScheduledTask scheduled = QUEUE.poll();
+            if (scheduled.cancelled) continue;
+            ran++;
+            try {
+                scheduled.task.run();
+            } catch (Exception e) {
+                PokeNotifier.LOGGER.error("[TickScheduler] A scheduled task failed", e);
+            }
+            if (scheduled.period > 0 && !scheduled.cancelled) {
+                scheduled.dueTick = tick + scheduled.period;
+                QUEUE.add(scheduled);
+            } else {
+                scheduled.done = true;
+            }
+        }
+    }
+
+    /**
+     * @return The number of ticks counted since the server started.
+     */
+    public static long getCurrentTick() {
+        return currentTick;
+    }
+
+    public static int getPendingCount() {
+        return QUEUE.size() + INCOMING.size();
+    }
+
+    /**
+     * Cancels everything. Called when the server stops.
+     */
+    public static void clear() {
+        INCOMING.forEach(ScheduledTask::cancel);
+        QUEUE.forEach(ScheduledTask::cancel);
+        INCOMING.clear();
+        QUEUE.clear();
+        currentTick = 0;
+    }
+
+    private static synchronized ScheduledTask add(Runnable task, long delayTicks, long periodTicks) {
+        // Stored relative until the next tick picks it up; at least one tick, so a task never runs inside its own scheduling tick.
+        ScheduledTask scheduled = new ScheduledTask(task, Math.max(1, delayTicks) - 1, periodTicks, nextSequence++);
+        INCOMING.add(scheduled);
+        return scheduled;
+    }
+}
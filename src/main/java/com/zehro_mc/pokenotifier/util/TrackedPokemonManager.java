@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.util;
+
+import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.zehro_mc.pokenotifier.ConfigManager;
+import com.zehro_mc.pokenotifier.PokeNotifier;
+import com.zehro_mc.pokenotifier.networking.StatusUpdatePayload;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the rare Pokémon players have been notified about, and which players were notified,
+ * so those players (and only those) can be told when one disappears.
+ * Entries are keyed by entity UUID and removed by entity death/unload events rather than by polling,
+ * so nothing is done per tick unless a tracked Pokémon actually went away.
+ * Despawn notifications are queued and sent together at the end of the tick.
+ */
+public class TrackedPokemonManager {
+
+    private record TrackedPokemon(UUID pokemonUuid, RarityUtil.RarityCategory rarity, Set<UUID> subscribers) {}
+
+    private record PendingDespawn(StatusUpdatePayload payload, Set<UUID> subscribers) {}
+
+    /**
+     * What was known about a Pokémon when it was captured.
+     * @param rarity The rarity its spawn alert was sent with, or null if nobody was notified about it.
+     * @param notifiedPlayers The players who were notified about it, and so should hear about the capture.
+     */
+    public record CapturedPokemon(RarityUtil.RarityCategory rarity, Set<UUID> notifiedPlayers) {}
+
+    private static final Map<UUID, TrackedPokemon> TRACKED = new ConcurrentHashMap<>();
+    private static final List<PendingDespawn> PENDING_DESPAWNS = new ArrayList<>();
+
+    /**
+     * Subscribes to the entity lifecycle events that end tracking.
+     */
+    public static void register() {
+        ServerLivingEntityEvents.AFTER_DEATH.register((entity, damageSource) -> onEntityGone(entity));
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> onEntityGone(entity));
+    }
+
+    /**
+     * Starts tracking a Pokémon entity, or adds another notified player to one already tracked.
+     * @param player The player who was notified about it.
+     * @return true if it was not tracked before.
+     */
+    public static boolean track(PokemonEntity pokemonEntity, RarityUtil.RarityCategory rarity, ServerPlayerEntity player) {
+        TrackedPokemon tracked = TRACKED.get(pokemonEntity.getUuid());
+        boolean isNew = tracked == null;
+        if (isNew) {
+            tracked = new TrackedPokemon(pokemonEntity.getPokemon().getUuid(), rarity, ConcurrentHashMap.newKeySet());
+            TRACKED.put(pokemonEntity.getUuid(), tracked);
+        }
+        tracked.subscribers().add(player.getUuid());
+        return isNew;
+    }
+
+    /**
+     * Removes a player from the notified players of a Pokémon, e.g. when their alert was dropped by the rate limiter.
+     * The Pokémon stops being tracked once nobody is left to notify.
+     * @param pokemonUuid The Pokémon's UUID (not the entity's).
+     * @param playerUuid The player to remove.
+     */
+    public static void unsubscribe(UUID pokemonUuid, UUID playerUuid) {
+        for (Iterator<TrackedPokemon> it = TRACKED.values().iterator(); it.hasNext(); ) {
+            TrackedPokemon tracked = it.next();
+            if (tracked.pokemonUuid().equals(pokemonUuid)) {
+                tracked.subscribers().remove(playerUuid);
+                if (tracked.subscribers().isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops tracking a captured Pokémon without announcing a despawn.
+     * Also drops a despawn queued this tick, in case the entity was removed before the capture event fired.
+     * @param pokemonUuid The captured Pokémon's UUID (not the entity's).
+     */
+    public static CapturedPokemon onCaptured(UUID pokemonUuid) {
+        Set<UUID> subscribers = new HashSet<>();
+        RarityUtil.RarityCategory rarity = null;
+        for (Iterator<TrackedPokemon> it = TRACKED.values().iterator(); it.hasNext(); ) {
+            TrackedPokemon tracked = it.next();
+            if (tracked.pokemonUuid().equals(pokemonUuid)) {
+                subscribers.addAll(tracked.subscribers());
+                rarity = tracked.rarity();
+                it.remove();
+            }
+        }
+        for (Iterator<PendingDespawn> it = PENDING_DESPAWNS.iterator(); it.hasNext(); ) {
+            PendingDespawn pending = it.next();
+            if (pending.payload().uuid().equals(pokemonUuid)) {
+                subscribers.addAll(pending.subscribers());
+                rarity = pending.payload().rarity();
+                it.remove();
+            }
+        }
+        return new CapturedPokemon(rarity, subscribers);
+    }
+
+    /**
+     * Hands the despawn notifications queued during this tick to the {@link NotificationBatcher}.
+     * Called at the end of every server tick.
+     */
+    public static void flush(MinecraftServer server) {
+        if (PENDING_DESPAWNS.isEmpty()) return;
+        for (PendingDespawn pending : PENDING_DESPAWNS) {
+            for (UUID subscriber : pending.subscribers()) {
+                ServerPlayerEntity player = server.getPlayerManager().getPlayer(subscriber);
+                if (player != null) {
+                    NotificationBatcher.queue(player, pending.payload());
+                }
+            }
+        }
+        PENDING_DESPAWNS.clear();
+    }
+
+    public static int getTrackedCount() {
+        return TRACKED.size();
+    }
+
+    public static void clear() {
+        TRACKED.clear();
+        PENDING_DESPAWNS.clear();
+    }
+
+    private static void onEntityGone(Entity entity) {
+        if (!(entity instanceof PokemonEntity pokemonEntity)) return;
+        TrackedPokemon tracked = TRACKED.remove(entity.getUuid());
+        if (tracked == null) return;
+        // Entities are unloaded in bulk while the server shuts down; nobody is left to notify.
+        if (entity.getServer() == null || !entity.getServer().isRunning()) return;
+
+        Pokemon pokemon = pokemonEntity.getPokemon();
+        PENDING_DESPAWNS.add(new PendingDespawn(new StatusUpdatePayload(
+                tracked.pokemonUuid(),
+                pokemon.getDisplayName(true).getString(),
+                tracked.rarity(),
+                StatusUpdatePayload.UpdateType.DESPAWNED,
+                null // Player name is null for despawns
+        ), tracked.subscribers()));
+        if (ConfigManager.getServerConfig().debug_mode_enabled) {
+            PokeNotifier.LOGGER.info("Stopped tracking Pokémon: " + pokemon.getSpecies().getName());
+        }
+    }
+}
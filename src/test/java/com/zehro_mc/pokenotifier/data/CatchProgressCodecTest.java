@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.zehro_mc.pokenotifier.model.GenerationData;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import com.zehro_mc.pokenotifier.util.DataSecurityUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CatchProgressCodecTest {
+    private static final Gson GSON = new Gson();
+
+    /** Keeps orders in memory, like {@link LogPlayerDataStore} does in its log. */
+    private static class MemoryOrders implements CatchProgressCodec.GenerationOrders {
+        final Map<String, List<String>> kept = new HashMap<>();
+
+        @Override
+        public void remember(String genId, int speciesCount, int checksum, GenerationData genData) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < speciesCount; i++) {
+                names.add(genData.speciesAt(i));
+            }
+            kept.putIfAbsent(genId + ":" + speciesCount + ":" + checksum, names);
+        }
+
+        @Override
+        public List<String> find(String genId, int speciesCount, int checksum) {
+            return kept.get(genId + ":" + speciesCount + ":" + checksum);
+        }
+    }
+
+    private static GenerationData generation(String... species) {
+        GenerationData genData = new GenerationData();
+        genData.pokemon = new LinkedHashSet<>(List.of(species));
+        return genData;
+    }
+
+    private static Function<String, GenerationData> only(String genId, GenerationData genData) {
+        return id -> id.equals(genId) ? genData : null;
+    }
+
+    private static PlayerCatchProgress sampleProgress() {
+        PlayerCatchProgress progress = new PlayerCatchProgress();
+        progress.initialPcSyncCompleted = true;
+        progress.active_generations.add("gen1");
+        progress.completed_generations.add("gen2");
+        progress.caught_pokemon.put("gen1", new LinkedHashSet<>(List.of("bulbasaur", "charmander", "missingno")));
+        return progress;
+    }
+
+    private static void assertSameProgress(PlayerCatchProgress expected, PlayerCatchProgress actual) {
+        assertNotNull(actual);
+        assertEquals(expected.initialPcSyncCompleted, actual.initialPcSyncCompleted);
+        assertEquals(expected.active_generations, actual.active_generations);
+        assertEquals(expected.completed_generations, actual.completed_generations);
+        assertEquals(expected.caught_pokemon, actual.caught_pokemon);
+    }
+
+    @Test
+    void roundTripsThroughTheBinaryFormat() {
+        GenerationData gen1 = generation("bulbasaur", "ivysaur", "charmander");
+        PlayerCatchProgress progress = sampleProgress();
+
+        byte[] encoded = CatchProgressCodec.encode(progress, only("gen1", gen1), null);
+
+        assertSameProgress(progress, CatchProgressCodec.decode(encoded, only("gen1", gen1), null));
+    }
+
+    @Test
+    void roundTripsGenerationsWithoutAFile() {
+        PlayerCatchProgress progress = sampleProgress();
+
+        byte[] encoded = CatchProgressCodec.encode(progress, id -> null, null);
+
+        assertSameProgress(progress, CatchProgressCodec.decode(encoded, id -> null, null));
+    }
+
+    @Test
+    void speciesAppendedToAGenerationKeepTheSavedBits() {
+        PlayerCatchProgress progress = sampleProgress();
+        byte[] encoded = CatchProgressCodec.encode(progress, only("gen1", generation("bulbasaur", "ivysaur", "charmander")), null);
+
+        GenerationData grown = generation("bulbasaur", "ivysaur", "charmander", "squirtle");
+        assertSameProgress(progress, CatchProgressCodec.decode(encoded, only("gen1", grown), null));
+    }
+
+    @Test
+    void reorderedGenerationIsReadAgainstTheKeptOrder() {
+        MemoryOrders orders = new MemoryOrders();
+        PlayerCatchProgress progress = sampleProgress();
+        byte[] encoded = CatchProgressCodec.encode(progress, only("gen1", generation("bulbasaur", "ivysaur", "charmander")), orders);
+
+        GenerationData reordered = generation("charmander", "bulbasaur", "ivysaur");
+        assertSameProgress(progress, CatchProgressCodec.decode(encoded, only("gen1", reordered), orders));
+    }
+
+    @Test
+    void reorderedGenerationWithoutAKeptOrderDropsOnlyTheBits() {
+        byte[] encoded = CatchProgressCodec.encode(sampleProgress(), only("gen1", generation("bulbasaur", "ivysaur", "charmander")), null);
+
+        PlayerCatchProgress decoded = CatchProgressCodec.decode(encoded, only("gen1", generation("charmander", "bulbasaur", "ivysaur")), null);
+
+        assertNotNull(decoded);
+        assertEquals(Set.of("missingno"), decoded.caught_pokemon.get("gen1"));
+    }
+
+    @Test
+    void rejectsMoreBitsetWordsThanTheGenerationHasSpecies() throws IOException {
+        byte[] payload = binaryPayload((byte) 2, out -> {
+            writeVarInt(out, 3);
+            out.writeInt(CatchProgressCodec.orderChecksum(generation("bulbasaur", "ivysaur", "charmander"), 3));
+            writeVarInt(out, 1_000_000);
+        });
+
+        assertNull(CatchProgressCodec.decode(payload, only("gen1", generation("bulbasaur", "ivysaur", "charmander")), null));
+    }
+
+    @Test
+    void rejectsImplausibleSpeciesCounts() throws IOException {
+        byte[] payload = binaryPayload((byte) 2, out -> {
+            writeVarInt(out, Integer.MAX_VALUE);
+            out.writeInt(0);
+            writeVarInt(out, 0);
+        });
+
+        assertNull(CatchProgressCodec.decode(payload, id -> null, null));
+    }
+
+    @Test
+    void readsVersionOneRecordsAgainstTheCurrentOrder() throws IOException {
+        byte[] payload = binaryPayload((byte) 1, out -> {
+            writeVarInt(out, 1);
+            out.writeLong(0b101L); // bulbasaur, charmander
+            writeVarInt(out, 1);
+            out.writeUTF("missingno");
+        });
+
+        PlayerCatchProgress decoded = CatchProgressCodec.decode(payload, only("gen1", generation("bulbasaur", "ivysaur", "charmander")), null);
+
+        assertSameProgress(sampleProgress(), decoded);
+    }
+
+    @Test
+    void readsLegacyBase64Progress() {
+        PlayerCatchProgress progress = sampleProgress();
+        String encrypted = DataSecurityUtil.encrypt(GSON.toJson(progress));
+
+        assertSameProgress(progress, CatchProgressCodec.decode(encrypted.getBytes(StandardCharsets.UTF_8), id -> null, null));
+    }
+
+    @Test
+    void readsLegacyWrappedProgress() {
+        PlayerCatchProgress progress = sampleProgress();
+        JsonObject wrapper = new JsonObject();
+        wrapper.addProperty("data", DataSecurityUtil.encrypt(GSON.toJson(progress)));
+
+        assertSameProgress(progress, CatchProgressCodec.decode(GSON.toJson(wrapper).getBytes(StandardCharsets.UTF_8), id -> null, null));
+    }
+
+    @Test
+    void readsLegacyPlainJsonProgress() {
+        PlayerCatchProgress progress = sampleProgress();
+
+        assertSameProgress(progress, CatchProgressCodec.decode(GSON.toJson(progress).getBytes(StandardCharsets.UTF_8), id -> null, null));
+    }
+
+    @Test
+    void rejectsUnknownVersionsAndGarbage() {
+        assertNull(CatchProgressCodec.decode(new byte[]{0, 99}, id -> null, null));
+        assertNull(CatchProgressCodec.decode(new byte[]{0, 2, 1, 2, 3}, id -> null, null));
+        assertNull(CatchProgressCodec.decode("not progress".getBytes(StandardCharsets.UTF_8), id -> null, null));
+    }
+
+    private interface GenerationWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Builds a record by hand: the {@link #sampleProgress()} header fields, then one "gen1" entry written by {@code gen1}.
+     */
+    private static byte[] binaryPayload(byte version, GenerationWriter gen1) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        encoded.write(0);
+        encoded.write(version);
+        try (DataOutputStream out = new DataOutputStream(DataSecurityUtil.encryptingStream(encoded))) {
+            out.writeByte(1);
+            writeVarInt(out, 1);
+            out.writeUTF("gen1");
+            writeVarInt(out, 1);
+            out.writeUTF("gen2");
+            writeVarInt(out, 1);
+            out.writeUTF("gen1");
+            gen1.write(out);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2024 ZeHrOx
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package com.zehro_mc.pokenotifier.data;
+
+import com.zehro_mc.pokenotifier.model.CustomListConfig;
+import com.zehro_mc.pokenotifier.model.GenerationData;
+import com.zehro_mc.pokenotifier.model.PlayerCatchProgress;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogPlayerDataStoreTest {
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-00000000a11c");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-000000000b0b");
+    // type + uuid + length + crc
+    private static final int RECORD_OVERHEAD = 1 + 16 + 4 + 4;
+
+    @TempDir
+    File tempDir;
+
+    private File storeFile() {
+        return new File(tempDir, "player_data.dat");
+    }
+
+    private LogPlayerDataStore open() throws IOException {
+        GenerationData gen1 = new GenerationData();
+        gen1.pokemon = new LinkedHashSet<>(List.of("bulbasaur", "ivysaur", "charmander"));
+        Function<String, GenerationData> generations = id -> id.equals("gen1") ? gen1 : null;
+        return new LogPlayerDataStore(storeFile(), generations);
+    }
+
+    private static CustomListConfig list(String... species) {
+        CustomListConfig config = new CustomListConfig();
+        config.tracked_pokemon.addAll(List.of(species));
+        return config;
+    }
+
+    private static PlayerCatchProgress progress(String... caught) {
+        PlayerCatchProgress progress = new PlayerCatchProgress();
+        progress.active_generations.add("gen1");
+        progress.caught_pokemon.put("gen1", Set.of(caught));
+        return progress;
+    }
+
+    @Test
+    void recordsSurviveReopening() throws IOException {
+        LogPlayerDataStore store = open();
+        store.saveCustomList(ALICE, list("pikachu"));
+        store.saveCustomList(ALICE, list("pikachu", "eevee"));
+        store.saveCatchProgress(BOB, progress("bulbasaur", "charmander"));
+        store.close();
+
+        store = open();
+        assertEquals(Set.of("pikachu", "eevee"), store.loadCustomList(ALICE).tracked_pokemon);
+        assertEquals(Set.of("bulbasaur", "charmander"), store.loadCatchProgress(BOB).caught_pokemon.get("gen1"));
+        assertNull(store.loadCustomList(BOB));
+        assertNull(store.loadCatchProgress(ALICE));
+        store.close();
+    }
+
+    @Test
+    void backupSlotRoundTripsAndIsEmptiedOnRestore() throws IOException {
+        LogPlayerDataStore store = open();
+        store.saveCatchProgress(ALICE, progress("bulbasaur"));
+        assertTrue(store.backupCatchProgress(ALICE, false));
+        assertFalse(store.backupCatchProgress(ALICE, false));
+        store.saveCatchProgress(ALICE, progress("bulbasaur", "ivysaur"));
+        store.close();
+
+        store = open();
+        assertTrue(store.hasCatchProgressBackup(ALICE));
+        assertTrue(store.restoreCatchProgressBackup(ALICE));
+        store.close();
+
+        store = open();
+        assertFalse(store.hasCatchProgressBackup(ALICE));
+        assertEquals(Set.of("bulbasaur"), store.loadCatchProgress(ALICE).caught_pokemon.get("gen1"));
+        store.close();
+    }
+
+    @Test
+    void tornTailIsCutOffOnOpen() throws IOException {
+        LogPlayerDataStore store = open();
+        store.saveCustomList(ALICE, list("pikachu"));
+        store.close();
+        long intactLength = storeFile().length();
+
+        // A record header that was cut short by a crash.
+        try (RandomAccessFile raf = new RandomAccessFile(storeFile(), "rw")) {
+            raf.seek(intactLength);
+            raf.write(new byte[]{1, 0, 0, 0, 0, 0, 0});
+        }
+
+        store = open();
+        assertEquals(intactLength, storeFile().length());
+        assertEquals(Set.of("pikachu"), store.loadCustomList(ALICE).tracked_pokemon);
+        assertEquals(0, tempDir.listFiles((dir, name) -> name.contains(".corrupt-")).length);
+        store.saveCustomList(BOB, list("eevee"));
+        store.close();
+
+        store = open();
+        assertEquals(Set.of("pikachu"), store.loadCustomList(ALICE).tracked_pokemon);
+        assertEquals(Set.of("eevee"), store.loadCustomList(BOB).tracked_pokemon);
+        store.close();
+    }
+
+    @Test
+    void corruptedRecordAndEverythingAfterItIsDiscarded() throws IOException {
+        LogPlayerDataStore store = open();
+        store.saveCustomList(ALICE, list("pikachu"));
+        store.close();
+        long firstRecordEnd = storeFile().length();
+
+        store = open();
+        store.saveCustomList(ALICE, list("mew"));
+        store.saveCustomList(BOB, list("eevee"));
+        store.close();
+
+        // Flip a payload byte of the second record so its CRC no longer matches.
+        try (RandomAccessFile raf = new RandomAccessFile(storeFile(), "rw")) {
+            long position = firstRecordEnd + RECORD_OVERHEAD - 4;
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+
+        long corruptedLength = storeFile().length();
+        store = open();
+        assertEquals(firstRecordEnd, storeFile().length());
+        assertEquals(Set.of("pikachu"), store.loadCustomList(ALICE).tracked_pokemon);
+        assertNull(store.loadCustomList(BOB));
+        store.close();
+
+        // The discarded records are kept in a copy of the file as it was before truncation.
+        File[] copies = tempDir.listFiles((dir, name) -> name.startsWith("player_data.dat.corrupt-"));
+        assertNotNull(copies);
+        assertEquals(1, copies.length);
+        assertEquals(corruptedLength, copies[0].length());
+    }
+
+    @Test
+    void compactionKeepsOnlyTheNewestRecords() throws IOException {
+        LogPlayerDataStore store = open();
+        String[] bigList = new String[200];
+        for (int i = 0; i < bigList.length; i++) {
+            bigList[i] = "pokemon_with_a_long_name_" + i;
+        }
+        // Rewrite the same two keys until the dead records take up well over a megabyte.
+        while (storeFile().length() < 3L << 20) {
+            store.saveCustomList(ALICE, list(bigList));
+            store.saveCatchProgress(BOB, progress("bulbasaur"));
+        }
+        store.saveCustomList(ALICE, list("pikachu"));
+        store.saveCatchProgress(BOB, progress("ivysaur", "charmander"));
+        long before = storeFile().length();
+
+        store.flush();
+
+        assertTrue(storeFile().length() < before / 100, "compaction should drop the dead records");
+        assertFalse(new File(tempDir, "player_data.dat.compact").exists());
+        assertEquals(Set.of("pikachu"), store.loadCustomList(ALICE).tracked_pokemon);
+        store.saveCustomList(BOB, list("eevee"));
+        store.close();
+
+        store = open();
+        assertEquals(Set.of("pikachu"), store.loadCustomList(ALICE).tracked_pokemon);
+        assertEquals(Set.of("ivysaur", "charmander"), store.loadCatchProgress(BOB).caught_pokemon.get("gen1"));
+        assertEquals(Set.of("eevee"), store.loadCustomList(BOB).tracked_pokemon);
+        store.close();
+    }
+
+    @Test
+    void snapshotIsAReadableCopyOfTheLog() throws IOException {
+        LogPlayerDataStore store = open();
+        store.saveCustomList(ALICE, list("pikachu"));
+        store.saveCatchProgress(BOB, progress("bulbasaur"));
+
+        File backupDir = new File(tempDir, "backup");
+        backupDir.mkdirs();
+        Set<String> owned = store.snapshotTo(backupDir);
+        store.close();
+
+        assertTrue(owned.contains("player_data.dat"));
+        File copy = new File(backupDir, "player_data.dat");
+        assertArrayEquals(Files.readAllBytes(storeFile().toPath()), Files.readAllBytes(copy.toPath()));
+
+        LogPlayerDataStore restored = new LogPlayerDataStore(copy, id -> null);
+        assertNotNull(restored.loadCustomList(ALICE));
+        restored.close();
+    }
+}